@@ -0,0 +1,42 @@
+// k6 load test comparing platform-thread and virtual-thread request handling.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e USER_ID=1 loadtest/recipes.js
+//
+// Run it once against the default profile and once with the vthreads profile added,
+// keeping the database and data set identical, then compare http_req_duration p95/p99
+// and http_reqs/s between the two summaries.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USER_ID = __ENV.USER_ID || '1';
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 100 },
+                { duration: '1m', target: 400 },
+                { duration: '1m', target: 800 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export default function () {
+    const responses = http.batch([
+        ['GET', `${BASE_URL}/api/recipes?summary=true`],
+        ['GET', `${BASE_URL}/api/recipes/search?tags=Easy`],
+        ['GET', `${BASE_URL}/api/users/${USER_ID}/recipes`],
+        ['GET', `${BASE_URL}/api/recipebooks`],
+    ]);
+    for (const res of responses) {
+        check(res, { 'status is 200': (r) => r.status === 200 });
+    }
+}
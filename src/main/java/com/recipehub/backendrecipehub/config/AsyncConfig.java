@@ -0,0 +1,52 @@
+package com.recipehub.backendrecipehub.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // Bounded pool for read-only query fan-out. Each task holds a JDBC connection, so the pool stays
+    // well under the Hikari maximum; when the queue is full the caller runs the task itself.
+    @Bean(name = "queryFanOutExecutor")
+    public ThreadPoolTaskExecutor queryFanOutExecutor(
+            @Value("${recipehub.fan-out.pool-size:4}") int poolSize,
+            @Value("${recipehub.fan-out.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("query-fan-out-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // BCrypt is deliberately CPU-heavy, so password checks and hashes get a pool of their own. Its
+    // size caps the cores a login storm can take from other requests; work beyond the queue is
+    // rejected (the caller answers 503) rather than run on the request thread. Queue depth and
+    // activity are published as executor.* metrics tagged name=password.hashing.
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${recipehub.security.password-hashing.pool-size:4}") int poolSize,
+            @Value("${recipehub.security.password-hashing.queue-capacity:200}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "password.hashing", List.of())
+                .bindTo(meterRegistry);
+        return executor;
+    }
+}
@@ -0,0 +1,16 @@
+package com.recipehub.backendrecipehub.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Picked up by Spring Boot's Jackson auto-configuration, so request/response (de)serialization
+    // uses generated accessors instead of reflection, same as the JPA converters
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,125 @@
+package com.recipehub.backendrecipehub.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies db/postgresql/partial-indexes.sql once the application is up. The schema itself is
+ * still owned by ddl-auto, which can only express plain and composite indexes; the partial
+ * ones have to run after it, so they are applied here rather than by a pre-start migration.
+ * db/postgresql/trigram-indexes.sql follows unless recipehub.db.trigram-indexes.enabled is false.
+ * The builds run on a background thread, since on a large table they take a while and queries
+ * work without them. Each statement runs on its own and a failure is logged, in both scripts,
+ * so one missing index (or a missing pg_trgm) does not hold back the rest.
+ * Skipped on other databases (H2 has no partial indexes).
+ */
+@Component
+public class PartialIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(PartialIndexInitializer.class);
+
+    static final String SCRIPT = "db/postgresql/partial-indexes.sql";
+    static final String TRIGRAM_SCRIPT = "db/postgresql/trigram-indexes.sql";
+
+    private static final Pattern CREATE_INDEX =
+            Pattern.compile("CREATE INDEX CONCURRENTLY IF NOT EXISTS (\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final boolean trigramEnabled;
+
+    @Autowired
+    public PartialIndexInitializer(DataSource dataSource,
+                                   @Value("${recipehub.db.partial-indexes.enabled:true}") boolean enabled,
+                                   @Value("${recipehub.db.trigram-indexes.enabled:true}") boolean trigramEnabled) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+        this.trigramEnabled = trigramEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void apply() {
+        if (!enabled) {
+            return;
+        }
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            log.debug("Skipping partial indexes on {}", product);
+            return;
+        }
+        Thread.ofVirtual().name("index-builder").start(() -> {
+            applyScript(SCRIPT);
+            if (trigramEnabled) {
+                applyScript(TRIGRAM_SCRIPT);
+            }
+        });
+    }
+
+    // Outside any transaction: CREATE INDEX CONCURRENTLY cannot run inside one
+    private void applyScript(String resource) {
+        int failed = 0;
+        for (String statement : statements(resource)) {
+            Matcher create = CREATE_INDEX.matcher(statement);
+            String index = create.lookingAt() ? create.group(1) : null;
+            try {
+                if (index != null) {
+                    dropIfInvalid(index);
+                }
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                failed++;
+                log.warn("Could not apply {} from {}; queries it serves will scan: {}",
+                        index != null ? index : statement, resource, e.getMessage());
+            }
+        }
+        if (failed == 0) {
+            log.info("Applied indexes from {}", resource);
+        }
+    }
+
+    // A concurrent build that fails part-way leaves an INVALID index behind. IF NOT EXISTS would
+    // skip it from then on while every write still maintains it, so it is dropped and rebuilt.
+    private void dropIfInvalid(String index) {
+        Boolean valid = jdbcTemplate.query("SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+                        "WHERE c.relname = ? AND pg_table_is_visible(c.oid)",
+                rs -> rs.next() ? rs.getBoolean(1) : null, index);
+        if (Boolean.FALSE.equals(valid)) {
+            log.warn("Dropping invalid index {} left by an earlier failed build", index);
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index);
+        }
+    }
+
+    // The scripts hold plain statements: no semicolons inside them, comments on lines of their own
+    static List<String> statements(String resource) {
+        try {
+            String script = StreamUtils.copyToString(
+                    new ClassPathResource(resource).getInputStream(), StandardCharsets.UTF_8);
+            return Arrays.stream(script.replaceAll("(?m)^--.*$", "").split(";"))
+                    .map(statement -> statement.trim().replaceAll("\\s+", " "))
+                    .filter(statement -> !statement.isEmpty())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + resource, e);
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.recipehub.backendrecipehub.controller;
 
 import com.recipehub.backendrecipehub.dto.RecipeBookDTO;
 import com.recipehub.backendrecipehub.dto.RecipeBookCreateRequest;
+import com.recipehub.backendrecipehub.dto.RecipeBookMoveRequest;
+import com.recipehub.backendrecipehub.dto.RecipeBookRecipesRequest;
+import com.recipehub.backendrecipehub.dto.RecipeBookRecipesResponse;
 import com.recipehub.backendrecipehub.dto.RecipeBookUpdateRequest;
 import com.recipehub.backendrecipehub.service.RecipeBookService;
 
@@ -54,6 +57,43 @@ public class RecipeBookController {
         return ResponseEntity.ok(updatedRecipeBook);
     }
 
+    @GetMapping("/{id}/recipes")
+    public ResponseEntity<RecipeBookRecipesResponse> getRecipeBookRecipes(
+            @Positive @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(recipeBookService.getRecipeBookRecipes(id, cursor, limit));
+    }
+
+    @PostMapping("/{id}/recipes")
+    public ResponseEntity<RecipeBookDTO> addRecipes(
+            @Positive @PathVariable Long id,
+            @Valid @RequestBody RecipeBookRecipesRequest request) {
+        return ResponseEntity.ok(recipeBookService.addRecipes(id, request.getRecipeIds()));
+    }
+
+    @DeleteMapping("/{id}/recipes/{recipeId}")
+    public ResponseEntity<RecipeBookDTO> removeRecipe(
+            @Positive @PathVariable Long id,
+            @Positive @PathVariable Long recipeId) {
+        return ResponseEntity.ok(recipeBookService.removeRecipes(id, List.of(recipeId)));
+    }
+
+    @DeleteMapping("/{id}/recipes")
+    public ResponseEntity<RecipeBookDTO> removeRecipes(
+            @Positive @PathVariable Long id,
+            @RequestParam List<Long> recipeIds) {
+        return ResponseEntity.ok(recipeBookService.removeRecipes(id, recipeIds));
+    }
+
+    @PutMapping("/{id}/recipes/{recipeId}/position")
+    public ResponseEntity<RecipeBookDTO> moveRecipe(
+            @Positive @PathVariable Long id,
+            @Positive @PathVariable Long recipeId,
+            @RequestBody RecipeBookMoveRequest request) {
+        return ResponseEntity.ok(recipeBookService.moveRecipe(id, recipeId, request.getAfterRecipeId()));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteRecipeBook(@Positive @PathVariable Long id) {
         recipeBookService.deleteRecipeBook(id);
@@ -2,7 +2,13 @@ package com.recipehub.backendrecipehub.controller;
 
 import com.recipehub.backendrecipehub.dto.RecipeRequestDTO;
 import com.recipehub.backendrecipehub.dto.RecipeResponseDTO;
+import com.recipehub.backendrecipehub.dto.RecipeMatchDTO;
+import com.recipehub.backendrecipehub.dto.RecipeSearchCriteria;
+import com.recipehub.backendrecipehub.dto.RecipeForkCountDTO;
+import com.recipehub.backendrecipehub.dto.SimilarRecipeDTO;
+import com.recipehub.backendrecipehub.dto.TrendingRecipeDTO;
 import com.recipehub.backendrecipehub.exception.RecipeNotFoundException;
+import com.recipehub.backendrecipehub.service.RecipeLineageService;
 import com.recipehub.backendrecipehub.service.RecipeService;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Min;
@@ -23,10 +29,12 @@ import com.recipehub.backendrecipehub.dto.AuthorSearchResponse;
 public class RecipeController {
 
     private final RecipeService recipeService;
+    private final RecipeLineageService recipeLineageService;
 
     @Autowired
-    public RecipeController(RecipeService recipeService) {
+    public RecipeController(RecipeService recipeService, RecipeLineageService recipeLineageService) {
         this.recipeService = recipeService;
+        this.recipeLineageService = recipeLineageService;
     }
 
     @PostMapping
@@ -53,33 +61,17 @@ public class RecipeController {
     }
 
     @GetMapping
-    public List<RecipeResponseDTO> getAllRecipes() {
-        return recipeService.getAllPublicRecipes();
+    public List<RecipeResponseDTO> getAllRecipes(@RequestParam(defaultValue = "false") boolean summary) {
+        return summary ? recipeService.getAllPublicRecipeSummaries() : recipeService.getAllPublicRecipes();
     }
 
     @GetMapping("/search")
-    public ResponseEntity<?> searchRecipes(
-            @RequestParam(required = false) String title,
-            @RequestParam(required = false) List<String> tags,
-            @RequestParam(required = false) String author,
-            @RequestParam(required = false) Long authorId,
-            @RequestParam(required = false) Boolean cooked,
-            @RequestParam(required = false) Boolean favourite,
-            @RequestParam(required = false) String difficulty,
-            @RequestParam(required = false) String cuisine,
-            @RequestParam(required = false) String mealType,
-            @RequestParam(required = false) String dietary,
-            @RequestParam(required = false) String cookingMethod,
-            @RequestParam(required = false) String occasion,
-            @RequestParam(required = false) String season,
-            @RequestParam(required = false) String health,
-            @RequestParam(required = false) String ingredient,
-            @RequestParam(required = false) String specialFeature) {
-        
-        Object result = recipeService.searchRecipes(
-                title, tags, author, authorId, cooked, favourite, difficulty,
-                cuisine, mealType, dietary, cookingMethod, occasion, season,
-                health, ingredient, specialFeature);
+    public ResponseEntity<?> searchRecipes(@ModelAttribute RecipeSearchCriteria criteria,
+                                           @RequestParam(defaultValue = "false") boolean facets) {
+        if (facets) {
+            return ResponseEntity.ok(recipeService.searchRecipesWithFacets(criteria));
+        }
+        Object result = recipeService.searchRecipes(criteria);
         
         if (result instanceof AuthorSearchResponse) {
             return ResponseEntity.ok((AuthorSearchResponse) result);
@@ -88,6 +80,31 @@ public class RecipeController {
         }
     }
 
+    @GetMapping("/cookable")
+    public ResponseEntity<List<RecipeResponseDTO>> getCookableRecipes(@RequestParam List<String> ingredients) {
+        return ResponseEntity.ok(recipeService.findCookableRecipes(ingredients));
+    }
+
+    @GetMapping("/match")
+    public ResponseEntity<List<RecipeMatchDTO>> matchRecipes(
+            @RequestParam List<String> ingredients,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0.0") double minCoverage) {
+        return ResponseEntity.ok(recipeService.matchRecipes(ingredients, limit, minCoverage));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingRecipeDTO>> getTrendingRecipes(
+            @RequestParam(defaultValue = "week") String window,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(recipeService.getTrendingRecipes(window, limit));
+    }
+
+    @GetMapping("/most-forked")
+    public ResponseEntity<List<RecipeResponseDTO>> getMostForkedRecipes(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(recipeService.getMostForkedRecipes(limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RecipeResponseDTO> getById(@Positive @PathVariable Long id) {
         RecipeResponseDTO recipe = recipeService.getRecipeById(id)
@@ -120,6 +137,29 @@ public class RecipeController {
         return ResponseEntity.ok(forkedRecipe);
     }
 
+    @GetMapping("/{id}/forks")
+    public ResponseEntity<List<RecipeResponseDTO>> getForks(
+            @Positive @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean direct) {
+        return ResponseEntity.ok(recipeLineageService.getForks(id, direct));
+    }
+
+    @GetMapping("/{id}/forks/count")
+    public ResponseEntity<RecipeForkCountDTO> getForkCount(@Positive @PathVariable Long id) {
+        return ResponseEntity.ok(recipeLineageService.getForkCount(id));
+    }
+
+    @GetMapping("/{id}/ancestors")
+    public ResponseEntity<List<RecipeResponseDTO>> getAncestors(@Positive @PathVariable Long id) {
+        return ResponseEntity.ok(recipeLineageService.getAncestors(id));
+    }
+
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarRecipeDTO>> getSimilarRecipes(
+            @Positive @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(recipeService.getSimilarRecipes(id, limit));
+    }
 
     @PostMapping("/{id}/image")
     @ConditionalOnBean(S3Client.class)
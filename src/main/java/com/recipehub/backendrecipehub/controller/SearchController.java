@@ -0,0 +1,29 @@
+package com.recipehub.backendrecipehub.controller;
+
+import com.recipehub.backendrecipehub.dto.SuggestionDTO;
+import com.recipehub.backendrecipehub.service.RecipeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private final RecipeService recipeService;
+
+    @Autowired
+    public SearchController(RecipeService recipeService) {
+        this.recipeService = recipeService;
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(recipeService.suggest(prefix, limit));
+    }
+}
@@ -4,9 +4,13 @@ import com.recipehub.backendrecipehub.model.User;
 import com.recipehub.backendrecipehub.service.UserService;
 import com.recipehub.backendrecipehub.service.RecipeService;
 import com.recipehub.backendrecipehub.dto.RecipeResponseDTO;
+import com.recipehub.backendrecipehub.dto.RecommendationDTO;
 import com.recipehub.backendrecipehub.dto.UserResponseDTO;
 import com.recipehub.backendrecipehub.dto.UserUpdateDTO;
 import com.recipehub.backendrecipehub.service.RecipeBookService;
+import com.recipehub.backendrecipehub.service.UserInteractionService;
+import com.recipehub.backendrecipehub.dto.InteractionDTO;
+import com.recipehub.backendrecipehub.dto.InteractionUpdateRequest;
 import com.recipehub.backendrecipehub.dto.RecipeBookDTO;
 import com.recipehub.backendrecipehub.mapper.UserMapper;
 import org.springframework.http.ResponseEntity;
@@ -29,12 +33,15 @@ public class UserController {
     private final UserService userService;
     private final RecipeService recipeService;
     private final RecipeBookService recipeBookService;
+    private final UserInteractionService userInteractionService;
 
     @Autowired
-    public UserController(UserService userService, RecipeService recipeService, RecipeBookService recipeBookService) {
+    public UserController(UserService userService, RecipeService recipeService, RecipeBookService recipeBookService,
+                          UserInteractionService userInteractionService) {
         this.userService = userService;
         this.recipeService = recipeService;
         this.recipeBookService = recipeBookService;
+        this.userInteractionService = userInteractionService;
     }
 
     @GetMapping("/me")
@@ -80,23 +87,41 @@ public class UserController {
     }
     
     @GetMapping("/{userId}/recipes")
-    public ResponseEntity<List<RecipeResponseDTO>> getUserRecipes(@Positive @PathVariable Long userId) {
-        List<RecipeResponseDTO> recipeDTOs = recipeService.getRecipesByUserId(userId);
+    public ResponseEntity<List<RecipeResponseDTO>> getUserRecipes(
+            @Positive @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean summary) {
+        List<RecipeResponseDTO> recipeDTOs = summary
+                ? recipeService.getRecipeSummariesByUserId(userId)
+                : recipeService.getRecipesByUserId(userId);
         return ResponseEntity.ok(recipeDTOs);
     }
 
     @GetMapping("/{userId}/recipes/cooked")
     public ResponseEntity<List<RecipeResponseDTO>> getCookedRecipes(@Positive @PathVariable Long userId) {
-        List<RecipeResponseDTO> recipeDTOs = recipeService.getUserCookedRecipes(userId);
+        List<RecipeResponseDTO> recipeDTOs = userInteractionService.getCookedRecipes(userId);
         return ResponseEntity.ok(recipeDTOs);
     }
 
     @GetMapping("/{userId}/recipes/favourite")
     public ResponseEntity<List<RecipeResponseDTO>> getFavouriteRecipes(@Positive @PathVariable Long userId) {
-        List<RecipeResponseDTO> recipeDTOs = recipeService.getUserFavouriteRecipes(userId);
+        List<RecipeResponseDTO> recipeDTOs = userInteractionService.getFavouriteRecipes(userId);
         return ResponseEntity.ok(recipeDTOs);
     }
 
+    @PutMapping("/{userId}/interactions")
+    public ResponseEntity<List<InteractionDTO>> updateInteractions(
+            @Positive @PathVariable Long userId,
+            @RequestBody InteractionUpdateRequest request) {
+        return ResponseEntity.ok(userInteractionService.updateInteractions(userId, request));
+    }
+
+    @GetMapping("/{userId}/recommendations")
+    public ResponseEntity<List<RecommendationDTO>> getRecommendations(
+            @Positive @PathVariable Long userId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(recipeService.getRecommendations(userId, limit));
+    }
+
     @GetMapping("/{userId}/recipe-books")
     public ResponseEntity<List<RecipeBookDTO>> getUserRecipeBooks(@Positive @PathVariable Long userId) {
         List<RecipeBookDTO> recipeBooks = recipeBookService.getUsersAllRecipeBook(userId);
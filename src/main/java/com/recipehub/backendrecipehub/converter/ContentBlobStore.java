@@ -0,0 +1,192 @@
+package com.recipehub.backendrecipehub.converter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Content-addressed storage for encoded recipe content in {@code recipe_content_blobs}.
+ * A blob's content never changes once written, so resolved values are kept in a small LRU
+ * cache. Blobs are not reference counted: a blob stays alive while any recipe row, soft-deleted
+ * ones included, still points at it, and {@link #sweepUnreferenced} removes the rest once they
+ * are older than the grace period. Every {@link #put} refreshes {@code created_at}, so a blob
+ * that a writer is about to reference again is never old enough to be swept.
+ */
+@Component
+public class ContentBlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentBlobStore.class);
+    private static final int LOOKUP_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int cacheSize;
+    private final String insertSql;
+
+    // Not synchronized: lookups on a miss block on JDBC and would pin a virtual carrier thread
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private final Map<String, String> cache;
+
+    // Built from the DataSource rather than injected: the converters that use this store are
+    // created while the EntityManagerFactory is, and Boot's JdbcTemplate bean waits for that
+    @Autowired
+    public ContentBlobStore(DataSource dataSource,
+                            @Value("${recipehub.content.dedup.cache-size:1000}") int cacheSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.cacheSize = cacheSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > ContentBlobStore.this.cacheSize;
+            }
+        };
+        this.insertSql = isPostgres(jdbcTemplate)
+                ? "INSERT INTO recipe_content_blobs (hash, content, created_at) VALUES (?, ?, ?) " +
+                        "ON CONFLICT (hash) DO UPDATE SET created_at = EXCLUDED.created_at"
+                : "MERGE INTO recipe_content_blobs (hash, content, created_at) KEY (hash) VALUES (?, ?, ?)";
+    }
+
+    public static String hash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Stores the content if no blob with its hash exists yet and returns the hash. An existing
+     * blob has its {@code created_at} moved to now. The upsert runs in the caller's transaction,
+     * so until the recipe pointing at the blob commits, a concurrent sweep waits on the row lock
+     * and then sees the new timestamp.
+     */
+    public String put(String content) {
+        String hash = hash(content);
+        // Concurrent writers of the same content both succeed; neither aborts its transaction
+        jdbcTemplate.update(insertSql, hash, content, Timestamp.valueOf(LocalDateTime.now()));
+        remember(hash, content);
+        return hash;
+    }
+
+    /** Returns the stored content, or null if there is no blob with this hash. */
+    public String get(String hash) {
+        cacheLock.lock();
+        try {
+            String cached = cache.get(hash);
+            if (cached != null) {
+                return cached;
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT content FROM recipe_content_blobs WHERE hash = ?", String.class, hash);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        remember(hash, rows.get(0));
+        return rows.get(0);
+    }
+
+    /**
+     * Stored content for each of the given hashes that exists, read in batches of
+     * {@value #LOOKUP_BATCH_SIZE}. For bulk reads such as index rebuilds; results are not added
+     * to the cache, so one rebuild does not evict the blobs that requests keep hitting.
+     */
+    public Map<String, String> getAll(Collection<String> hashes) {
+        Map<String, String> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        cacheLock.lock();
+        try {
+            for (String hash : new LinkedHashSet<>(hashes)) {
+                String cached = cache.get(hash);
+                if (cached != null) {
+                    found.put(hash, cached);
+                } else {
+                    missing.add(hash);
+                }
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+        for (int from = 0; from < missing.size(); from += LOOKUP_BATCH_SIZE) {
+            List<String> batch = missing.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, missing.size()));
+            String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+            jdbcTemplate.query("SELECT hash, content FROM recipe_content_blobs WHERE hash IN (" + placeholders + ")",
+                    rs -> {
+                        found.put(rs.getString(1), rs.getString(2));
+                    }, batch.toArray());
+        }
+        return found;
+    }
+
+    /**
+     * Deletes blobs created before {@code createdBefore} that no recipe row references, in one
+     * statement. The cut-off keeps blobs written by transactions that have not committed their
+     * recipe yet; since put refreshes created_at, that includes old blobs being reused.
+     */
+    public int sweepUnreferenced(LocalDateTime createdBefore) {
+        // One NOT EXISTS per column rather than an OR across both, so each can be planned as an
+        // anti-join; the LIKE lets PostgreSQL use the partial reference indexes
+        String reference = "CONCAT('" + RecipeContentCodec.BLOB_PREFIX + "', recipe_content_blobs.hash)";
+        String referenced = "'" + RecipeContentCodec.BLOB_PREFIX + "%'";
+        int deleted = jdbcTemplate.update("DELETE FROM recipe_content_blobs WHERE created_at < ? " +
+                        "AND NOT EXISTS (SELECT 1 FROM recipes r " +
+                        "WHERE r.ingredients LIKE " + referenced + " AND r.ingredients = " + reference + ") " +
+                        "AND NOT EXISTS (SELECT 1 FROM recipes r " +
+                        "WHERE r.instructions LIKE " + referenced + " AND r.instructions = " + reference + ")",
+                Timestamp.valueOf(createdBefore));
+        if (deleted > 0) {
+            // Which hashes went is not returned portably; the cache refills from the blobs still in use
+            cacheLock.lock();
+            try {
+                cache.clear();
+            } finally {
+                cacheLock.unlock();
+            }
+            log.info("Removed {} unreferenced recipe content blobs", deleted);
+        }
+        return deleted;
+    }
+
+    private void remember(String hash, String content) {
+        cacheLock.lock();
+        try {
+            cache.put(hash, content);
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (RuntimeException e) {
+            log.warn("Could not detect database product, using MERGE for content blobs: {}", e.getMessage());
+            return false;
+        }
+    }
+}
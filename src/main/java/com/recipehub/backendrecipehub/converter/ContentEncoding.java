@@ -0,0 +1,10 @@
+package com.recipehub.backendrecipehub.converter;
+
+/**
+ * Storage format for the recipe content columns (ingredients, instructions).
+ * Both formats can coexist in the same table; reads detect the format per value.
+ */
+public enum ContentEncoding {
+    JSON,
+    SMILE
+}
@@ -1,33 +1,38 @@
 package com.recipehub.backendrecipehub.converter;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.recipehub.backendrecipehub.model.Ingredient;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
+import org.hibernate.annotations.Mutability;
 
 import java.util.List;
 
 @Converter
+@Mutability(IngredientListMutabilityPlan.class)
 public class IngredientListConverter implements AttributeConverter<List<Ingredient>, String> {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RecipeContentCodec codec;
+
+    // Instantiated through Spring's bean container, so the configured codec is injected
+    public IngredientListConverter(RecipeContentCodec codec) {
+        this.codec = codec;
+    }
 
     @Override
     public String convertToDatabaseColumn(List<Ingredient> ingredients) {
         try {
-            return objectMapper.writeValueAsString(ingredients);
+            return codec.writeIngredients(ingredients, codec.getEncoding());
         } catch (Exception e) {
-            throw new IllegalArgumentException("Error converting ingredients to JSON", e);
+            throw new IllegalArgumentException("Error converting ingredients to " + codec.getEncoding(), e);
         }
     }
 
     @Override
-    public List<Ingredient> convertToEntityAttribute(String json) {
+    public List<Ingredient> convertToEntityAttribute(String column) {
         try {
-            return objectMapper.readValue(json, new TypeReference<>() {});
+            return codec.readIngredients(column);
         } catch (Exception e) {
-            throw new IllegalArgumentException("Error reading ingredients from JSON", e);
+            throw new IllegalArgumentException("Error reading ingredients from " + RecipeContentCodec.detect(column), e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.recipehub.backendrecipehub.converter;
+
+import com.recipehub.backendrecipehub.model.Ingredient;
+import org.hibernate.SharedSessionContract;
+import org.hibernate.type.descriptor.java.MutabilityPlan;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Snapshots ingredient lists by copying them. Without an explicit plan Hibernate copies a
+ * converted attribute by writing it to the column format and reading it back, which costs a
+ * full encode and parse on every load and would run the content store on plain reads.
+ */
+public class IngredientListMutabilityPlan implements MutabilityPlan<List<Ingredient>> {
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    @Override
+    public List<Ingredient> deepCopy(List<Ingredient> value) {
+        if (value == null) {
+            return null;
+        }
+        List<Ingredient> copy = new ArrayList<>(value.size());
+        for (Ingredient ingredient : value) {
+            copy.add(ingredient == null ? null
+                    : new Ingredient(ingredient.getName(), ingredient.getUnit(), ingredient.getQuantity()));
+        }
+        return copy;
+    }
+
+    // Ingredient is not Serializable, so cached state holds one {name, unit, quantity} row per entry
+    @Override
+    public Serializable disassemble(List<Ingredient> value, SharedSessionContract session) {
+        if (value == null) {
+            return null;
+        }
+        ArrayList<Object[]> rows = new ArrayList<>(value.size());
+        for (Ingredient ingredient : value) {
+            rows.add(ingredient == null ? null
+                    : new Object[]{ingredient.getName(), ingredient.getUnit(), ingredient.getQuantity()});
+        }
+        return rows;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Ingredient> assemble(Serializable cached, SharedSessionContract session) {
+        if (cached == null) {
+            return null;
+        }
+        List<Ingredient> value = new ArrayList<>();
+        for (Object[] row : (List<Object[]>) cached) {
+            value.add(row == null ? null : new Ingredient((String) row[0], (String) row[1], (Double) row[2]));
+        }
+        return value;
+    }
+}
@@ -1,32 +1,37 @@
 package com.recipehub.backendrecipehub.converter;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
+import org.hibernate.annotations.Mutability;
 
 import java.util.List;
 
 @Converter
+@Mutability(StringListMutabilityPlan.class)
 public class InstructionListConverter implements AttributeConverter<List<String>, String> {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RecipeContentCodec codec;
+
+    // Instantiated through Spring's bean container, so the configured codec is injected
+    public InstructionListConverter(RecipeContentCodec codec) {
+        this.codec = codec;
+    }
 
     @Override
     public String convertToDatabaseColumn(List<String> instructions) {
         try {
-            return objectMapper.writeValueAsString(instructions);
+            return codec.writeInstructions(instructions, codec.getEncoding());
         } catch (Exception e) {
-            throw new IllegalArgumentException("Error converting instructions to JSON", e);
+            throw new IllegalArgumentException("Error converting instructions to " + codec.getEncoding(), e);
         }
     }
 
     @Override
-    public List<String> convertToEntityAttribute(String json) {
+    public List<String> convertToEntityAttribute(String column) {
         try {
-            return objectMapper.readValue(json, new TypeReference<>() {});
+            return codec.readInstructions(column);
         } catch (Exception e) {
-            throw new IllegalArgumentException("Error reading instructions from JSON", e);
+            throw new IllegalArgumentException("Error reading instructions from " + RecipeContentCodec.detect(column), e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.recipehub.backendrecipehub.converter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.recipehub.backendrecipehub.dto.IngredientDTO;
+import com.recipehub.backendrecipehub.model.Ingredient;
+
+import java.util.List;
+
+/**
+ * Shared, pre-built Jackson readers and writers for the recipe content types.
+ * ObjectReader/ObjectWriter are immutable and thread-safe, so one instance per
+ * type keeps Jackson's serializer caches warm across every entity hydration
+ * instead of resolving the generic type again on each call.
+ */
+public final class JsonCodecs {
+
+    public static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new BlackbirdModule())
+            .build();
+
+    public static final ObjectReader INGREDIENT_LIST_READER = MAPPER.readerFor(new TypeReference<List<Ingredient>>() {});
+    public static final ObjectWriter INGREDIENT_LIST_WRITER = MAPPER.writerFor(new TypeReference<List<Ingredient>>() {});
+
+    public static final ObjectReader STRING_LIST_READER = MAPPER.readerFor(new TypeReference<List<String>>() {});
+    public static final ObjectWriter STRING_LIST_WRITER = MAPPER.writerFor(new TypeReference<List<String>>() {});
+
+    public static final ObjectReader INGREDIENT_DTO_LIST_READER = MAPPER.readerFor(new TypeReference<List<IngredientDTO>>() {});
+
+    private JsonCodecs() {
+    }
+}
@@ -0,0 +1,181 @@
+package com.recipehub.backendrecipehub.converter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.recipehub.backendrecipehub.model.Ingredient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes recipe content for the TEXT columns in either JSON or Smile.
+ * Smile values are stored as "smile:" + Base64 so they fit the existing columns and
+ * can live next to JSON rows while a migration is in progress; reads always detect
+ * the format from the value, writes use the configured {@code recipehub.content.encoding}.
+ * Shared string values are enabled so repeated units ("cup", "tbsp") are written once
+ * per list and back-referenced afterwards.
+ * <p>
+ * With content addressing enabled, values of at least {@code recipehub.content.dedup.min-bytes}
+ * are stored once in {@link ContentBlobStore} and the column holds "sha256:" + hash instead,
+ * so a fork that keeps its original's ingredients shares the same blob rather than a copy.
+ */
+@Component
+public class RecipeContentCodec {
+
+    static final String SMILE_PREFIX = "smile:";
+    static final String BLOB_PREFIX = "sha256:";
+
+    private static final ObjectMapper SMILE_MAPPER = SmileMapper.builder(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build())
+            .addModule(new BlackbirdModule())
+            .build();
+
+    private static final ObjectReader SMILE_INGREDIENT_LIST_READER = SMILE_MAPPER.readerFor(new TypeReference<List<Ingredient>>() {});
+    private static final ObjectWriter SMILE_INGREDIENT_LIST_WRITER = SMILE_MAPPER.writerFor(new TypeReference<List<Ingredient>>() {});
+    private static final ObjectReader SMILE_STRING_LIST_READER = SMILE_MAPPER.readerFor(new TypeReference<List<String>>() {});
+    private static final ObjectWriter SMILE_STRING_LIST_WRITER = SMILE_MAPPER.writerFor(new TypeReference<List<String>>() {});
+
+    private final ContentEncoding encoding;
+    private final ContentBlobStore blobStore;
+    private final boolean dedupEnabled;
+    private final int dedupMinBytes;
+
+    @Autowired
+    public RecipeContentCodec(@Value("${recipehub.content.encoding:json}") ContentEncoding encoding,
+                              ContentBlobStore blobStore,
+                              @Value("${recipehub.content.dedup.enabled:true}") boolean dedupEnabled,
+                              @Value("${recipehub.content.dedup.min-bytes:256}") int dedupMinBytes) {
+        this.encoding = encoding;
+        this.blobStore = blobStore;
+        this.dedupEnabled = dedupEnabled;
+        this.dedupMinBytes = dedupMinBytes;
+    }
+
+    // Inline values only, for use outside the application context
+    public RecipeContentCodec(ContentEncoding encoding) {
+        this(encoding, null, false, 0);
+    }
+
+    public ContentEncoding getEncoding() {
+        return encoding;
+    }
+
+    public static ContentEncoding detect(String column) {
+        return column != null && column.startsWith(SMILE_PREFIX) ? ContentEncoding.SMILE : ContentEncoding.JSON;
+    }
+
+    public static boolean isBlobReference(String column) {
+        return column != null && column.startsWith(BLOB_PREFIX);
+    }
+
+    /** Encoding of a column value, looking through a blob reference to the stored content. */
+    public ContentEncoding encodingOf(String column) throws IOException {
+        return detect(resolve(column));
+    }
+
+    public String writeIngredients(List<Ingredient> ingredients, ContentEncoding target) throws IOException {
+        return address(write(ingredients, target, JsonCodecs.INGREDIENT_LIST_WRITER, SMILE_INGREDIENT_LIST_WRITER));
+    }
+
+    public List<Ingredient> readIngredients(String column) throws IOException {
+        return read(resolve(column), JsonCodecs.INGREDIENT_LIST_READER, SMILE_INGREDIENT_LIST_READER);
+    }
+
+    /**
+     * Looks up every blob referenced by {@code columns} in one batched query, for decoding many
+     * rows with {@link #readIngredients(String, Map)} without a lookup per row.
+     */
+    public Map<String, String> resolveAll(Collection<String> columns) throws IOException {
+        List<String> hashes = columns.stream()
+                .filter(RecipeContentCodec::isBlobReference)
+                .map(column -> column.substring(BLOB_PREFIX.length()))
+                .toList();
+        if (hashes.isEmpty()) {
+            return Map.of();
+        }
+        if (blobStore == null) {
+            throw new IOException("No content store available for " + hashes.size() + " blob references");
+        }
+        return blobStore.getAll(hashes);
+    }
+
+    public List<Ingredient> readIngredients(String column, Map<String, String> blobs) throws IOException {
+        return read(resolve(column, blobs), JsonCodecs.INGREDIENT_LIST_READER, SMILE_INGREDIENT_LIST_READER);
+    }
+
+    public List<String> readInstructions(String column, Map<String, String> blobs) throws IOException {
+        return read(resolve(column, blobs), JsonCodecs.STRING_LIST_READER, SMILE_STRING_LIST_READER);
+    }
+
+    public String writeInstructions(List<String> instructions, ContentEncoding target) throws IOException {
+        return address(write(instructions, target, JsonCodecs.STRING_LIST_WRITER, SMILE_STRING_LIST_WRITER));
+    }
+
+    public List<String> readInstructions(String column) throws IOException {
+        return read(resolve(column), JsonCodecs.STRING_LIST_READER, SMILE_STRING_LIST_READER);
+    }
+
+    private String address(String encoded) {
+        if (!dedupEnabled || blobStore == null || encoded == null || encoded.length() < dedupMinBytes) {
+            return encoded;
+        }
+        return BLOB_PREFIX + blobStore.put(encoded);
+    }
+
+    private String resolve(String column) throws IOException {
+        if (!isBlobReference(column)) {
+            return column;
+        }
+        if (blobStore == null) {
+            throw new IOException("No content store available for " + column);
+        }
+        String hash = column.substring(BLOB_PREFIX.length());
+        String content = blobStore.get(hash);
+        if (content == null) {
+            throw new IOException("Missing recipe content blob " + hash);
+        }
+        return content;
+    }
+
+    private static String resolve(String column, Map<String, String> blobs) throws IOException {
+        if (!isBlobReference(column)) {
+            return column;
+        }
+        String hash = column.substring(BLOB_PREFIX.length());
+        String content = blobs.get(hash);
+        if (content == null) {
+            throw new IOException("Missing recipe content blob " + hash);
+        }
+        return content;
+    }
+
+    private static String write(Object value, ContentEncoding target, ObjectWriter json, ObjectWriter smile) throws IOException {
+        if (target == ContentEncoding.SMILE) {
+            return SMILE_PREFIX + Base64.getEncoder().encodeToString(smile.writeValueAsBytes(value));
+        }
+        return json.writeValueAsString(value);
+    }
+
+    private static <T> T read(String column, ObjectReader json, ObjectReader smile) throws IOException {
+        if (column == null) {
+            return null;
+        }
+        if (detect(column) == ContentEncoding.SMILE) {
+            return smile.readValue(Base64.getDecoder().decode(column.substring(SMILE_PREFIX.length())));
+        }
+        return json.readValue(column);
+    }
+}
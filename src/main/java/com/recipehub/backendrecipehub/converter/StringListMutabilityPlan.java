@@ -0,0 +1,36 @@
+package com.recipehub.backendrecipehub.converter;
+
+import org.hibernate.SharedSessionContract;
+import org.hibernate.type.descriptor.java.MutabilityPlan;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Snapshots instruction lists with a shallow copy; the strings themselves are immutable.
+ * See {@link IngredientListMutabilityPlan} for why converted lists need an explicit plan.
+ */
+public class StringListMutabilityPlan implements MutabilityPlan<List<String>> {
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    @Override
+    public List<String> deepCopy(List<String> value) {
+        return value == null ? null : new ArrayList<>(value);
+    }
+
+    @Override
+    public Serializable disassemble(List<String> value, SharedSessionContract session) {
+        return value == null ? null : new ArrayList<>(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> assemble(Serializable cached, SharedSessionContract session) {
+        return cached == null ? null : new ArrayList<>((List<String>) cached);
+    }
+}
@@ -8,6 +8,7 @@ public class AuthorSearchResponse {
     private List<RecipeBookDTO> recipeBooks;
     private int totalRecipes;
     private int totalRecipeBooks;
+    private boolean partial; // true when one of the parallel queries failed or timed out
 
     public AuthorSearchResponse() {}
 
@@ -58,4 +59,12 @@ public class AuthorSearchResponse {
     public void setTotalRecipeBooks(int totalRecipeBooks) {
         this.totalRecipeBooks = totalRecipeBooks;
     }
+
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
 }
@@ -0,0 +1,14 @@
+package com.recipehub.backendrecipehub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InteractionDTO {
+    private Long recipeId;
+    private boolean cooked;
+    private boolean favourite;
+}
@@ -0,0 +1,20 @@
+package com.recipehub.backendrecipehub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of {@code PUT /api/users/{userId}/interactions}: sets the given flags on every listed
+ * recipe for that user. A null flag is left as it is.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InteractionUpdateRequest {
+    private List<Long> recipeIds;
+    private Boolean cooked;
+    private Boolean favourite;
+}
@@ -0,0 +1,9 @@
+package com.recipehub.backendrecipehub.dto;
+
+import lombok.Data;
+
+@Data
+public class RecipeBookMoveRequest {
+    // Recipe to place the moved recipe after; null moves it to the front of the book
+    private Long afterRecipeId;
+}
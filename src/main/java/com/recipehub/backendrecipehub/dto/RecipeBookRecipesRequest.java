@@ -0,0 +1,12 @@
+package com.recipehub.backendrecipehub.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RecipeBookRecipesRequest {
+    @NotEmpty(message = "At least one recipe ID is required")
+    private List<Long> recipeIds;
+}
@@ -0,0 +1,15 @@
+package com.recipehub.backendrecipehub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeBookRecipesResponse {
+    private List<RecipeResponseDTO> recipes; // summaries, without ingredients/instructions
+    private String nextCursor; // null on the last page
+}
@@ -0,0 +1,14 @@
+package com.recipehub.backendrecipehub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeForkCountDTO {
+    private Long recipeId;
+    private long directForks; // public forks of this recipe
+    private long totalForks;  // public forks anywhere below it in the fork tree
+}
@@ -0,0 +1,13 @@
+package com.recipehub.backendrecipehub.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class RecipeMatchDTO {
+    private RecipeResponseDTO recipe;
+    private double coverage; // fraction of the recipe's ingredients found in the pantry (0.0 - 1.0)
+    private int matchedIngredients;
+    private int totalIngredients;
+    private List<String> missingIngredients;
+}
@@ -1,5 +1,6 @@
 package com.recipehub.backendrecipehub.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,13 +10,16 @@ public class RecipeResponseDTO {
     private Long id;
     private String title;
     private String description;
+    @JsonInclude(JsonInclude.Include.NON_NULL) // omitted in summary views
     private List<IngredientDTO> ingredients;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<String> instructions;
     private String imageUrl;
     private boolean isPublic;
     private boolean cooked;
     private boolean favourite;
     private int likeCount;
+    private int forkCount;
     private Long authorId;
     private String authorUsername;
     private Long originalRecipeId;
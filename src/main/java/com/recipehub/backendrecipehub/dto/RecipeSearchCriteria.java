@@ -0,0 +1,94 @@
+package com.recipehub.backendrecipehub.dto;
+
+import com.recipehub.backendrecipehub.model.TagCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Filters accepted by {@code GET /api/recipes/search}. Bound directly from the query
+ * string; every field is optional and set filters are combined with AND.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeSearchCriteria {
+    private String title;
+    // Any-of tag match
+    private List<String> tags;
+    private String author;
+    private Long authorId;
+    private Boolean cooked;
+    private Boolean favourite;
+
+    // Tag category filters; each one requires a tag of that category
+    private String difficulty;
+    private String cuisine;
+    private String mealType;
+    private String dietary;
+    private String cookingMethod;
+    private String occasion;
+    private String season;
+    private String health;
+    private String specialFeature;
+
+    // Substring match on the recipe's ingredient names (via the ingredient catalog)
+    private String ingredient;
+    // Exact match on the ingredient catalog; every name must be present
+    private List<String> ingredients;
+
+    /** The category filters that are set, as category to lower-cased tag name. */
+    public Map<TagCategory, String> categoryFilters() {
+        Map<TagCategory, String> filters = new EnumMap<>(TagCategory.class);
+        putIfSet(filters, TagCategory.CUISINE, cuisine);
+        putIfSet(filters, TagCategory.DIFFICULTY, difficulty);
+        putIfSet(filters, TagCategory.MEAL_TYPE, mealType);
+        putIfSet(filters, TagCategory.DIETARY, dietary);
+        putIfSet(filters, TagCategory.COOKING_METHOD, cookingMethod);
+        putIfSet(filters, TagCategory.OCCASION, occasion);
+        putIfSet(filters, TagCategory.SEASON, season);
+        putIfSet(filters, TagCategory.HEALTH, health);
+        putIfSet(filters, TagCategory.SPECIAL_FEATURE, specialFeature);
+        return filters;
+    }
+
+    /** Lower-cased, de-duplicated names from {@code tags}. */
+    public Set<String> anyTagNames() {
+        return tags == null ? Set.of() : normalize(tags.stream());
+    }
+
+    /** True when only author filters are set, which returns the author's recipes and books. */
+    public boolean isAuthorOnly() {
+        boolean hasAuthor = authorId != null || isSet(author);
+        return hasAuthor && !isSet(title) && anyTagNames().isEmpty() && cooked == null && favourite == null
+                && categoryFilters().isEmpty() && !isSet(ingredient)
+                && (ingredients == null || ingredients.isEmpty());
+    }
+
+    private static Set<String> normalize(Stream<String> names) {
+        Set<String> normalized = new LinkedHashSet<>();
+        names.filter(RecipeSearchCriteria::isSet)
+                .map(n -> n.trim().toLowerCase())
+                .forEach(normalized::add);
+        return normalized;
+    }
+
+    private static void putIfSet(Map<TagCategory, String> filters, TagCategory category, String name) {
+        if (isSet(name)) {
+            filters.put(category, name.trim().toLowerCase());
+        }
+    }
+
+    private static boolean isSet(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,15 @@
+package com.recipehub.backendrecipehub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeSearchResponse {
+    private List<RecipeResponseDTO> recipes;
+    private List<TagDTO> facets; // recipe count per tag within these results
+}
@@ -0,0 +1,13 @@
+package com.recipehub.backendrecipehub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationDTO {
+    private RecipeResponseDTO recipe; // summary, without ingredients/instructions
+    private double score; // cosine similarity to the user's cooked/favourite profile (0.0 - 1.0)
+}
@@ -0,0 +1,13 @@
+package com.recipehub.backendrecipehub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarRecipeDTO {
+    private RecipeResponseDTO recipe; // summary, without ingredients/instructions
+    private double similarity; // Jaccard similarity of the ingredient and tag sets (0.0 - 1.0)
+}
@@ -0,0 +1,15 @@
+package com.recipehub.backendrecipehub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+    private String text;
+    private String type; // "title", "tag" or "ingredient"
+    private int recipeCount; // public recipes using this title, tag or ingredient
+    private boolean corrected; // true when matched despite a typo in the prefix
+}
@@ -1,11 +1,13 @@
 package com.recipehub.backendrecipehub.dto;
 
+import com.recipehub.backendrecipehub.model.TagCategory;
 import lombok.Data;
 
 @Data
 public class TagDTO {
     private Long id;
     private String name;
+    private TagCategory category;
     private int recipeCount;
 
     public TagDTO(Long id, String name, int recipeCount) {
@@ -14,4 +16,9 @@ public class TagDTO {
         this.recipeCount = recipeCount;
     }
 
+    public TagDTO(Long id, String name, TagCategory category, int recipeCount) {
+        this(id, name, recipeCount);
+        this.category = category;
+    }
+
 }
@@ -0,0 +1,15 @@
+package com.recipehub.backendrecipehub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingRecipeDTO {
+    private RecipeResponseDTO recipe; // summary, without ingredients/instructions
+    private long recentLikes;
+    private long recentForks;
+    private long score;
+}
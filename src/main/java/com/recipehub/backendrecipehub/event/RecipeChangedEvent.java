@@ -0,0 +1,72 @@
+package com.recipehub.backendrecipehub.event;
+
+import com.recipehub.backendrecipehub.model.CatalogIngredient;
+import com.recipehub.backendrecipehub.model.Ingredient;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.Tag;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Published by RecipeService after a recipe write. It carries a copy of the recipe state taken
+ * at publish time rather than the managed entity, so in-memory indexes can apply it once the
+ * transaction has committed without touching the persistence context.
+ * {@code likeDelta} is the change in like count for LIKED events and 0 otherwise.
+ */
+public record RecipeChangedEvent(RecipeState recipe, ChangeType type, int likeDelta) {
+
+    public RecipeChangedEvent(Recipe recipe, ChangeType type, int likeDelta) {
+        this(RecipeState.of(recipe, type), type, likeDelta);
+    }
+
+    public RecipeChangedEvent(Recipe recipe, ChangeType type) {
+        this(recipe, type, 0);
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        FORKED,
+        LIKED,
+        DELETED
+    }
+
+    public boolean isRemoval() {
+        return type == ChangeType.DELETED || recipe.deleted();
+    }
+
+    /**
+     * What the listeners need of a recipe. Content, tags and catalog ingredients are only copied
+     * for writes that change them; a like or a delete carries the ids and flags alone.
+     */
+    public record RecipeState(Long id, Long authorId, Long originalRecipeId, boolean isPublic, boolean deleted,
+                              boolean cooked, boolean favourite, String title, List<Ingredient> ingredients,
+                              List<Long> tagIds, List<String> tagNames, List<Long> catalogIngredientIds) {
+
+        static RecipeState of(Recipe recipe, ChangeType type) {
+            Long authorId = recipe.getAuthor() == null ? null : recipe.getAuthor().getId();
+            Long originalRecipeId = recipe.getOriginalRecipe() == null ? null : recipe.getOriginalRecipe().getId();
+            boolean withContent = type != ChangeType.LIKED && type != ChangeType.DELETED && !recipe.isDeleted();
+            return new RecipeState(recipe.getId(), authorId, originalRecipeId, recipe.isPublic(), recipe.isDeleted(),
+                    recipe.isCooked(), recipe.isFavourite(), recipe.getTitle(),
+                    withContent ? copyIngredients(recipe.getIngredients()) : List.of(),
+                    withContent ? copy(recipe.getTags(), Tag::getId) : List.of(),
+                    withContent ? copy(recipe.getTags(), Tag::getName) : List.of(),
+                    withContent ? copy(recipe.getCatalogIngredients(), CatalogIngredient::getId) : List.of());
+        }
+
+        private static List<Ingredient> copyIngredients(List<Ingredient> ingredients) {
+            return ingredients == null ? List.of() : ingredients.stream()
+                    .filter(Objects::nonNull)
+                    .map(i -> new Ingredient(i.getName(), i.getUnit(), i.getQuantity()))
+                    .toList();
+        }
+
+        private static <T, V> List<V> copy(Collection<T> values, Function<T, V> field) {
+            return values == null ? List.of() : values.stream().map(field).filter(Objects::nonNull).toList();
+        }
+    }
+}
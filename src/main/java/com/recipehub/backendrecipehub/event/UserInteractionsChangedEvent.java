@@ -0,0 +1,18 @@
+package com.recipehub.backendrecipehub.event;
+
+import java.util.List;
+
+/**
+ * Published by UserInteractionService after a user's cooked/favourite rows are written, with
+ * the rows' new state; rows with neither flag set have been deleted. It carries values rather
+ * than entities, so listeners can apply it after the transaction has committed.
+ */
+public record UserInteractionsChangedEvent(Long userId, List<Interaction> interactions) {
+
+    public record Interaction(Long recipeId, boolean cooked, boolean favourite) {
+
+        public boolean isEmpty() {
+            return !cooked && !favourite;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.recipehub.backendrecipehub.index;
+
+import com.recipehub.backendrecipehub.event.RecipeChangedEvent;
+import com.recipehub.backendrecipehub.model.Ingredient;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.service.IngredientCatalogService;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from ingredient to the public recipes that use it.
+ * Each ingredient name gets a dense int id and a RoaringBitmap of recipe ids, so
+ * ranking recipes by pantry coverage is a bitmap union plus a walk over the
+ * candidates' ingredient arrays instead of parsing every recipe's JSON.
+ * The index only proposes candidates; callers re-read the rows from the database.
+ */
+@Component
+public class PantryIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PantryIndex.class);
+
+    private final RecipeRepository recipeRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> ingredientIds = new HashMap<>();
+    private final List<RoaringBitmap> postings = new ArrayList<>();
+    private final Map<Integer, IndexedRecipe> recipes = new HashMap<>();
+
+    public PantryIndex(RecipeRepository recipeRepository) {
+        this.recipeRepository = recipeRepository;
+    }
+
+    public record Match(Long recipeId, int matched, int total, List<String> missingIngredients) {
+        public double coverage() {
+            return total == 0 ? 0.0 : (double) matched / total;
+        }
+    }
+
+    // Ingredient ids are de-duplicated; names keep the recipe's own spelling for the missing list
+    private record IndexedRecipe(int[] ingredientIds, String[] displayNames) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Object[]> publicRecipes = recipeRepository.findPublicRecipeIngredients();
+        lock.writeLock().lock();
+        try {
+            ingredientIds.clear();
+            postings.clear();
+            recipes.clear();
+            for (Object[] row : publicRecipes) {
+                @SuppressWarnings("unchecked")
+                List<Ingredient> ingredients = (List<Ingredient>) row[1];
+                put((Long) row[0], ingredients);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Pantry index built with {} recipes and {} ingredients", publicRecipes.size(), postings.size());
+    }
+
+    // After commit, so a write that rolls back never reaches the index
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.LIKED) {
+            return;
+        }
+        RecipeChangedEvent.RecipeState recipe = event.recipe();
+        if (event.isRemoval() || !recipe.isPublic()) {
+            remove(recipe.id());
+        } else {
+            index(recipe.id(), recipe.ingredients());
+        }
+    }
+
+    public void index(Recipe recipe) {
+        index(recipe.getId(), recipe.getIngredients());
+    }
+
+    public void index(Long recipeId, List<Ingredient> ingredients) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(toKey(recipeId));
+            put(recipeId, ingredients);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(toKey(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return recipes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank indexed recipes by the fraction of their ingredients found in the pantry.
+     * Ties are broken by the number of matched ingredients, then by fewest missing.
+     */
+    public List<Match> match(Collection<String> pantry, int limit, double minCoverage) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            RoaringBitmap pantryIds = new RoaringBitmap();
+            for (String name : IngredientCatalogService.normalizeAll(pantry)) {
+                Integer id = ingredientIds.get(name);
+                if (id != null) {
+                    pantryIds.add(id);
+                }
+            }
+            if (pantryIds.isEmpty()) {
+                return List.of();
+            }
+
+            RoaringBitmap candidates = new RoaringBitmap();
+            pantryIds.forEach((int ingredientId) -> candidates.or(postings.get(ingredientId)));
+
+            Comparator<Match> ranking = Comparator
+                    .comparingDouble(Match::coverage)
+                    .thenComparingInt(Match::matched)
+                    .thenComparing(m -> -m.missingIngredients().size());
+            // Sized by what can actually match, so a huge limit does not allocate (or overflow) up front
+            PriorityQueue<Match> best = new PriorityQueue<>(Math.min(limit, candidates.getCardinality()) + 1, ranking);
+
+            candidates.forEach((int recipeKey) -> {
+                IndexedRecipe indexed = recipes.get(recipeKey);
+                int matched = 0;
+                List<String> missing = new ArrayList<>();
+                for (int i = 0; i < indexed.ingredientIds().length; i++) {
+                    if (pantryIds.contains(indexed.ingredientIds()[i])) {
+                        matched++;
+                    } else {
+                        missing.add(indexed.displayNames()[i]);
+                    }
+                }
+                Match match = new Match((long) recipeKey, matched, indexed.ingredientIds().length, missing);
+                if (match.coverage() < minCoverage) {
+                    return;
+                }
+                best.offer(match);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            });
+
+            List<Match> ranked = new ArrayList<>(best);
+            ranked.sort(ranking.reversed());
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void put(Long recipeId, List<Ingredient> ingredients) {
+        if (ingredients == null || ingredients.isEmpty()) {
+            return;
+        }
+        int recipeKey = toKey(recipeId);
+
+        Map<Integer, String> unique = new LinkedHashMap<>();
+        for (Ingredient ingredient : ingredients) {
+            String normalized = IngredientCatalogService.normalize(ingredient.getName());
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            int ingredientId = ingredientIds.computeIfAbsent(normalized, n -> {
+                postings.add(new RoaringBitmap());
+                return postings.size() - 1;
+            });
+            unique.putIfAbsent(ingredientId, ingredient.getName().trim());
+        }
+        if (unique.isEmpty()) {
+            return;
+        }
+
+        int[] ids = new int[unique.size()];
+        String[] names = new String[unique.size()];
+        int i = 0;
+        for (Map.Entry<Integer, String> entry : unique.entrySet()) {
+            ids[i] = entry.getKey();
+            names[i] = entry.getValue();
+            postings.get(entry.getKey()).add(recipeKey);
+            i++;
+        }
+        recipes.put(recipeKey, new IndexedRecipe(ids, names));
+    }
+
+    private void removeLocked(int recipeKey) {
+        IndexedRecipe previous = recipes.remove(recipeKey);
+        if (previous != null) {
+            for (int ingredientId : previous.ingredientIds()) {
+                postings.get(ingredientId).remove(recipeKey);
+            }
+        }
+    }
+
+    private static int toKey(Long recipeId) {
+        return Math.toIntExact(recipeId);
+    }
+}
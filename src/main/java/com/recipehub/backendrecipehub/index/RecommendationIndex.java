@@ -0,0 +1,432 @@
+package com.recipehub.backendrecipehub.index;
+
+import com.recipehub.backendrecipehub.event.RecipeChangedEvent;
+import com.recipehub.backendrecipehub.event.UserInteractionsChangedEvent;
+import com.recipehub.backendrecipehub.model.CatalogIngredient;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.Tag;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.repository.UserRecipeInteractionRepository;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory sparse vectors for personalized recommendations. Every indexed recipe is a binary
+ * vector over its tags and catalog ingredients; a user's affinity vector is the sum of the
+ * vectors of the recipes they marked cooked or favourite (user_recipe_interactions, whoever
+ * wrote the recipe), favourites counting double. Public recipes
+ * are also entered in per-feature postings, so scoring walks only the postings of the user's
+ * strongest features: cost follows the user's history and the requested count, not the size
+ * of the catalog. Features are weighted by inverse document frequency, and features on more
+ * than half of the public recipes (an "Easy" tag, salt) are left out of candidate generation
+ * since they say little about taste. At most {@link #MAX_CANDIDATES} recipes are scored per
+ * request: once that many have been found, the weaker features only add to their scores.
+ * Private recipes are kept only while in someone's history.
+ */
+@Component
+public class RecommendationIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationIndex.class);
+
+    // Strongest features of a user's affinity vector that are used to find candidates
+    static final int MAX_PROFILE_FEATURES = 32;
+    // Recipes scored per request, whatever the length of the postings walked
+    static final int MAX_CANDIDATES = 2000;
+
+    private final RecipeRepository recipeRepository;
+    private final UserRecipeInteractionRepository interactionRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Tag ids map to even keys and catalog ingredient ids to odd ones, so both share one space
+    private final Map<Long, Integer> featureIds = new HashMap<>();
+    private final List<RoaringBitmap> postings = new ArrayList<>();
+    private final Map<Integer, IndexedRecipe> recipes = new HashMap<>();
+    // User -> recipe key -> weight: 2 for a favourite, 1 for cooked, 3 for both
+    private final Map<Long, Map<Integer, Integer>> historyByUser = new HashMap<>();
+    // Recipe key -> number of users with it in their history, to know which private recipes to keep
+    private final Map<Integer, Integer> historyRefs = new HashMap<>();
+    private int publicCount;
+
+    public RecommendationIndex(RecipeRepository recipeRepository,
+                               UserRecipeInteractionRepository interactionRepository) {
+        this.recipeRepository = recipeRepository;
+        this.interactionRepository = interactionRepository;
+    }
+
+    public record Recommendation(Long recipeId, double score) {}
+
+    private record IndexedRecipe(Long authorId, boolean isPublic, int[] features) {}
+
+    // The strongest features of a user's affinity vector, weighted, and the vector's norm
+    private record Profile(List<Map.Entry<Integer, Double>> features, double norm) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Long, Set<Long>> featuresByRecipe = new HashMap<>();
+        for (Object[] row : recipeRepository.findRecommendationTagIds()) {
+            featuresByRecipe.computeIfAbsent((Long) row[0], id -> new LinkedHashSet<>()).add(tagKey((Long) row[1]));
+        }
+        for (Object[] row : recipeRepository.findRecommendationCatalogIngredientIds()) {
+            featuresByRecipe.computeIfAbsent((Long) row[0], id -> new LinkedHashSet<>()).add(ingredientKey((Long) row[1]));
+        }
+        List<Object[]> rows = recipeRepository.findRecommendationRows();
+        List<Object[]> interactions = interactionRepository.findAllFlags();
+
+        lock.writeLock().lock();
+        try {
+            featureIds.clear();
+            postings.clear();
+            recipes.clear();
+            historyByUser.clear();
+            historyRefs.clear();
+            publicCount = 0;
+            for (Object[] row : interactions) {
+                setHistoryLocked((Long) row[0], toKey((Long) row[1]), weight((Boolean) row[2], (Boolean) row[3]));
+            }
+            for (Object[] row : rows) {
+                Long recipeId = (Long) row[0];
+                put(recipeId, (Long) row[1], (Boolean) row[2], featuresByRecipe.getOrDefault(recipeId, Set.of()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Recommendation index built with {} recipes, {} features and {} user histories",
+                rows.size(), postings.size(), historyByUser.size());
+    }
+
+    // After commit, so a rolled-back write never reaches the vectors
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.LIKED) {
+            return;
+        }
+        RecipeChangedEvent.RecipeState recipe = event.recipe();
+        if (event.isRemoval()) {
+            remove(recipe.id());
+        } else {
+            index(recipe.id(), recipe.authorId(), recipe.isPublic(), recipe.tagIds(), recipe.catalogIngredientIds());
+        }
+    }
+
+    /**
+     * Applies a user's new cooked/favourite state. Recipes entering a history that are not
+     * indexed yet (private ones) are read once so their vectors are available. Runs after the
+     * marks commit; the read needs a transaction of its own, since the publisher's has ended.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onInteractionsChanged(UserInteractionsChangedEvent event) {
+        List<Long> missing = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (UserInteractionsChangedEvent.Interaction interaction : event.interactions()) {
+                if (!interaction.isEmpty() && !recipes.containsKey(toKey(interaction.recipeId()))) {
+                    missing.add(interaction.recipeId());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Recipe> loaded = missing.isEmpty() ? List.of() : recipeRepository.findAllById(missing);
+
+        lock.writeLock().lock();
+        try {
+            for (UserInteractionsChangedEvent.Interaction interaction : event.interactions()) {
+                setHistoryLocked(event.userId(), toKey(interaction.recipeId()),
+                        weight(interaction.cooked(), interaction.favourite()));
+            }
+            for (Recipe recipe : loaded) {
+                putRecipeLocked(recipe);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Recipe recipe) {
+        lock.writeLock().lock();
+        try {
+            putRecipeLocked(recipe);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Long recipeId, Long authorId, boolean isPublic, List<Long> tagIds, List<Long> catalogIngredientIds) {
+        lock.writeLock().lock();
+        try {
+            putRecipeLocked(recipeId, authorId, isPublic, tagIds, catalogIngredientIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putRecipeLocked(Recipe recipe) {
+        List<Long> tagIds = recipe.getTags() == null ? List.of()
+                : recipe.getTags().stream().map(Tag::getId).toList();
+        List<Long> catalogIngredientIds = recipe.getCatalogIngredients() == null ? List.of()
+                : recipe.getCatalogIngredients().stream().map(CatalogIngredient::getId).toList();
+        Long authorId = recipe.getAuthor() == null ? null : recipe.getAuthor().getId();
+        putRecipeLocked(recipe.getId(), authorId, recipe.isPublic(), tagIds, catalogIngredientIds);
+    }
+
+    private void putRecipeLocked(Long recipeId, Long authorId, boolean isPublic,
+                                 List<Long> tagIds, List<Long> catalogIngredientIds) {
+        Set<Long> features = new LinkedHashSet<>();
+        for (Long tagId : tagIds) {
+            features.add(tagKey(tagId));
+        }
+        for (Long catalogIngredientId : catalogIngredientIds) {
+            features.add(ingredientKey(catalogIngredientId));
+        }
+        removeLocked(toKey(recipeId));
+        put(recipeId, authorId, isPublic, features);
+    }
+
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(toKey(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return recipes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Public recipes by other authors that are not in the user's history yet, ranked by cosine
+     * similarity to the user's affinity vector. Empty when the user has not cooked or
+     * favourited anything yet.
+     */
+    public List<Recommendation> recommend(Long userId, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> history = historyByUser.get(userId);
+            if (history == null || publicCount == 0) {
+                return List.of();
+            }
+
+            Profile profile = profileLocked(history);
+            if (profile == null) {
+                return List.of();
+            }
+            Map<Integer, Double> dots = candidatesLocked(userId, history, profile);
+
+            Comparator<Recommendation> ranking = Comparator.comparingDouble(Recommendation::score)
+                    .thenComparing(Comparator.comparing(Recommendation::recipeId).reversed());
+            PriorityQueue<Recommendation> best = new PriorityQueue<>(limit + 1, ranking);
+            dots.forEach((recipeKey, dot) -> {
+                best.offer(new Recommendation((long) recipeKey, dot / (profile.norm() * norm(recipes.get(recipeKey)))));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            });
+
+            List<Recommendation> ranked = new ArrayList<>(best);
+            ranked.sort(ranking.reversed());
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // How many recipes recommend would score for the user; bounded by MAX_CANDIDATES
+    int candidateCount(Long userId) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> history = historyByUser.get(userId);
+            Profile profile = history == null || publicCount == 0 ? null : profileLocked(history);
+            return profile == null ? 0 : candidatesLocked(userId, history, profile).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the read or write lock. Null when the history gives no usable feature.
+    private Profile profileLocked(Map<Integer, Integer> history) {
+        Map<Integer, Double> affinity = new HashMap<>();
+        history.forEach((recipeKey, weight) -> {
+            IndexedRecipe indexed = recipes.get(recipeKey);
+            if (indexed == null) {
+                return; // deleted, or has no tags or ingredients
+            }
+            for (int feature : indexed.features()) {
+                affinity.merge(feature, (double) weight, Double::sum);
+            }
+        });
+        if (affinity.isEmpty()) {
+            return null;
+        }
+        affinity.replaceAll((feature, weight) -> weight * idf(feature));
+
+        List<Map.Entry<Integer, Double>> features = affinity.entrySet().stream()
+                .filter(e -> postings.get(e.getKey()).getCardinality() * 2 <= publicCount)
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                .limit(MAX_PROFILE_FEATURES)
+                .toList();
+        if (features.isEmpty()) {
+            return null;
+        }
+        return new Profile(features, Math.sqrt(affinity.values().stream().mapToDouble(w -> w * w).sum()));
+    }
+
+    /**
+     * Dot products with the profile over the postings of its features, the largest contribution
+     * first. Recipes by the user or already in their history are skipped. Once MAX_CANDIDATES
+     * recipes have been admitted, the remaining features are only checked against those
+     * candidates rather than walked, so a long posting costs no more than a short one.
+     * Postings are read newest recipe first, so it is the oldest that miss out.
+     */
+    private Map<Integer, Double> candidatesLocked(Long userId, Map<Integer, Integer> history, Profile profile) {
+        List<Map.Entry<Integer, Double>> contributions = profile.features().stream()
+                .map(feature -> Map.entry(feature.getKey(), feature.getValue() * idf(feature.getKey())))
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                .toList();
+        Map<Integer, Double> dots = new HashMap<>();
+        for (Map.Entry<Integer, Double> feature : contributions) {
+            RoaringBitmap posting = postings.get(feature.getKey());
+            double contribution = feature.getValue();
+            // Keys below this one in the posting have not been walked yet
+            long unwalkedBelow = Long.MAX_VALUE;
+            if (dots.size() < MAX_CANDIDATES) {
+                IntIterator recipeKeys = posting.getReverseIntIterator();
+                unwalkedBelow = Long.MIN_VALUE;
+                while (recipeKeys.hasNext()) {
+                    int recipeKey = recipeKeys.next();
+                    if (dots.size() >= MAX_CANDIDATES) {
+                        unwalkedBelow = recipeKey + 1L;
+                        break;
+                    }
+                    if (dots.containsKey(recipeKey)) {
+                        dots.merge(recipeKey, contribution, Double::sum);
+                    } else if (!history.containsKey(recipeKey) && !userId.equals(recipes.get(recipeKey).authorId())) {
+                        dots.put(recipeKey, contribution);
+                    }
+                }
+            }
+            long below = unwalkedBelow;
+            if (below > Long.MIN_VALUE) {
+                dots.replaceAll((recipeKey, dot) ->
+                        recipeKey < below && posting.contains(recipeKey) ? dot + contribution : dot);
+            }
+        }
+        return dots;
+    }
+
+    // Callers hold the read or write lock
+    private double idf(int feature) {
+        return Math.log(1.0 + (double) publicCount / (1 + postings.get(feature).getCardinality()));
+    }
+
+    private double norm(IndexedRecipe recipe) {
+        double sum = 0;
+        for (int feature : recipe.features()) {
+            double weight = idf(feature);
+            sum += weight * weight;
+        }
+        return Math.sqrt(sum);
+    }
+
+    // Callers hold the write lock
+    private void put(Long recipeId, Long authorId, boolean isPublic, Set<Long> featureKeys) {
+        int recipeKey = toKey(recipeId);
+        if (featureKeys.isEmpty() || (!isPublic && !historyRefs.containsKey(recipeKey))) {
+            return;
+        }
+        int[] features = new int[featureKeys.size()];
+        int i = 0;
+        for (Long featureKey : featureKeys) {
+            features[i++] = featureIds.computeIfAbsent(featureKey, k -> {
+                postings.add(new RoaringBitmap());
+                return postings.size() - 1;
+            });
+        }
+        if (isPublic) {
+            for (int feature : features) {
+                postings.get(feature).add(recipeKey);
+            }
+            publicCount++;
+        }
+        recipes.put(recipeKey, new IndexedRecipe(authorId, isPublic, features));
+    }
+
+    // Callers hold the write lock. A private recipe leaving the last history is dropped.
+    private void setHistoryLocked(Long userId, int recipeKey, int weight) {
+        Map<Integer, Integer> history = historyByUser.computeIfAbsent(userId, id -> new HashMap<>());
+        Integer previous = weight > 0 ? history.put(recipeKey, weight) : history.remove(recipeKey);
+        if (previous == null && weight > 0) {
+            historyRefs.merge(recipeKey, 1, Integer::sum);
+        } else if (previous != null && weight == 0) {
+            if (historyRefs.merge(recipeKey, -1, Integer::sum) == 0) {
+                historyRefs.remove(recipeKey);
+                IndexedRecipe indexed = recipes.get(recipeKey);
+                if (indexed != null && !indexed.isPublic()) {
+                    removeLocked(recipeKey);
+                }
+            }
+        }
+        if (history.isEmpty()) {
+            historyByUser.remove(userId);
+        }
+    }
+
+    private static int weight(boolean cooked, boolean favourite) {
+        return (favourite ? 2 : 0) + (cooked ? 1 : 0);
+    }
+
+    private void removeLocked(int recipeKey) {
+        IndexedRecipe previous = recipes.remove(recipeKey);
+        if (previous == null) {
+            return;
+        }
+        if (previous.isPublic()) {
+            for (int feature : previous.features()) {
+                postings.get(feature).remove(recipeKey);
+            }
+            publicCount--;
+        }
+    }
+
+    private static long tagKey(Long tagId) {
+        return tagId * 2;
+    }
+
+    private static long ingredientKey(Long catalogIngredientId) {
+        return catalogIngredientId * 2 + 1;
+    }
+
+    private static int toKey(Long recipeId) {
+        return Math.toIntExact(recipeId);
+    }
+}
@@ -0,0 +1,289 @@
+package com.recipehub.backendrecipehub.index;
+
+import com.recipehub.backendrecipehub.event.RecipeChangedEvent;
+import com.recipehub.backendrecipehub.model.Ingredient;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.Tag;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.service.IngredientCatalogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * MinHash signatures with locality-sensitive hashing over the ingredient and tag sets of
+ * public recipes, for "similar recipes". Each signature is split into bands and every band
+ * is hashed to a bucket; recipes sharing a bucket become candidates, which are then ranked
+ * by their exact Jaccard similarity. With 20 bands of 3 rows a pair at similarity 0.5 is a
+ * candidate 93% of the time and one at 0.1 about 2%, so a lookup touches a handful of
+ * buckets instead of comparing against every recipe.
+ */
+@Component
+public class SimilarityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarityIndex.class);
+
+    static final int BANDS = 20;
+    static final int ROWS = 3;
+    private static final long[] SEEDS = new SplittableRandom(0x5EED).longs(BANDS * ROWS).toArray();
+
+    private final RecipeRepository recipeRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Set<Integer>> buckets = new HashMap<>();
+    private final Map<Integer, IndexedRecipe> recipes = new HashMap<>();
+
+    public SimilarityIndex(RecipeRepository recipeRepository) {
+        this.recipeRepository = recipeRepository;
+    }
+
+    public record Similar(Long recipeId, double similarity) {}
+
+    // features: sorted, distinct feature hashes for exact Jaccard; bandKeys: one bucket per band
+    private record IndexedRecipe(long[] features, long[] bandKeys) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Long, Set<String>> featuresByRecipe = new HashMap<>();
+        for (Object[] row : recipeRepository.findPublicRecipeIngredients()) {
+            @SuppressWarnings("unchecked")
+            List<Ingredient> ingredients = (List<Ingredient>) row[1];
+            addIngredients(featuresByRecipe.computeIfAbsent((Long) row[0], id -> new HashSet<>()), ingredients);
+        }
+        for (Object[] row : recipeRepository.findPublicTagNames()) {
+            addTag(featuresByRecipe.computeIfAbsent((Long) row[0], id -> new HashSet<>()), (String) row[1]);
+        }
+
+        lock.writeLock().lock();
+        try {
+            buckets.clear();
+            recipes.clear();
+            featuresByRecipe.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Similarity index built with {} recipes in {} buckets", recipes.size(), buckets.size());
+    }
+
+    // After commit, so a rolled-back write never shows up in similar-recipe results
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.LIKED) {
+            return;
+        }
+        RecipeChangedEvent.RecipeState recipe = event.recipe();
+        if (event.isRemoval() || !recipe.isPublic()) {
+            remove(recipe.id());
+        } else {
+            index(recipe.id(), recipe.ingredients(), recipe.tagNames());
+        }
+    }
+
+    public void index(Recipe recipe) {
+        index(recipe.getId(), recipe.getIngredients(),
+                recipe.getTags() == null ? List.of() : recipe.getTags().stream().map(Tag::getName).toList());
+    }
+
+    public void index(Long recipeId, List<Ingredient> ingredients, List<String> tagNames) {
+        Set<String> features = new HashSet<>();
+        addIngredients(features, ingredients);
+        for (String tagName : tagNames) {
+            addTag(features, tagName);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(toKey(recipeId));
+            put(recipeId, features);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(toKey(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return recipes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed recipes sharing at least one LSH bucket with {@code recipeId}, ranked by Jaccard
+     * similarity of their ingredient and tag sets. Empty when the recipe is not indexed.
+     */
+    public List<Similar> similar(Long recipeId, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        int recipeKey = toKey(recipeId);
+        lock.readLock().lock();
+        try {
+            IndexedRecipe target = recipes.get(recipeKey);
+            if (target == null) {
+                return List.of();
+            }
+            Set<Integer> candidates = new HashSet<>();
+            for (long bandKey : target.bandKeys()) {
+                candidates.addAll(buckets.get(bandKey));
+            }
+            candidates.remove(recipeKey);
+
+            Comparator<Similar> ranking = Comparator.comparingDouble(Similar::similarity)
+                    .thenComparing(Comparator.comparing(Similar::recipeId).reversed());
+            PriorityQueue<Similar> best = new PriorityQueue<>(limit + 1, ranking);
+            for (int candidateKey : candidates) {
+                double similarity = jaccard(target.features(), recipes.get(candidateKey).features());
+                best.offer(new Similar((long) candidateKey, similarity));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<Similar> ranked = new ArrayList<>(best);
+            ranked.sort(ranking.reversed());
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void put(Long recipeId, Set<String> featureNames) {
+        if (featureNames.isEmpty()) {
+            return;
+        }
+        int recipeKey = toKey(recipeId);
+        long[] features = featureNames.stream().mapToLong(SimilarityIndex::hash).sorted().distinct().toArray();
+        long[] bandKeys = bandKeys(signature(features));
+        for (long bandKey : bandKeys) {
+            buckets.computeIfAbsent(bandKey, k -> new HashSet<>()).add(recipeKey);
+        }
+        recipes.put(recipeKey, new IndexedRecipe(features, bandKeys));
+    }
+
+    private void removeLocked(int recipeKey) {
+        IndexedRecipe previous = recipes.remove(recipeKey);
+        if (previous == null) {
+            return;
+        }
+        for (long bandKey : previous.bandKeys()) {
+            Set<Integer> bucket = buckets.get(bandKey);
+            if (bucket != null) {
+                bucket.remove(recipeKey);
+                if (bucket.isEmpty()) {
+                    buckets.remove(bandKey);
+                }
+            }
+        }
+    }
+
+    static long[] signature(long[] features) {
+        long[] signature = new long[SEEDS.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (long feature : features) {
+            for (int i = 0; i < SEEDS.length; i++) {
+                signature[i] = Math.min(signature[i], mix(feature ^ SEEDS[i]));
+            }
+        }
+        return signature;
+    }
+
+    // The band number is mixed in so equal rows in different bands do not share a bucket
+    private static long[] bandKeys(long[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key * 31 + signature[band * ROWS + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    static double jaccard(long[] a, long[] b) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (a.length + b.length - shared);
+    }
+
+    private static void addIngredients(Set<String> features, Collection<Ingredient> ingredients) {
+        if (ingredients == null) {
+            return;
+        }
+        for (Ingredient ingredient : ingredients) {
+            String name = IngredientCatalogService.normalize(ingredient.getName());
+            if (!name.isEmpty()) {
+                features.add("i:" + name);
+            }
+        }
+    }
+
+    private static void addTag(Set<String> features, String tagName) {
+        if (tagName != null && !tagName.isBlank()) {
+            features.add("t:" + tagName.trim().toLowerCase());
+        }
+    }
+
+    // 64-bit FNV-1a; String.hashCode has too few bits for MinHash over large catalogs
+    private static long hash(String feature) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < feature.length(); i++) {
+            h ^= feature.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // SplitMix64 finalizer, so each seed acts as an independent hash function
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int toKey(Long recipeId) {
+        return Math.toIntExact(recipeId);
+    }
+}
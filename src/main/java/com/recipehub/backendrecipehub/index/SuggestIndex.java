@@ -0,0 +1,402 @@
+package com.recipehub.backendrecipehub.index;
+
+import com.recipehub.backendrecipehub.event.RecipeChangedEvent;
+import com.recipehub.backendrecipehub.model.Ingredient;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.Tag;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.service.IngredientCatalogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trie over the titles, tag names and ingredient names of public recipes, for
+ * search-as-you-type. Titles are also keyed from each later word, so "masala" finds
+ * "Chicken Tikka Masala". Lookups walk the trie carrying a Levenshtein row, which bounds
+ * typo-tolerant matching to the branches within the allowed number of edits instead of
+ * scanning every term. Each term counts the public recipes using it; a recipe's own terms
+ * are remembered so updates and deletions can take them back out. Every node keeps the
+ * best {@link #MAX_SUGGESTIONS} entries of its subtree, refreshed along the path a write
+ * touches, so a matched prefix costs one list rather than a walk of everything below it.
+ */
+@Component
+public class SuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestIndex.class);
+
+    public enum Kind { TITLE, TAG, INGREDIENT }
+
+    public record Suggestion(String text, Kind kind, int recipeCount, int edits) {}
+
+    // Length of each node's completion list, and so the most one lookup can return
+    public static final int MAX_SUGGESTIONS = 50;
+    // Keys and queries are cut to this many characters; longer prefixes add little and cost a trie level each
+    static final int MAX_KEY_LENGTH = 32;
+
+    // Completion order within a node: more recipes first, then shorter text
+    private static final Comparator<Entry> BY_RANK = Comparator.<Entry>comparingInt(e -> e.recipeCount).reversed()
+            .thenComparingInt(e -> e.text.length())
+            .thenComparing(e -> e.text);
+
+    private final RecipeRepository recipeRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node();
+    private final Map<Long, List<Term>> termsByRecipe = new HashMap<>();
+
+    public SuggestIndex(RecipeRepository recipeRepository) {
+        this.recipeRepository = recipeRepository;
+    }
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>(4);
+        List<Entry> entries; // terms whose key ends here; null when none
+        List<Entry> top = List.of(); // best entries of this subtree, entries included
+    }
+
+    // Equal by kind and case-insensitive text, as findEntry matches them: a title is keyed from
+    // each word, so the same entry text sits at several nodes and one lookup can reach more than one
+    private static final class Entry {
+        final Kind kind;
+        final String text;
+        int recipeCount;
+
+        Entry(Kind kind, String text) {
+            this.kind = kind;
+            this.text = text;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry other && kind == other.kind && text.equalsIgnoreCase(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * kind.hashCode() + text.toLowerCase().hashCode();
+        }
+    }
+
+    // key is the normalized string walked in the trie, text what is shown to the user
+    private record Term(String key, Kind kind, String text) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Long, RecipeTerms> byRecipe = new HashMap<>();
+        for (Object[] row : recipeRepository.findPublicTitles()) {
+            byRecipe.computeIfAbsent((Long) row[0], id -> new RecipeTerms()).title = (String) row[1];
+        }
+        for (Object[] row : recipeRepository.findPublicTagNames()) {
+            byRecipe.computeIfAbsent((Long) row[0], id -> new RecipeTerms()).tags.add((String) row[1]);
+        }
+        for (Object[] row : recipeRepository.findPublicCatalogIngredientNames()) {
+            byRecipe.computeIfAbsent((Long) row[0], id -> new RecipeTerms()).ingredients.add((String) row[1]);
+        }
+
+        lock.writeLock().lock();
+        try {
+            root.children.clear();
+            root.entries = null;
+            termsByRecipe.clear();
+            // Completion lists are filled once, bottom-up, rather than along every path as it is added
+            byRecipe.forEach((id, terms) -> put(id, terms.title, terms.tags, terms.ingredients, false));
+            refreshAll(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Suggest index built with {} recipes", byRecipe.size());
+    }
+
+    private static final class RecipeTerms {
+        String title;
+        final List<String> tags = new ArrayList<>();
+        final List<String> ingredients = new ArrayList<>();
+    }
+
+    // After commit, so a rolled-back write never shows up in suggestions
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.LIKED) {
+            return;
+        }
+        RecipeChangedEvent.RecipeState recipe = event.recipe();
+        if (event.isRemoval() || !recipe.isPublic()) {
+            remove(recipe.id());
+        } else {
+            index(recipe.id(), recipe.title(), recipe.tagNames(), recipe.ingredients());
+        }
+    }
+
+    public void index(Recipe recipe) {
+        index(recipe.getId(), recipe.getTitle(),
+                recipe.getTags() == null ? List.of() : recipe.getTags().stream().map(Tag::getName).toList(),
+                recipe.getIngredients());
+    }
+
+    public void index(Long recipeId, String title, List<String> tagNames, List<Ingredient> ingredients) {
+        List<String> ingredientNames = ingredients == null ? List.of()
+                : ingredients.stream()
+                        .map(Ingredient::getName)
+                        .map(IngredientCatalogService::normalize)
+                        .toList();
+        lock.writeLock().lock();
+        try {
+            removeLocked(recipeId);
+            put(recipeId, title, tagNames, ingredientNames, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Terms starting with {@code prefix}, allowing a few edits for typos: none for prefixes
+     * shorter than 3 characters, one up to 5 and two beyond. Closer matches rank first,
+     * then terms used by more recipes. At most {@link #MAX_SUGGESTIONS} are returned.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String query = key(prefix);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int maxEdits = query.length() < 3 ? 0 : query.length() < 6 ? 1 : 2;
+        int[] firstRow = new int[query.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+
+        Map<Entry, Integer> matches = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Character, Node> child : root.children.entrySet()) {
+                walk(child.getValue(), child.getKey(), query, firstRow, maxEdits, Integer.MAX_VALUE, matches);
+            }
+            return matches.entrySet().stream()
+                    .map(match -> new Suggestion(match.getKey().text, match.getKey().kind,
+                            match.getKey().recipeCount, match.getValue()))
+                    .sorted(Comparator.comparingInt(Suggestion::edits)
+                            .thenComparing(Comparator.comparingInt(Suggestion::recipeCount).reversed())
+                            .thenComparingInt(s -> s.text().length())
+                            .thenComparing(Suggestion::text))
+                    .limit(Math.min(limit, MAX_SUGGESTIONS))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termsByRecipe.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One step of the Levenshtein automaton: previousRow is the distance of the query's prefixes
+    // to the path above this node. The last cell is the distance of the whole query to the path,
+    // i.e. how many edits it takes for this node's subtree to be a prefix match.
+    private void walk(Node node, char c, String query, int[] previousRow, int maxEdits,
+                      int matchedAbove, Map<Entry, Integer> matches) {
+        int[] row = new int[previousRow.length];
+        row[0] = previousRow[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i < row.length; i++) {
+            int substitution = previousRow[i - 1] + (query.charAt(i - 1) == c ? 0 : 1);
+            row[i] = Math.min(substitution, Math.min(previousRow[i] + 1, row[i - 1] + 1));
+            rowMin = Math.min(rowMin, row[i]);
+        }
+
+        int edits = row[row.length - 1];
+        int matched = matchedAbove;
+        if (edits <= maxEdits && edits < matchedAbove) {
+            collect(node, edits, matches);
+            matched = edits;
+            if (edits == 0) {
+                return; // nothing below can match more closely
+            }
+        }
+        if (rowMin > maxEdits) {
+            return;
+        }
+        for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+            walk(child.getValue(), child.getKey(), query, row, maxEdits, matched, matches);
+        }
+    }
+
+    private static void collect(Node node, int edits, Map<Entry, Integer> matches) {
+        for (Entry entry : node.top) {
+            matches.merge(entry, edits, Math::min);
+        }
+    }
+
+    // Recomputes node.top from its own entries and its children's lists
+    private static void refreshTop(Node node) {
+        if (node.entries == null && node.children.size() == 1) {
+            node.top = node.children.values().iterator().next().top; // a chain shares its child's list
+            return;
+        }
+        List<Entry> candidates = new ArrayList<>();
+        if (node.entries != null) {
+            candidates.addAll(node.entries);
+        }
+        for (Node child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        candidates.sort(BY_RANK);
+        Set<Entry> top = new LinkedHashSet<>();
+        for (Entry entry : candidates) {
+            if (top.size() == MAX_SUGGESTIONS) {
+                break;
+            }
+            top.add(entry);
+        }
+        node.top = List.copyOf(top);
+    }
+
+    private static void refreshAll(Node node) {
+        for (Node child : node.children.values()) {
+            refreshAll(child);
+        }
+        refreshTop(node);
+    }
+
+    // Callers hold the write lock
+    private void put(Long recipeId, String title, List<String> tags, List<String> ingredients, boolean refresh) {
+        Set<Term> terms = new LinkedHashSet<>();
+        String titleKey = normalize(title);
+        if (!titleKey.isEmpty()) {
+            String text = title.trim();
+            terms.add(new Term(truncate(titleKey), Kind.TITLE, text));
+            for (int i = titleKey.indexOf(' '); i >= 0; i = titleKey.indexOf(' ', i + 1)) {
+                terms.add(new Term(truncate(titleKey.substring(i + 1)), Kind.TITLE, text));
+            }
+        }
+        for (String tag : tags) {
+            String key = key(tag);
+            if (!key.isEmpty()) {
+                terms.add(new Term(key, Kind.TAG, tag.trim()));
+            }
+        }
+        for (String ingredient : ingredients) {
+            String text = normalize(ingredient);
+            if (!text.isEmpty()) {
+                terms.add(new Term(truncate(text), Kind.INGREDIENT, text));
+            }
+        }
+        if (terms.isEmpty()) {
+            return;
+        }
+        for (Term term : terms) {
+            Node[] path = new Node[term.key().length() + 1];
+            Node node = root;
+            path[0] = node;
+            for (int i = 0; i < term.key().length(); i++) {
+                node = node.children.computeIfAbsent(term.key().charAt(i), k -> new Node());
+                path[i + 1] = node;
+            }
+            if (node.entries == null) {
+                node.entries = new ArrayList<>(1);
+            }
+            Entry entry = findEntry(node, term);
+            if (entry == null) {
+                entry = new Entry(term.kind(), term.text());
+                node.entries.add(entry);
+            }
+            entry.recipeCount++;
+            if (refresh) {
+                for (int i = path.length - 1; i >= 0; i--) {
+                    refreshTop(path[i]);
+                }
+            }
+        }
+        termsByRecipe.put(recipeId, List.copyOf(terms));
+    }
+
+    private void removeLocked(Long recipeId) {
+        List<Term> previous = termsByRecipe.remove(recipeId);
+        if (previous == null) {
+            return;
+        }
+        for (Term term : previous) {
+            release(root, term, 0);
+        }
+    }
+
+    // Decrements the term's count, prunes nodes left without entries or children and refreshes
+    // the completion lists on the way back up; returns true when node itself became empty
+    private static boolean release(Node node, Term term, int depth) {
+        if (depth == term.key().length()) {
+            Entry entry = node.entries == null ? null : findEntry(node, term);
+            if (entry != null && --entry.recipeCount == 0) {
+                node.entries.remove(entry);
+                if (node.entries.isEmpty()) {
+                    node.entries = null;
+                }
+            }
+        } else {
+            char c = term.key().charAt(depth);
+            Node child = node.children.get(c);
+            if (child != null && release(child, term, depth + 1)) {
+                node.children.remove(c);
+            }
+        }
+        if (node.entries == null && node.children.isEmpty()) {
+            node.top = List.of();
+            return true;
+        }
+        refreshTop(node);
+        return false;
+    }
+
+    // Titles share a key across case variants, so entries are matched case-insensitively
+    private static Entry findEntry(Node node, Term term) {
+        for (Entry entry : node.entries) {
+            if (entry.kind == term.kind() && entry.text.equalsIgnoreCase(term.text())) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    // The trie key for text: normalized and cut to MAX_KEY_LENGTH
+    static String key(String text) {
+        return truncate(normalize(text));
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().toLowerCase().replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,300 @@
+package com.recipehub.backendrecipehub.index;
+
+import com.recipehub.backendrecipehub.dto.TrendingRecipeDTO;
+import com.recipehub.backendrecipehub.event.RecipeChangedEvent;
+import com.recipehub.backendrecipehub.mapper.RecipeMapper;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recent like and fork activity per recipe, kept as hourly counters for the last week.
+ * Likes and forks are recorded from RecipeChangedEvent as they happen; rankings for each
+ * window are recomputed on a schedule, so reading the trending list is a lookup of the
+ * last ranking rather than a GROUP BY over recipes. Counter deltas are written to
+ * recipe_activity_buckets periodically and read back on startup.
+ */
+@Component
+public class TrendingIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingIndex.class);
+
+    public enum Window {
+        DAY(24),
+        WEEK(24 * 7);
+
+        private final int hours;
+
+        Window(int hours) {
+            this.hours = hours;
+        }
+    }
+
+    // A fork takes more effort than a like, so it counts for more
+    static final int FORK_WEIGHT = 3;
+    public static final int MAX_RANKED = 100;
+    private static final int RETAINED_HOURS = Window.WEEK.hours;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    private final RecipeRepository recipeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Clock clock = Clock.systemUTC();
+
+    private final Map<Long, Activity> activity = new HashMap<>();
+    // Deltas not yet written to recipe_activity_buckets, keyed by (recipe, hour)
+    private Map<BucketKey, int[]> pending = new HashMap<>();
+    private volatile Map<Window, List<TrendingRecipeDTO>> rankings = emptyRankings();
+
+    private record BucketKey(long recipeId, long hour) {}
+
+    // Ring of hourly counters; slot i currently holds hour hours[i]
+    private static final class Activity {
+        final long[] hours = new long[RETAINED_HOURS];
+        final int[] likes = new int[RETAINED_HOURS];
+        final int[] forks = new int[RETAINED_HOURS];
+
+        void add(long hour, int likeDelta, int forkDelta) {
+            int slot = (int) (hour % RETAINED_HOURS);
+            if (hours[slot] != hour) {
+                hours[slot] = hour;
+                likes[slot] = 0;
+                forks[slot] = 0;
+            }
+            likes[slot] += likeDelta;
+            forks[slot] += forkDelta;
+        }
+    }
+
+    private record Score(long recipeId, long likes, long forks, long score) {}
+
+    @Autowired
+    public TrendingIndex(RecipeRepository recipeRepository, JdbcTemplate jdbcTemplate) {
+        this.recipeRepository = recipeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        // Recipes forked before fork_count existed start at 0; correct them once
+        int corrected = jdbcTemplate.update("UPDATE recipes SET fork_count = " +
+                "(SELECT COUNT(*) FROM recipes f WHERE f.original_recipe_id = recipes.id) " +
+                "WHERE fork_count = 0 AND EXISTS (SELECT 1 FROM recipes f WHERE f.original_recipe_id = recipes.id)");
+        if (corrected > 0) {
+            log.info("Backfilled fork counts for {} recipes", corrected);
+        }
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT recipe_id, bucket_hour, likes, forks FROM recipe_activity_buckets WHERE bucket_hour > ?",
+                currentHour() - RETAINED_HOURS);
+        lock.writeLock().lock();
+        try {
+            activity.clear();
+            for (Map<String, Object> row : rows) {
+                activity.computeIfAbsent(((Number) row.get("recipe_id")).longValue(), id -> new Activity())
+                        .add(((Number) row.get("bucket_hour")).longValue(),
+                                ((Number) row.get("likes")).intValue(),
+                                ((Number) row.get("forks")).intValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        refreshRankings();
+        log.info("Trending index loaded {} activity buckets", rows.size());
+    }
+
+    // After commit, so likes and forks of a transaction that rolls back are never counted.
+    // A recipe created with an original is a fork of it too.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        RecipeChangedEvent.RecipeState recipe = event.recipe();
+        RecipeChangedEvent.ChangeType type = event.type();
+        if ((type == RecipeChangedEvent.ChangeType.FORKED || type == RecipeChangedEvent.ChangeType.CREATED)
+                && recipe.originalRecipeId() != null) {
+            record(recipe.originalRecipeId(), 0, 1, currentHour());
+        } else if (event.type() == RecipeChangedEvent.ChangeType.LIKED && event.likeDelta() != 0) {
+            record(recipe.id(), event.likeDelta(), 0, currentHour());
+        }
+    }
+
+    void record(long recipeId, int likeDelta, int forkDelta, long hour) {
+        lock.writeLock().lock();
+        try {
+            activity.computeIfAbsent(recipeId, id -> new Activity()).add(hour, likeDelta, forkDelta);
+            int[] delta = pending.computeIfAbsent(new BucketKey(recipeId, hour), key -> new int[2]);
+            delta[0] += likeDelta;
+            delta[1] += forkDelta;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** The current ranking for a window, best first; at most {@link #MAX_RANKED} entries. */
+    public List<TrendingRecipeDTO> top(Window window, int limit) {
+        List<TrendingRecipeDTO> ranked = rankings.get(window);
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    /**
+     * Recomputes both rankings from the counters. Only the best candidates are loaded from
+     * the database, in one query, to drop recipes that have since gone private or been deleted.
+     */
+    @Scheduled(fixedDelayString = "${recipehub.trending.refresh-interval-ms:60000}",
+            initialDelayString = "${recipehub.trending.refresh-interval-ms:60000}")
+    @Transactional(readOnly = true)
+    public void refreshRankings() {
+        long now = currentHour();
+        Map<Window, List<Score>> candidates = new EnumMap<>(Window.class);
+        lock.readLock().lock();
+        try {
+            for (Window window : Window.values()) {
+                candidates.put(window, score(window, now));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ids = candidates.values().stream()
+                .flatMap(List::stream)
+                .map(Score::recipeId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Recipe> visible = ids.isEmpty() ? Map.of() : recipeRepository.findPublicByIdIn(ids).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+
+        Map<Window, List<TrendingRecipeDTO>> refreshed = new EnumMap<>(Window.class);
+        for (Window window : Window.values()) {
+            refreshed.put(window, candidates.get(window).stream()
+                    .filter(score -> visible.containsKey(score.recipeId()))
+                    .limit(MAX_RANKED)
+                    .map(score -> new TrendingRecipeDTO(RecipeMapper.toSummaryDTO(visible.get(score.recipeId())),
+                            score.likes(), score.forks(), score.score()))
+                    .toList());
+        }
+        rankings = refreshed;
+    }
+
+    // Callers hold the read lock. Keeps twice the ranked size so hidden recipes can be skipped.
+    private List<Score> score(Window window, long now) {
+        long oldest = now - window.hours + 1;
+        List<Score> scores = new ArrayList<>();
+        for (Map.Entry<Long, Activity> entry : activity.entrySet()) {
+            Activity recipeActivity = entry.getValue();
+            long likes = 0;
+            long forks = 0;
+            for (int slot = 0; slot < RETAINED_HOURS; slot++) {
+                long hour = recipeActivity.hours[slot];
+                if (hour >= oldest && hour <= now) {
+                    likes += recipeActivity.likes[slot];
+                    forks += recipeActivity.forks[slot];
+                }
+            }
+            long score = likes + FORK_WEIGHT * forks;
+            if (score > 0) {
+                scores.add(new Score(entry.getKey(), likes, forks, score));
+            }
+        }
+        scores.sort(Comparator.comparingLong(Score::score).reversed().thenComparingLong(Score::recipeId));
+        return scores.size() > 2 * MAX_RANKED ? new ArrayList<>(scores.subList(0, 2 * MAX_RANKED)) : scores;
+    }
+
+    /** Writes pending counter deltas and drops buckets that have left the longest window. */
+    @Scheduled(fixedDelayString = "${recipehub.trending.flush-interval-ms:30000}")
+    @Transactional
+    public int flush() {
+        Map<BucketKey, int[]> batch;
+        lock.writeLock().lock();
+        try {
+            batch = pending;
+            pending = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long oldestRetained = currentHour() - RETAINED_HOURS;
+        try {
+            if (!batch.isEmpty()) {
+                List<BucketKey> keys = new ArrayList<>(batch.keySet());
+                List<Object[]> updates = keys.stream()
+                        .map(key -> new Object[]{batch.get(key)[0], batch.get(key)[1], key.recipeId(), key.hour()})
+                        .collect(Collectors.toList());
+                int[] updated = jdbcTemplate.batchUpdate("UPDATE recipe_activity_buckets " +
+                        "SET likes = likes + ?, forks = forks + ? WHERE recipe_id = ? AND bucket_hour = ?", updates);
+
+                List<Object[]> inserts = new ArrayList<>();
+                for (int i = 0; i < keys.size(); i++) {
+                    if (updated[i] == 0) {
+                        inserts.add(new Object[]{keys.get(i).recipeId(), keys.get(i).hour(), updates.get(i)[0], updates.get(i)[1]});
+                    }
+                }
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate("INSERT INTO recipe_activity_buckets (recipe_id, bucket_hour, likes, forks) " +
+                            "VALUES (?, ?, ?, ?)", inserts);
+                }
+            }
+            jdbcTemplate.update("DELETE FROM recipe_activity_buckets WHERE bucket_hour <= ?", oldestRetained);
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            lock.writeLock().lock();
+            try {
+                batch.forEach((key, delta) -> {
+                    int[] merged = pending.computeIfAbsent(key, k -> new int[2]);
+                    merged[0] += delta[0];
+                    merged[1] += delta[1];
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        return batch.size();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not persist trending counters on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private long currentHour() {
+        return clock.millis() / MILLIS_PER_HOUR;
+    }
+
+    private static Map<Window, List<TrendingRecipeDTO>> emptyRankings() {
+        Map<Window, List<TrendingRecipeDTO>> empty = new EnumMap<>(Window.class);
+        for (Window window : Window.values()) {
+            empty.put(window, List.of());
+        }
+        return empty;
+    }
+}
@@ -4,11 +4,12 @@ import com.recipehub.backendrecipehub.dto.RecipeBookDTO;
 import com.recipehub.backendrecipehub.dto.RecipeBookCreateRequest;
 import com.recipehub.backendrecipehub.dto.RecipeBookUpdateRequest;
 import com.recipehub.backendrecipehub.model.RecipeBook;
-import com.recipehub.backendrecipehub.model.Recipe;
 import com.recipehub.backendrecipehub.model.User;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -24,26 +25,21 @@ public class RecipeBookMapper {
                 .build();
     }
 
-    public static RecipeBookDTO toDTO(RecipeBook recipeBook) {
+    public static RecipeBookDTO toDTO(RecipeBook recipeBook, List<Long> recipeIds) {
         RecipeBookDTO dto = new RecipeBookDTO();
         dto.setId(recipeBook.getId());
         dto.setName(recipeBook.getName());
         dto.setDescription(recipeBook.getDescription());
         dto.setIsPublic(recipeBook.isPublic());
         dto.setUserId(recipeBook.getUser().getId());
-        
-        // Extract recipe IDs from the recipes set
-        List<Long> recipeIds = recipeBook.getRecipes().stream()
-                .map(Recipe::getId)
-                .collect(Collectors.toList());
         dto.setRecipeIds(recipeIds);
-        
         return dto;
     }
 
-    public static List<RecipeBookDTO> toDTOList(List<RecipeBook> recipeBooks) {
+    // recipeIdsByBook comes from RecipeBookRepository.findRecipeIdsByBookIds; books without entries are empty
+    public static List<RecipeBookDTO> toDTOList(List<RecipeBook> recipeBooks, Map<Long, List<Long>> recipeIdsByBook) {
         return recipeBooks.stream()
-                .map(RecipeBookMapper::toDTO)
+                .map(book -> toDTO(book, recipeIdsByBook.getOrDefault(book.getId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
 
@@ -3,6 +3,7 @@ package com.recipehub.backendrecipehub.mapper;
 import com.recipehub.backendrecipehub.dto.*;
 import com.recipehub.backendrecipehub.model.*;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 public class RecipeMapper {
@@ -26,23 +27,39 @@ public class RecipeMapper {
     }
 
     public static RecipeResponseDTO toDTO(Recipe recipe) {
-        RecipeResponseDTO dto = new RecipeResponseDTO();
-        dto.setId(recipe.getId());
-        dto.setTitle(recipe.getTitle());
-        dto.setDescription(recipe.getDescription());
+        return toDTO(recipe, recipe.getIngredients(), recipe.getInstructions());
+    }
+
+    // Full DTO with content read apart from the entity; without it the entity's lazy content is loaded
+    public static RecipeResponseDTO toDTO(Recipe recipe, RecipeContent content) {
+        return content != null ? toDTO(recipe, content.ingredients(), content.instructions()) : toDTO(recipe);
+    }
+
+    private static RecipeResponseDTO toDTO(Recipe recipe, List<Ingredient> ingredients, List<String> instructions) {
+        RecipeResponseDTO dto = toSummaryDTO(recipe);
         dto.setIngredients(
-            recipe.getIngredients() != null
-                ? recipe.getIngredients().stream().map(RecipeMapper::mapIngredientDto).collect(Collectors.toList())
+            ingredients != null
+                ? ingredients.stream().map(RecipeMapper::mapIngredientDto).collect(Collectors.toList())
                 : new ArrayList<>()
         );
         dto.setInstructions(
-            recipe.getInstructions() != null ? recipe.getInstructions() : new ArrayList<>()
+            instructions != null ? instructions : new ArrayList<>()
         );
+        return dto;
+    }
+
+    // Everything except ingredients/instructions, so the lazy content columns are never loaded
+    public static RecipeResponseDTO toSummaryDTO(Recipe recipe) {
+        RecipeResponseDTO dto = new RecipeResponseDTO();
+        dto.setId(recipe.getId());
+        dto.setTitle(recipe.getTitle());
+        dto.setDescription(recipe.getDescription());
         dto.setImageUrl(recipe.getImageUrl());
         dto.setIsPublic(recipe.isPublic());
         dto.setCooked(recipe.isCooked());
         dto.setFavourite(recipe.isFavourite());
         dto.setLikeCount(recipe.getLikeCount());
+        dto.setForkCount(recipe.getForkCount());
         if (recipe.getAuthor() != null) {
             dto.setAuthorId(recipe.getAuthor().getId());
             dto.setAuthorUsername(
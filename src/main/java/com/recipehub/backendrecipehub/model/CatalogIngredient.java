@@ -0,0 +1,26 @@
+package com.recipehub.backendrecipehub.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Dictionary entry for an ingredient name; names are stored normalized (trimmed, lower-case)
+// so the unique index doubles as the lookup index for exact ingredient matches.
+@Entity
+@Table(name = "ingredients")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogIngredient {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    public CatalogIngredient(String name) {
+        this.name = name;
+    }
+}
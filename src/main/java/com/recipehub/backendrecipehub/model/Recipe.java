@@ -5,27 +5,45 @@ import com.recipehub.backendrecipehub.converter.IngredientListConverter;
 import com.recipehub.backendrecipehub.model.Ingredient;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.LazyGroup;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 @Entity
-@Table(name = "recipes")
+// The foreign key indexes cover every row, for the purge job and the key checks on delete, and
+// serve the author and fork finders. On PostgreSQL the public finders get partial indexes
+// restricted to live public rows instead, see db/postgresql/partial-indexes.sql.
+@Table(name = "recipes", indexes = {
+        @Index(name = "idx_recipes_author", columnList = "author_id"),
+        @Index(name = "idx_recipes_lineage_path", columnList = "lineage_path"),
+        @Index(name = "idx_recipes_original_recipe", columnList = "original_recipe_id"),
+        @Index(name = "idx_recipes_fork_count", columnList = "fork_count")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@ToString(exclude = {"author", "originalRecipe"})
+@ToString(exclude = {"author", "originalRecipe", "catalogIngredients", "ingredients", "instructions"})
 @SQLDelete(sql = "UPDATE recipes SET deleted = true, deleted_at = CURRENT_TIMESTAMP WHERE id = ?")
 @SQLRestriction("deleted = false")
 public class Recipe {
 
+    public static final int LINEAGE_PATH_LENGTH = 1024;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -40,17 +58,32 @@ public class Recipe {
     @JsonIgnore
     private Recipe originalRecipe;
 
+    // Materialized fork path: the ids of every ancestor from the root down, e.g. "/3/17/" for a
+    // fork of 17 which itself forked 3; "/" for an original recipe. Descendants of X share the
+    // prefix lineagePath(X) + X.id + "/", so the whole subtree is one indexed prefix scan.
+    // Bounded so the path stays indexable; RecipeLineageService.childPath refuses deeper forks.
+    @Builder.Default
+    @Column(name = "lineage_path", length = LINEAGE_PATH_LENGTH)
+    @JsonIgnore
+    private String lineagePath = "/";
+
     private String title;
 
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    // Content columns are fetched together on first access, so list queries that only map
+    // titles and metadata never read or convert them (requires bytecode enhancement, see pom.xml)
     @Convert(converter = com.recipehub.backendrecipehub.converter.IngredientListConverter.class)
     @Column(columnDefinition = "TEXT")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("content")
     private List<Ingredient> ingredients;
 
     @Convert(converter = com.recipehub.backendrecipehub.converter.InstructionListConverter.class)
     @Column(columnDefinition = "TEXT")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("content")
     private List<String> instructions;
 
     @Column(columnDefinition = "TEXT")
@@ -62,13 +95,42 @@ public class Recipe {
 
     private int likeCount;
 
+    // Times this recipe has been forked; incremented in SQL by RecipeService.forkRecipe. Not
+    // updatable, so saving a loaded recipe never writes back a count a concurrent fork has raised.
+    @Column(name = "fork_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int forkCount;
+
+    // Loaded for a whole page of recipes at once when list views map tag names
     @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(name = "recipe_tag",
             joinColumns = @JoinColumn(name = "recipe_id"),
-            inverseJoinColumns = @JoinColumn(name = "tag_id")
+            inverseJoinColumns = @JoinColumn(name = "tag_id"),
+            indexes = @Index(name = "idx_recipe_tag_tag", columnList = "tag_id")
     )
     private List<Tag> tags;
 
+    // Denormalized copy of the tag ids, sorted and delimited, e.g. "|1001|1003|"; "|" when untagged.
+    // Tag and category filters match it with LIKE '%|id|%' on the recipes row alone, without joining
+    // recipe_tag (PostgreSQL indexes it with trigrams, see db/postgresql/trigram-indexes.sql).
+    // Kept in sync by setTags; null only on rows written before the column existed.
+    @Column(name = "tag_summary", length = 1024)
+    @JsonIgnore
+    private String tagSummary;
+
+    // Normalized copy of the ingredient names in `ingredients`, kept in sync by the service layer
+    // so ingredient filters can run as indexed joins instead of LIKE scans over the JSON text.
+    @ManyToMany
+    @JoinTable(name = "recipe_ingredient",
+            joinColumns = @JoinColumn(name = "recipe_id"),
+            inverseJoinColumns = @JoinColumn(name = "ingredient_id"),
+            indexes = @Index(name = "idx_recipe_ingredient_ingredient", columnList = "ingredient_id")
+    )
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Set<CatalogIngredient> catalogIngredients;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -80,4 +142,33 @@ public class Recipe {
 
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
+
+    public void setTags(List<Tag> tags) {
+        this.tags = tags;
+        this.tagSummary = summarize(tags);
+    }
+
+    @PrePersist
+    void initTagSummary() {
+        if (tagSummary == null) {
+            tagSummary = summarize(tags);
+        }
+    }
+
+    public static String summarize(Collection<Tag> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return "|";
+        }
+        return tags.stream()
+                .map(Tag::getId)
+                .sorted()
+                .distinct()
+                .map(String::valueOf)
+                .collect(Collectors.joining("|", "|", "|"));
+    }
+
+    // The LIKE pattern matching recipes whose summary contains tagId
+    public static String tagSummaryPattern(Long tagId) {
+        return "%|" + tagId + "|%";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.recipehub.backendrecipehub.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+// Likes and forks a recipe received during one hour, persisted from the in-memory counters in
+// TrendingIndex so trending survives restarts. bucketHour is hours since the epoch (UTC).
+// Mapped so schema generation creates the table; rows are written over JDBC.
+@Entity
+@Table(name = "recipe_activity_buckets",
+        indexes = @Index(name = "idx_recipe_activity_bucket_hour", columnList = "bucket_hour"))
+@IdClass(RecipeActivityBucket.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class RecipeActivityBucket {
+
+    @Id
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    @Id
+    @Column(name = "bucket_hour")
+    private Long bucketHour;
+
+    @Column(nullable = false)
+    private int likes;
+
+    @Column(nullable = false)
+    private int forks;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long recipeId;
+        private Long bucketHour;
+    }
+}
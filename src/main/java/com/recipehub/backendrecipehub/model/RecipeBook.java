@@ -4,19 +4,17 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
 
 @Entity
-@Table(name = "recipe_books")
+@Table(name = "recipe_books",
+        indexes = @Index(name = "idx_recipe_books_user_public", columnList = "user_id, is_public"))
 @Setter
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@ToString(exclude = {"recipes", "user"})
+@ToString(exclude = {"user"})
 public class RecipeBook {
 
     @Id
@@ -36,17 +34,6 @@ public class RecipeBook {
     @JsonIgnore
     private User user;
 
-    @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(
-            name = "recipe_book_recipes",
-            joinColumns = @JoinColumn(name = "recipe_book_id"),
-            inverseJoinColumns = @JoinColumn(name = "recipe_id")
-    )
-    @SQLRestriction("deleted = false") 
-    @JsonIgnore
-    @Builder.Default
-    private Set<Recipe> recipes = new HashSet<>();
-
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
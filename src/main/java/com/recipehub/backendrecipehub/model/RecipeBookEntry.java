@@ -0,0 +1,75 @@
+package com.recipehub.backendrecipehub.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+
+// One row of recipe_book_recipes, the only mapping of book membership, so membership and order change
+// a row at a time. Positions are sparse (see RecipeBookService); rows from before positions existed
+// have none and sort after positioned ones.
+@Entity
+@Table(name = "recipe_book_recipes",
+        indexes = @Index(name = "idx_recipe_book_recipes_recipe", columnList = "recipe_id"))
+@IdClass(RecipeBookEntry.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class RecipeBookEntry implements Persistable<RecipeBookEntry.Key> {
+
+    @Id
+    @Column(name = "recipe_book_id")
+    private Long recipeBookId;
+
+    @Id
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    @Column(name = "position")
+    private Long position;
+
+    // Read-only, never loaded: they keep the foreign keys on both id columns
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recipe_book_id", insertable = false, updatable = false)
+    private RecipeBook recipeBook;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recipe_id", insertable = false, updatable = false)
+    private Recipe recipe;
+
+    // Assigned ids, so tell Spring Data when to persist rather than merge (saves a SELECT per row)
+    @Transient
+    private boolean newEntry;
+
+    public RecipeBookEntry(Long recipeBookId, Long recipeId, Long position) {
+        this.recipeBookId = recipeBookId;
+        this.recipeId = recipeId;
+        this.position = position;
+        this.newEntry = true;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(recipeBookId, recipeId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntry;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.newEntry = false;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long recipeBookId;
+        private Long recipeId;
+    }
+}
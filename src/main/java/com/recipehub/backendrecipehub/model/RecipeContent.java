@@ -0,0 +1,7 @@
+package com.recipehub.backendrecipehub.model;
+
+import java.util.List;
+
+// A recipe's ingredients and instructions read apart from the entity, e.g. in bulk for a list
+public record RecipeContent(List<Ingredient> ingredients, List<String> instructions) {
+}
@@ -0,0 +1,32 @@
+package com.recipehub.backendrecipehub.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Shared ingredient/instruction payload, keyed by the SHA-256 of its encoded content.
+ * Recipe rows reference a blob by storing "sha256:" + hash in place of the inline value.
+ * Mapped so schema generation creates the table; rows are read and written by
+ * {@link com.recipehub.backendrecipehub.converter.ContentBlobStore} over JDBC.
+ */
+@Entity
+@Table(name = "recipe_content_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RecipeContentBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String content;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
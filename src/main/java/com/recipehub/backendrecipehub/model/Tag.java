@@ -8,7 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tags")
+@Table(name = "tags", indexes = @Index(name = "idx_tags_category", columnList = "category"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -22,6 +22,11 @@ public class Tag {
     @Column(nullable = false, unique = true)
     private String name;
 
+    // Null for free-form tags that are not offered as a category filter
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private TagCategory category;
+
     @ManyToMany(mappedBy = "tags")
     private List<Recipe> recipes = new ArrayList<>();
 }
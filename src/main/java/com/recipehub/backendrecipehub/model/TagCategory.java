@@ -0,0 +1,18 @@
+package com.recipehub.backendrecipehub.model;
+
+/**
+ * The browsing category a tag belongs to. Each value matches one of the category filters
+ * on {@code GET /api/recipes/search}, e.g. {@code cuisine=Italian} only matches a tag in
+ * {@link #CUISINE} (or a tag with no category yet).
+ */
+public enum TagCategory {
+    CUISINE,
+    DIFFICULTY,
+    MEAL_TYPE,
+    DIETARY,
+    COOKING_METHOD,
+    OCCASION,
+    SEASON,
+    HEALTH,
+    SPECIAL_FEATURE
+}
@@ -0,0 +1,77 @@
+package com.recipehub.backendrecipehub.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// A user's own cooked/favourite state for one recipe, whoever wrote it. The primary key leads
+// with user_id, so a user's lists are a range read on it; the recipe_id index serves cleanup.
+// Recipe.cooked/favourite remain the author's flags and are mirrored into the author's row.
+// Rows with neither flag set are deleted rather than kept.
+@Entity
+@Table(name = "user_recipe_interactions",
+        indexes = @Index(name = "idx_user_recipe_interactions_recipe", columnList = "recipe_id"))
+@IdClass(UserRecipeInteraction.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserRecipeInteraction implements Persistable<UserRecipeInteraction.Key> {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    @Column(nullable = false)
+    private boolean cooked;
+
+    @Column(nullable = false)
+    private boolean favourite;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Assigned ids, so tell Spring Data when to persist rather than merge (saves a SELECT per row)
+    @Transient
+    private boolean newEntry;
+
+    public UserRecipeInteraction(Long userId, Long recipeId) {
+        this.userId = userId;
+        this.recipeId = recipeId;
+        this.newEntry = true;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(userId, recipeId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntry;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.newEntry = false;
+    }
+
+    public boolean isEmpty() {
+        return !cooked && !favourite;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long recipeId;
+    }
+}
@@ -0,0 +1,13 @@
+package com.recipehub.backendrecipehub.repository;
+
+import com.recipehub.backendrecipehub.model.CatalogIngredient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CatalogIngredientRepository extends JpaRepository<CatalogIngredient, Long> {
+    List<CatalogIngredient> findByNameIn(Collection<String> names);
+}
@@ -0,0 +1,58 @@
+package com.recipehub.backendrecipehub.repository;
+
+import com.recipehub.backendrecipehub.model.RecipeBookEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecipeBookEntryRepository extends JpaRepository<RecipeBookEntry, RecipeBookEntry.Key> {
+
+    Optional<RecipeBookEntry> findByRecipeBookIdAndRecipeId(Long recipeBookId, Long recipeId);
+
+    // Display order: positioned rows first, then legacy rows without a position by recipe id
+    @Query("SELECT e FROM RecipeBookEntry e WHERE e.recipeBookId = :bookId ORDER BY e.position NULLS LAST, e.recipeId")
+    List<RecipeBookEntry> findOrdered(@Param("bookId") Long bookId);
+
+    @Query("SELECT e.recipeId FROM RecipeBookEntry e WHERE e.recipeBookId = :bookId AND e.recipeId IN :recipeIds")
+    List<Long> findMemberIds(@Param("bookId") Long bookId, @Param("recipeIds") Collection<Long> recipeIds);
+
+    @Query("SELECT MAX(e.position) FROM RecipeBookEntry e WHERE e.recipeBookId = :bookId")
+    Long findMaxPosition(@Param("bookId") Long bookId);
+
+    boolean existsByRecipeBookIdAndPositionIsNull(Long recipeBookId);
+
+    // Nearest neighbour above a position, ignoring the row being moved
+    Optional<RecipeBookEntry> findFirstByRecipeBookIdAndPositionGreaterThanAndRecipeIdNotOrderByPositionAsc(
+            Long recipeBookId, Long position, Long recipeId);
+
+    Optional<RecipeBookEntry> findFirstByRecipeBookIdAndRecipeIdNotOrderByPositionAsc(Long recipeBookId, Long recipeId);
+
+    // One page of a book's visible recipes in display order with authors fetched. Rows without a position
+    // sort last (Long.MAX_VALUE), and the keyset (position, recipe id) continues after the previous page.
+    @Query("SELECT r, COALESCE(e.position, 9223372036854775807) FROM RecipeBookEntry e " +
+            "JOIN Recipe r ON r.id = e.recipeId JOIN FETCH r.author " +
+            "WHERE e.recipeBookId = :bookId AND r.isPublic = true AND r.deleted = false " +
+            "AND (COALESCE(e.position, 9223372036854775807) > :afterPosition " +
+            "OR (COALESCE(e.position, 9223372036854775807) = :afterPosition AND r.id > :afterRecipeId)) " +
+            "ORDER BY COALESCE(e.position, 9223372036854775807), r.id")
+    List<Object[]> findPublicRecipePage(@Param("bookId") Long bookId,
+                                        @Param("afterPosition") Long afterPosition,
+                                        @Param("afterRecipeId") Long afterRecipeId,
+                                        Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RecipeBookEntry e WHERE e.recipeBookId = :bookId AND e.recipeId IN :recipeIds")
+    int deleteMembers(@Param("bookId") Long bookId, @Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying
+    @Query("DELETE FROM RecipeBookEntry e WHERE e.recipeBookId = :bookId")
+    int deleteByBook(@Param("bookId") Long bookId);
+}
@@ -2,10 +2,16 @@ package com.recipehub.backendrecipehub.repository;
 
 import com.recipehub.backendrecipehub.model.RecipeBook;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public interface RecipeBookRepository extends JpaRepository<RecipeBook, Long> {
@@ -16,4 +22,22 @@ public interface RecipeBookRepository extends JpaRepository<RecipeBook, Long> {
     // Find public recipe books by user ID
     List<RecipeBook> findByUserIdAndIsPublicTrue(Long userId);
     Optional<RecipeBook> findByIdAndIsPublicTrue(Long id);
+
+    // (recipe_book_id, recipe_id) pairs for a batch of books in display order, skipping soft-deleted recipes
+    @Query("SELECT e.recipeBookId, r.id FROM RecipeBookEntry e JOIN Recipe r ON r.id = e.recipeId " +
+            "WHERE e.recipeBookId IN :bookIds AND r.deleted = false " +
+            "ORDER BY e.recipeBookId, e.position NULLS LAST, r.id")
+    List<Object[]> findRecipeIdPairs(@Param("bookIds") Collection<Long> bookIds);
+
+    // Recipe ids per book in one query, without initializing any book's recipes collection
+    default Map<Long, List<Long>> findRecipeIdsByBookIds(Collection<Long> bookIds) {
+        Map<Long, List<Long>> recipeIdsByBook = new HashMap<>();
+        if (bookIds.isEmpty()) {
+            return recipeIdsByBook;
+        }
+        for (Object[] pair : findRecipeIdPairs(bookIds)) {
+            recipeIdsByBook.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((Long) pair[1]);
+        }
+        return recipeIdsByBook;
+    }
 }
@@ -0,0 +1,19 @@
+package com.recipehub.backendrecipehub.repository;
+
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.RecipeContent;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface RecipeContentRepository {
+
+    // Id and decoded ingredients of every public recipe, for rebuilding in-memory indexes without
+    // one lazy content load, or one content-blob lookup, per recipe
+    List<Object[]> findPublicRecipeIngredients();
+
+    // Content of those recipes whose lazy content group is not loaded yet, keyed by id and read in
+    // one query per few hundred recipes, so mapping a list to full DTOs is not one load per row
+    Map<Long, RecipeContent> findUnloadedContent(Collection<Recipe> recipes);
+}
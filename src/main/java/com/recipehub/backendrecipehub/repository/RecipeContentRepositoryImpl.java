@@ -0,0 +1,98 @@
+package com.recipehub.backendrecipehub.repository;
+
+import com.recipehub.backendrecipehub.converter.RecipeContentCodec;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.RecipeContent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk reads of the content columns. Rows are fetched as raw column values and decoded here,
+ * after the content blobs they reference have been looked up together, so neither the lazy
+ * content group nor the blob store is hit once per row as the attribute converters would.
+ */
+public class RecipeContentRepositoryImpl implements RecipeContentRepository {
+
+    private static final int ID_BATCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final RecipeContentCodec codec;
+
+    public RecipeContentRepositoryImpl(RecipeContentCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public List<Object[]> findPublicRecipeIngredients() {
+        List<Object[]> rows = rawColumns("SELECT id, ingredients FROM recipes WHERE is_public = true AND deleted = false",
+                "ingredients").getResultList();
+        try {
+            Map<String, String> blobs = codec.resolveAll(rows.stream().map(row -> (String) row[1]).toList());
+            List<Object[]> decoded = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                decoded.add(new Object[]{row[0], codec.readIngredients((String) row[1], blobs)});
+            }
+            return decoded;
+        } catch (IOException e) {
+            throw new IllegalStateException("Error reading recipe ingredients", e);
+        }
+    }
+
+    @Override
+    public Map<Long, RecipeContent> findUnloadedContent(Collection<Recipe> recipes) {
+        // Content already in the persistence context may hold changes not flushed yet, so it is kept
+        List<Long> ids = recipes.stream()
+                .filter(recipe -> !Hibernate.isPropertyInitialized(recipe, "ingredients"))
+                .map(Recipe::getId)
+                .distinct()
+                .toList();
+        Map<Long, RecipeContent> content = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            List<Object[]> rows = rawColumns("SELECT id, ingredients, instructions FROM recipes WHERE id IN (:ids)",
+                    "ingredients", "instructions")
+                    .setParameter("ids", ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size())))
+                    .getResultList();
+            try {
+                List<String> columns = new ArrayList<>(rows.size() * 2);
+                rows.forEach(row -> {
+                    columns.add((String) row[1]);
+                    columns.add((String) row[2]);
+                });
+                Map<String, String> blobs = codec.resolveAll(columns);
+                for (Object[] row : rows) {
+                    content.put((Long) row[0], new RecipeContent(
+                            codec.readIngredients((String) row[1], blobs),
+                            codec.readInstructions((String) row[2], blobs)));
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Error reading recipe content", e);
+            }
+        }
+        return content;
+    }
+
+    // Id plus the named content columns as stored text. Synchronized on Recipe so pending recipe
+    // changes are flushed first, as they would be for a JPQL query.
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> rawColumns(String sql, String... contentColumns) {
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        query.addScalar("id", StandardBasicTypes.LONG);
+        for (String column : contentColumns) {
+            query.addScalar(column, StandardBasicTypes.STRING);
+        }
+        query.addSynchronizedEntityClass(Recipe.class);
+        return query;
+    }
+}
@@ -0,0 +1,13 @@
+package com.recipehub.backendrecipehub.repository;
+
+import com.recipehub.backendrecipehub.dto.TagDTO;
+import com.recipehub.backendrecipehub.model.Recipe;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface RecipeFacetRepository {
+
+    // Recipe count per tag over the recipes matching spec, most used first; tags with no match are omitted
+    List<TagDTO> countTagsMatching(Specification<Recipe> spec);
+}
@@ -0,0 +1,49 @@
+package com.recipehub.backendrecipehub.repository;
+
+import com.recipehub.backendrecipehub.dto.TagDTO;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.TagCategory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Facet counts for a search in one grouped query: the search's own predicates are applied
+ * to recipes joined with their tags, grouped by tag.
+ */
+public class RecipeFacetRepositoryImpl implements RecipeFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TagDTO> countTagsMatching(Specification<Recipe> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Recipe> root = query.from(Recipe.class);
+        Join<Object, Object> tag = root.join("tags");
+        Expression<Long> recipeCount = cb.count(root.get("id"));
+
+        query.multiselect(tag.get("id"), tag.get("name"), tag.get("category"), recipeCount)
+                .groupBy(tag.get("id"), tag.get("name"), tag.get("category"))
+                .orderBy(cb.desc(recipeCount), cb.asc(tag.get("name")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(row -> new TagDTO(row.get(0, Long.class), row.get(1, String.class),
+                        row.get(2, TagCategory.class), Math.toIntExact(row.get(3, Long.class))))
+                .toList();
+    }
+}
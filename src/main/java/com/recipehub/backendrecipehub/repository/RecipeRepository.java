@@ -3,23 +3,101 @@ package com.recipehub.backendrecipehub.repository;
 import com.recipehub.backendrecipehub.model.Recipe;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface RecipeRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe> {
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe>, RecipeFacetRepository,
+        RecipeContentRepository {
     
-    // Search by recipe name (title)
-    List<Recipe> findByTitleContainingIgnoreCase(String title);
+    // Search by recipe name (title). Pattern from RecipeSpecification.containsPattern; LOWER(title)
+    // rather than the UPPER a derived IgnoreCase query emits, so PostgreSQL can use the trigram index
+    @Query("SELECT r FROM Recipe r WHERE LOWER(r.title) LIKE :pattern ESCAPE '!'")
+    List<Recipe> findByTitleLike(@Param("pattern") String pattern);
 
-    // Custom: search by ingredient name (uses LIKE on JSON string)
-    @Query("SELECT r FROM Recipe r WHERE LOWER(r.ingredients) LIKE LOWER(CONCAT('%', :ingredientName, '%'))")
-    List<Recipe> findByIngredientNameIgnoreCase(String ingredientName);
+    // Pantry search: public recipes whose every catalog ingredient is in the given (normalized) set
+    @Query("SELECT r FROM Recipe r WHERE r.isPublic = true " +
+            "AND EXISTS (SELECT ci.id FROM r.catalogIngredients ci) " +
+            "AND NOT EXISTS (SELECT ci.id FROM r.catalogIngredients ci WHERE ci.name NOT IN :names)")
+    List<Recipe> findPublicCookableWith(@Param("names") Collection<String> names);
 
     List<Recipe> findByIsPublicTrue();
+
+    // Existence check for a batch of ids without loading the rows (soft-deleted recipes are excluded)
+    @Query("SELECT r.id FROM Recipe r WHERE r.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Projections for rebuilding SuggestIndex, one row per recipe/term pair
+    @Query("SELECT r.id, r.title FROM Recipe r WHERE r.isPublic = true")
+    List<Object[]> findPublicTitles();
+
+    @Query("SELECT r.id, t.name FROM Recipe r JOIN r.tags t WHERE r.isPublic = true")
+    List<Object[]> findPublicTagNames();
+
+    @Query("SELECT r.id, ci.name FROM Recipe r JOIN r.catalogIngredients ci WHERE r.isPublic = true")
+    List<Object[]> findPublicCatalogIngredientNames();
+
+    // Projections for rebuilding RecommendationIndex: public recipes, plus private ones that are
+    // in some user's cooked/favourite history
+    @Query("SELECT r.id, r.author.id, r.isPublic FROM Recipe r " +
+           "WHERE r.isPublic = true OR EXISTS (SELECT 1 FROM UserRecipeInteraction i WHERE i.recipeId = r.id)")
+    List<Object[]> findRecommendationRows();
+
+    @Query("SELECT r.id, t.id FROM Recipe r JOIN r.tags t " +
+           "WHERE r.isPublic = true OR EXISTS (SELECT 1 FROM UserRecipeInteraction i WHERE i.recipeId = r.id)")
+    List<Object[]> findRecommendationTagIds();
+
+    @Query("SELECT r.id, ci.id FROM Recipe r JOIN r.catalogIngredients ci " +
+           "WHERE r.isPublic = true OR EXISTS (SELECT 1 FROM UserRecipeInteraction i WHERE i.recipeId = r.id)")
+    List<Object[]> findRecommendationCatalogIngredientIds();
+
+    // Recipes a user may see: public ones and their own
+    @Query("SELECT r FROM Recipe r JOIN FETCH r.author WHERE r.id IN :ids AND (r.isPublic = true OR r.author.id = :userId)")
+    List<Recipe> findVisibleByIdIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Query("SELECT r.id, r.author.id FROM Recipe r WHERE r.id IN :ids AND (r.isPublic = true OR r.author.id = :userId)")
+    List<Object[]> findVisibleAuthorIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // Keeps the author's own flags on the recipe in step with their user_recipe_interactions row
+    @Modifying
+    @Query("UPDATE Recipe r SET r.cooked = :cooked WHERE r.id IN :ids")
+    int updateCooked(@Param("ids") Collection<Long> ids, @Param("cooked") boolean cooked);
+
+    @Modifying
+    @Query("UPDATE Recipe r SET r.favourite = :favourite WHERE r.id IN :ids")
+    int updateFavourite(@Param("ids") Collection<Long> ids, @Param("favourite") boolean favourite);
+
     Optional<Recipe> findByIdAndIsPublicTrue(Long id);
 
+    // Fork lineage, see Recipe.lineagePath. Patterns are built by RecipeLineageService as a
+    // literal prefix plus '%' so the lineage_path index can serve them.
+    @Query("SELECT r FROM Recipe r JOIN FETCH r.author WHERE r.lineagePath LIKE :pattern AND r.isPublic = true ORDER BY r.id")
+    List<Recipe> findPublicDescendants(@Param("pattern") String pattern);
+
+    @Query("SELECT r FROM Recipe r JOIN FETCH r.author WHERE r.originalRecipe.id = :id AND r.isPublic = true ORDER BY r.id")
+    List<Recipe> findPublicDirectForks(@Param("id") Long id);
+
+    // Total and direct public fork counts in one pass over the subtree
+    @Query("SELECT COUNT(r), COALESCE(SUM(CASE WHEN r.originalRecipe.id = :id THEN 1 ELSE 0 END), 0) " +
+            "FROM Recipe r WHERE r.lineagePath LIKE :pattern AND r.isPublic = true")
+    List<Object[]> countPublicForks(@Param("id") Long id, @Param("pattern") String pattern);
+
+    @Query("SELECT r FROM Recipe r JOIN FETCH r.author WHERE r.id IN :ids AND r.isPublic = true")
+    List<Recipe> findPublicByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Recipe r SET r.forkCount = r.forkCount + 1 WHERE r.id = :id")
+    int incrementForkCount(@Param("id") Long id);
+
+    // Served by idx_recipes_fork_count
+    @Query("SELECT r FROM Recipe r JOIN FETCH r.author WHERE r.isPublic = true AND r.forkCount > 0 ORDER BY r.forkCount DESC, r.id")
+    List<Recipe> findMostForkedPublic(Pageable pageable);
+
     // Method naming convention (cleaner)
     List<Recipe> findByAuthorId(Long authorId);
     List<Recipe> findByAuthorIdAndCookedTrue(Long authorId);
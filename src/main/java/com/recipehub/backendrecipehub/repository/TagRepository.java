@@ -5,8 +5,10 @@ import com.recipehub.backendrecipehub.model.Recipe;
 import com.recipehub.backendrecipehub.model.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +19,12 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
 
     Optional<Tag> findByNameIgnoreCase(String name);
 
+    @Query("SELECT new com.recipehub.backendrecipehub.dto.TagDTO(t.id, t.name, t.category, SIZE(t.recipes)) " +
+            "FROM Tag t WHERE t.category IS NOT NULL ORDER BY t.category, t.name")
+    List<TagDTO> findCategorizedWithRecipeCount();
+
+    // Resolves lower-cased names to [id, lower(name), category, recipe count] for the search planner
+    @Query("SELECT t.id, LOWER(t.name), t.category, SIZE(t.recipes) FROM Tag t WHERE LOWER(t.name) IN :names")
+    List<Object[]> findUsageByLowerNameIn(@Param("names") Collection<String> names);
+
 }
@@ -0,0 +1,27 @@
+package com.recipehub.backendrecipehub.repository;
+
+import com.recipehub.backendrecipehub.model.UserRecipeInteraction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserRecipeInteractionRepository extends JpaRepository<UserRecipeInteraction, UserRecipeInteraction.Key> {
+
+    @Query("SELECT i FROM UserRecipeInteraction i WHERE i.userId = :userId AND i.recipeId IN :recipeIds")
+    List<UserRecipeInteraction> findByUserAndRecipes(@Param("userId") Long userId,
+                                                     @Param("recipeIds") Collection<Long> recipeIds);
+
+    // Most recently marked first
+    List<UserRecipeInteraction> findByUserIdAndCookedTrueOrderByUpdatedAtDesc(Long userId);
+
+    List<UserRecipeInteraction> findByUserIdAndFavouriteTrueOrderByUpdatedAtDesc(Long userId);
+
+    // Projection for rebuilding RecommendationIndex
+    @Query("SELECT i.userId, i.recipeId, i.cooked, i.favourite FROM UserRecipeInteraction i")
+    List<Object[]> findAllFlags();
+}
@@ -2,6 +2,8 @@ package com.recipehub.backendrecipehub.repository;
 
 import com.recipehub.backendrecipehub.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.List;
@@ -9,6 +11,10 @@ import java.util.List;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsernameAndDeletedFalse(String username);
     Optional<User> findByEmailAndDeletedFalse(String email);
+
+    // Login lookup in one round trip; both columns are unique, so at most two rows come back
+    @Query("SELECT u FROM User u WHERE u.deleted = false AND (u.username = :login OR u.email = :login)")
+    List<User> findActiveByUsernameOrEmail(@Param("login") String login);
     Optional<User> findByUsernameAndPassword(String username, String password);
     Optional<User> findByEmailAndPassword(String email, String password);
 
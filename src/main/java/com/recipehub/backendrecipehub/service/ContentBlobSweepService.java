@@ -0,0 +1,35 @@
+package com.recipehub.backendrecipehub.service;
+
+import com.recipehub.backendrecipehub.converter.ContentBlobStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically drops recipe content blobs that no recipe row points at any more.
+ * Soft-deleted recipes keep their blobs; they are released once the row itself is purged.
+ */
+@Service
+public class ContentBlobSweepService {
+
+    private final ContentBlobStore blobStore;
+    private final long graceMinutes;
+
+    @Autowired
+    public ContentBlobSweepService(ContentBlobStore blobStore,
+                                   @Value("${recipehub.content.dedup.sweep-grace-minutes:60}") long graceMinutes) {
+        this.blobStore = blobStore;
+        this.graceMinutes = graceMinutes;
+    }
+
+    @Scheduled(fixedDelayString = "${recipehub.content.dedup.sweep-interval-ms:3600000}",
+            initialDelayString = "${recipehub.content.dedup.sweep-interval-ms:3600000}")
+    @Transactional
+    public int sweep() {
+        return blobStore.sweepUnreferenced(LocalDateTime.now().minusMinutes(graceMinutes));
+    }
+}
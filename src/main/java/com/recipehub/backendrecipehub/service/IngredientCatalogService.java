@@ -0,0 +1,182 @@
+package com.recipehub.backendrecipehub.service;
+
+import com.recipehub.backendrecipehub.converter.ContentEncoding;
+import com.recipehub.backendrecipehub.converter.RecipeContentCodec;
+import com.recipehub.backendrecipehub.model.CatalogIngredient;
+import com.recipehub.backendrecipehub.model.Ingredient;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.RecipeContent;
+import com.recipehub.backendrecipehub.repository.CatalogIngredientRepository;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class IngredientCatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngredientCatalogService.class);
+    private static final int BACKFILL_BATCH_SIZE = 200;
+
+    private final CatalogIngredientRepository catalogIngredientRepository;
+    private final RecipeRepository recipeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final String insertIfAbsentSql;
+    // An empty ingredient list as stored in each encoding
+    private final String[] emptyIngredients;
+
+    @Autowired
+    public IngredientCatalogService(CatalogIngredientRepository catalogIngredientRepository, RecipeRepository recipeRepository,
+                                    JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    RecipeContentCodec codec) {
+        this.catalogIngredientRepository = catalogIngredientRepository;
+        this.recipeRepository = recipeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        try {
+            this.emptyIngredients = new String[]{
+                    codec.writeIngredients(List.of(), ContentEncoding.JSON),
+                    codec.writeIngredients(List.of(), ContentEncoding.SMILE)};
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode an empty ingredient list", e);
+        }
+        this.insertIfAbsentSql = isPostgres(jdbcTemplate)
+                ? "INSERT INTO ingredients (name) VALUES (?) ON CONFLICT (name) DO NOTHING"
+                : "MERGE INTO ingredients (name) KEY (name) VALUES (?)";
+    }
+
+    public static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase();
+    }
+
+    public static Set<String> normalizeAll(Collection<String> names) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (names != null) {
+            for (String name : names) {
+                String n = normalize(name);
+                if (!n.isEmpty()) {
+                    normalized.add(n);
+                }
+            }
+        }
+        return normalized;
+    }
+
+    // Find-or-create the catalog entries for the given ingredient names. Missing names are inserted
+    // if still absent and then read back, so two saves adding the same new ingredient at once both
+    // end up with the one row instead of the second failing on the unique name.
+    public Set<CatalogIngredient> resolve(Collection<String> names) {
+        Set<String> normalized = normalizeAll(names);
+        if (normalized.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Map<String, CatalogIngredient> byName = new HashMap<>();
+        for (CatalogIngredient existing : catalogIngredientRepository.findByNameIn(normalized)) {
+            byName.put(existing.getName(), existing);
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (String name : normalized) {
+            if (!byName.containsKey(name)) {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(insertIfAbsentSql, missing.stream().map(name -> new Object[]{name}).toList());
+            for (CatalogIngredient created : catalogIngredientRepository.findByNameIn(missing)) {
+                byName.put(created.getName(), created);
+            }
+        }
+
+        return new HashSet<>(byName.values());
+    }
+
+    // Keep the normalized join rows in step with the recipe's ingredient JSON
+    public void syncCatalog(Recipe recipe) {
+        List<String> names = new ArrayList<>();
+        if (recipe.getIngredients() != null) {
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                names.add(ingredient.getName());
+            }
+        }
+        recipe.setCatalogIngredients(resolve(names));
+    }
+
+    /**
+     * Recipes written before the catalog existed have no join rows yet; fill them in at startup.
+     * Each batch commits in its own transaction, so the persistence context never holds more than
+     * one batch. Rows with no ingredients are skipped in the query itself: they never get join
+     * rows, and would otherwise be read again on every start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfillCatalog() {
+        int indexed = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM recipes r WHERE id > ? AND deleted = false AND ingredients IS NOT NULL " +
+                            "AND ingredients NOT IN (?, ?) " +
+                            "AND NOT EXISTS (SELECT 1 FROM recipe_ingredient ri WHERE ri.recipe_id = r.id) " +
+                            "ORDER BY id LIMIT ?",
+                    Long.class, afterId, emptyIngredients[0], emptyIngredients[1], BACKFILL_BATCH_SIZE);
+            if (ids.isEmpty()) {
+                break;
+            }
+            indexed += batchTransaction.execute(status -> backfillBatch(ids));
+            afterId = ids.get(ids.size() - 1);
+        }
+
+        if (indexed > 0) {
+            log.info("Backfilled ingredient catalog for {} recipes", indexed);
+        }
+        return indexed;
+    }
+
+    private int backfillBatch(List<Long> ids) {
+        List<Recipe> batch = recipeRepository.findAllById(ids);
+        Map<Long, RecipeContent> content = recipeRepository.findUnloadedContent(batch);
+        for (Recipe recipe : batch) {
+            RecipeContent loaded = content.get(recipe.getId());
+            List<Ingredient> ingredients = loaded != null ? loaded.ingredients() : recipe.getIngredients();
+            List<String> names = new ArrayList<>();
+            if (ingredients != null) {
+                for (Ingredient ingredient : ingredients) {
+                    names.add(ingredient.getName());
+                }
+            }
+            recipe.setCatalogIngredients(resolve(names));
+        }
+        recipeRepository.flush();
+        return batch.size();
+    }
+
+    private static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (RuntimeException e) {
+            log.warn("Could not detect database product, using MERGE for catalog ingredients: {}", e.getMessage());
+            return false;
+        }
+    }
+}
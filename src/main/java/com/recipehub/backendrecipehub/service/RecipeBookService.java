@@ -3,53 +3,75 @@ package com.recipehub.backendrecipehub.service;
 import com.recipehub.backendrecipehub.exception.RecipeNotFoundException;
 import com.recipehub.backendrecipehub.exception.RecipeBookNotFoundException;
 import com.recipehub.backendrecipehub.exception.UserNotFoundException;
+import com.recipehub.backendrecipehub.exception.ValidationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.recipehub.backendrecipehub.repository.RecipeBookEntryRepository;
 import com.recipehub.backendrecipehub.repository.RecipeBookRepository;
 import com.recipehub.backendrecipehub.repository.RecipeRepository;
 import com.recipehub.backendrecipehub.repository.UserRepository;
-import com.recipehub.backendrecipehub.model.RecipeBook;
 import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.RecipeBook;
+import com.recipehub.backendrecipehub.model.RecipeBookEntry;
 import com.recipehub.backendrecipehub.model.User;
 import com.recipehub.backendrecipehub.dto.RecipeBookDTO;
+import com.recipehub.backendrecipehub.dto.RecipeBookRecipesResponse;
+import com.recipehub.backendrecipehub.dto.RecipeResponseDTO;
 import com.recipehub.backendrecipehub.dto.RecipeBookCreateRequest;
 import com.recipehub.backendrecipehub.dto.RecipeBookUpdateRequest;
 import com.recipehub.backendrecipehub.mapper.RecipeBookMapper;
+import com.recipehub.backendrecipehub.mapper.RecipeMapper;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
  
 
 @Service
 public class RecipeBookService {
 
+    // Spacing between consecutive positions; a move takes the midpoint of its new neighbours,
+    // so a book only needs renumbering after ~10 moves into the same gap
+    static final long POSITION_GAP = 1024;
+    static final int MAX_PAGE_SIZE = 100;
+
     private final RecipeBookRepository recipeBookRepository;
+    private final RecipeBookEntryRepository recipeBookEntryRepository;
     private final RecipeRepository recipeRepository;
     private final UserRepository userRepository;
 
-    public RecipeBookService(RecipeBookRepository recipeBookRepository, RecipeRepository recipeRepository, UserRepository userRepository) {
+    public RecipeBookService(RecipeBookRepository recipeBookRepository, RecipeBookEntryRepository recipeBookEntryRepository,
+                             RecipeRepository recipeRepository, UserRepository userRepository) {
         this.recipeBookRepository = recipeBookRepository;
+        this.recipeBookEntryRepository = recipeBookEntryRepository;
         this.recipeRepository = recipeRepository;
         this.userRepository = userRepository;
     }
 
+    @Transactional
     public RecipeBookDTO createRecipeBook(RecipeBookCreateRequest request) {
 
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new UserNotFoundException(request.getUserId()));
 
         RecipeBook book = RecipeBookMapper.toEntity(request, user);
-        
-        // Handle recipe list if provided
+        RecipeBook savedBook = recipeBookRepository.save(book);
+
+        // Handle recipe list if provided, keeping the request order
         if (request.getRecipeIds() != null && !request.getRecipeIds().isEmpty()) {
-            for (Long recipeId : request.getRecipeIds()) {
-                Recipe recipe = recipeRepository.findById(recipeId)
-                        .orElseThrow(() -> new RecipeNotFoundException(recipeId));
-                book.getRecipes().add(recipe);
-            }
+            appendEntries(savedBook.getId(), requireExistingRecipes(request.getRecipeIds()));
         }
-        
-        RecipeBook savedBook = recipeBookRepository.save(book);
 
-        return RecipeBookMapper.toDTO(savedBook);
+        return toDTOList(List.of(savedBook)).get(0);
     }
 
     public List<RecipeBookDTO> getUsersAllRecipeBook(Long userId) {
@@ -58,21 +80,22 @@ public class RecipeBookService {
 
         List<RecipeBook> recipeBooks = recipeBookRepository.findByUserId(user.getId());
 
-        return RecipeBookMapper.toDTOList(recipeBooks);
+        return toDTOList(recipeBooks);
     }
 
     public List<RecipeBookDTO> getAllRecipeBooks() {
         List<RecipeBook> recipeBooks = recipeBookRepository.findByIsPublicTrue();
-        return RecipeBookMapper.toDTOList(recipeBooks);
+        return toDTOList(recipeBooks);
     }
     
     public RecipeBookDTO getRecipeBookById(Long id) {
         RecipeBook recipeBook = recipeBookRepository.findByIdAndIsPublicTrue(id)
                 .orElseThrow(() -> new RecipeBookNotFoundException(id));
 
-        return RecipeBookMapper.toDTO(recipeBook);
+        return toDTOList(List.of(recipeBook)).get(0);
     }
 
+    @Transactional
     public RecipeBookDTO updateRecipeBook(Long id, RecipeBookUpdateRequest request) {
         RecipeBook recipeBook = recipeBookRepository.findById(id)
                 .orElseThrow(() -> new RecipeBookNotFoundException(id));
@@ -81,34 +104,215 @@ public class RecipeBookService {
 
         // Handle recipe list updates if provided
         if (request.getRecipeIds() != null) {
-            // Clear current recipes and add new ones
-            recipeBook.getRecipes().clear();
-            
-            for (Long recipeId : request.getRecipeIds()) {
-                Recipe recipe = recipeRepository.findById(recipeId)
-                        .orElseThrow(() -> new RecipeNotFoundException(recipeId));
-                recipeBook.getRecipes().add(recipe);
+            // Diff against the stored ids and only write the join rows that changed
+            Set<Long> wanted = requireExistingRecipes(request.getRecipeIds());
+            Set<Long> current = new LinkedHashSet<>(recipeBookRepository.findRecipeIdsByBookIds(List.of(id))
+                    .getOrDefault(id, List.of()));
+
+            Set<Long> toRemove = new LinkedHashSet<>(current);
+            toRemove.removeAll(wanted);
+            Set<Long> toAdd = new LinkedHashSet<>(wanted);
+            toAdd.removeAll(current);
+
+            if (!toRemove.isEmpty()) {
+                recipeBookEntryRepository.deleteMembers(id, toRemove);
             }
+            appendEntries(id, toAdd);
         }
 
-        return RecipeBookMapper.toDTO(recipeBookRepository.save(recipeBook));
+        return toDTOList(List.of(recipeBookRepository.save(recipeBook))).get(0);
     }
 
 
     public List<RecipeBookDTO> getAllPublicRecipeBooks() {
         List<RecipeBook> recipeBooks = recipeBookRepository.findByIsPublicTrue();
-        return RecipeBookMapper.toDTOList(recipeBooks);
+        return toDTOList(recipeBooks);
     }
 
     public List<RecipeBookDTO> getPublicRecipeBooksByUserId(Long userId) {
         List<RecipeBook> recipeBooks = recipeBookRepository.findByUserIdAndIsPublicTrue(userId);
-        return RecipeBookMapper.toDTOList(recipeBooks);
+        return toDTOList(recipeBooks);
+    }
+
+    // Public recipes of a public book, one keyset page at a time, as summaries
+    @Transactional(readOnly = true)
+    public RecipeBookRecipesResponse getRecipeBookRecipes(Long bookId, String cursor, int limit) {
+        recipeBookRepository.findByIdAndIsPublicTrue(bookId)
+                .orElseThrow(() -> new RecipeBookNotFoundException(bookId));
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        long afterPosition = Long.MIN_VALUE;
+        long afterRecipeId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            long[] decoded = decodeCursor(cursor);
+            afterPosition = decoded[0];
+            afterRecipeId = decoded[1];
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<Object[]> rows = recipeBookEntryRepository.findPublicRecipePage(
+                bookId, afterPosition, afterRecipeId, PageRequest.of(0, limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<Object[]> page = hasMore ? rows.subList(0, limit) : rows;
+
+        List<RecipeResponseDTO> recipes = page.stream()
+                .map(row -> RecipeMapper.toSummaryDTO((Recipe) row[0]))
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (hasMore) {
+            Object[] last = page.get(page.size() - 1);
+            nextCursor = encodeCursor((Long) last[1], ((Recipe) last[0]).getId());
+        }
+        return new RecipeBookRecipesResponse(recipes, nextCursor);
+    }
+
+    private static String encodeCursor(long position, long recipeId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((position + ":" + recipeId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    // Adds recipes at the end of the book; ids already in the book are ignored
+    @Transactional
+    public RecipeBookDTO addRecipes(Long bookId, List<Long> recipeIds) {
+        RecipeBook recipeBook = recipeBookRepository.findById(bookId)
+                .orElseThrow(() -> new RecipeBookNotFoundException(bookId));
+
+        Set<Long> toAdd = requireExistingRecipes(recipeIds);
+        if (!toAdd.isEmpty()) {
+            recipeBookEntryRepository.findMemberIds(bookId, toAdd).forEach(toAdd::remove);
+        }
+        appendEntries(bookId, toAdd);
+
+        return toDTOList(List.of(recipeBook)).get(0);
+    }
+
+    @Transactional
+    public RecipeBookDTO removeRecipes(Long bookId, List<Long> recipeIds) {
+        RecipeBook recipeBook = recipeBookRepository.findById(bookId)
+                .orElseThrow(() -> new RecipeBookNotFoundException(bookId));
+
+        if (recipeIds != null && !recipeIds.isEmpty()) {
+            recipeBookEntryRepository.deleteMembers(bookId, recipeIds);
+        }
+
+        return toDTOList(List.of(recipeBook)).get(0);
+    }
+
+    // Moves a recipe directly after afterRecipeId (or to the front when null) by rewriting only its own row
+    @Transactional
+    public RecipeBookDTO moveRecipe(Long bookId, Long recipeId, Long afterRecipeId) {
+        RecipeBook recipeBook = recipeBookRepository.findById(bookId)
+                .orElseThrow(() -> new RecipeBookNotFoundException(bookId));
+        if (recipeId.equals(afterRecipeId)) {
+            return toDTOList(List.of(recipeBook)).get(0);
+        }
+
+        // Rows added through the old full-list API have no position yet; number them once
+        if (recipeBookEntryRepository.existsByRecipeBookIdAndPositionIsNull(bookId)) {
+            renumber(bookId);
+        }
+
+        RecipeBookEntry entry = requireEntry(bookId, recipeId);
+        Long lower = afterRecipeId == null ? null : requireEntry(bookId, afterRecipeId).getPosition();
+        Long position = positionAfter(bookId, recipeId, lower);
+        if (position == null) {
+            renumber(bookId);
+            lower = afterRecipeId == null ? null : requireEntry(bookId, afterRecipeId).getPosition();
+            position = positionAfter(bookId, recipeId, lower);
+        }
+        entry.setPosition(position);
+
+        return toDTOList(List.of(recipeBook)).get(0);
+    }
+
+    // Midpoint between lower (null = front of the book) and the next row, or null when there is no gap left
+    private Long positionAfter(Long bookId, Long movingRecipeId, Long lower) {
+        Optional<RecipeBookEntry> next = lower == null
+                ? recipeBookEntryRepository.findFirstByRecipeBookIdAndRecipeIdNotOrderByPositionAsc(bookId, movingRecipeId)
+                : recipeBookEntryRepository.findFirstByRecipeBookIdAndPositionGreaterThanAndRecipeIdNotOrderByPositionAsc(
+                        bookId, lower, movingRecipeId);
+        if (next.isEmpty()) {
+            return lower == null ? 0L : lower + POSITION_GAP;
+        }
+        long upper = next.get().getPosition();
+        long low = lower == null ? upper - 2 * POSITION_GAP : lower;
+        if (upper - low < 2) {
+            return null;
+        }
+        return low + (upper - low) / 2;
+    }
+
+    private void renumber(Long bookId) {
+        long position = POSITION_GAP;
+        for (RecipeBookEntry entry : recipeBookEntryRepository.findOrdered(bookId)) {
+            entry.setPosition(position);
+            position += POSITION_GAP;
+        }
+        recipeBookEntryRepository.flush();
+    }
+
+    private RecipeBookEntry requireEntry(Long bookId, Long recipeId) {
+        return recipeBookEntryRepository.findByRecipeBookIdAndRecipeId(bookId, recipeId)
+                .orElseThrow(() -> new RecipeNotFoundException(
+                        "Recipe not found with id: " + recipeId + " in recipe book: " + bookId));
+    }
+
+    private void appendEntries(Long bookId, Collection<Long> recipeIds) {
+        if (recipeIds.isEmpty()) {
+            return;
+        }
+        if (recipeBookEntryRepository.existsByRecipeBookIdAndPositionIsNull(bookId)) {
+            renumber(bookId);
+        }
+        Long max = recipeBookEntryRepository.findMaxPosition(bookId);
+        long position = max == null ? POSITION_GAP : max + POSITION_GAP;
+        List<RecipeBookEntry> entries = new ArrayList<>();
+        for (Long recipeId : recipeIds) {
+            entries.add(new RecipeBookEntry(bookId, recipeId, position));
+            position += POSITION_GAP;
+        }
+        recipeBookEntryRepository.saveAll(entries);
+    }
+
+    // Validates all ids with one query; throws for the first id (in request order) that does not exist
+    private Set<Long> requireExistingRecipes(Collection<Long> recipeIds) {
+        Set<Long> requested = new LinkedHashSet<>(recipeIds);
+        if (requested.isEmpty()) {
+            return requested;
+        }
+        Set<Long> existing = new HashSet<>(recipeRepository.findExistingIds(requested));
+        for (Long recipeId : requested) {
+            if (!existing.contains(recipeId)) {
+                throw new RecipeNotFoundException(recipeId);
+            }
+        }
+        return requested;
+    }
+
+    // Two queries regardless of book count or size: the books (already loaded) and their recipe ids
+    private List<RecipeBookDTO> toDTOList(List<RecipeBook> recipeBooks) {
+        Map<Long, List<Long>> recipeIdsByBook = recipeBookRepository.findRecipeIdsByBookIds(
+                recipeBooks.stream().map(RecipeBook::getId).collect(Collectors.toList()));
+        return RecipeBookMapper.toDTOList(recipeBooks, recipeIdsByBook);
     }
 
+    @Transactional
     public void deleteRecipeBook(Long id) {
         RecipeBook recipeBook = recipeBookRepository.findById(id)
                 .orElseThrow(() -> new RecipeBookNotFoundException(id));
 
+        recipeBookEntryRepository.deleteByBook(id);
         recipeBookRepository.delete(recipeBook);
     }
 }
@@ -0,0 +1,134 @@
+package com.recipehub.backendrecipehub.service;
+
+import com.recipehub.backendrecipehub.converter.ContentEncoding;
+import com.recipehub.backendrecipehub.converter.RecipeContentCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rewrites the ingredients/instructions columns into the configured content encoding.
+ * Runs in the background in small keyset batches straight over JDBC, so it neither loads
+ * full entities nor touches updated_at. Rows already in the target format are skipped,
+ * which makes the job safe to stop and restart at any point. A row is only rewritten if its
+ * columns still hold what the batch read, so a recipe edited meanwhile keeps the edit.
+ */
+@Service
+public class RecipeContentMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeContentMigrationService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RecipeContentCodec codec;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    // Not synchronized: the batch blocks on JDBC and would pin a virtual carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private long cursor = 0;
+    private boolean finished = false;
+
+    public record BatchResult(long lastId, int scanned, int rewritten) {}
+
+    @Autowired
+    public RecipeContentMigrationService(JdbcTemplate jdbcTemplate,
+                                         RecipeContentCodec codec,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${recipehub.content.migration.enabled:false}") boolean enabled,
+                                         @Value("${recipehub.content.migration.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.codec = codec;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${recipehub.content.migration.interval-ms:10000}")
+    public void migrateNextBatch() {
+        if (!enabled || !lock.tryLock()) {
+            return;
+        }
+        try {
+            if (finished) {
+                return;
+            }
+            // Self-invocation bypasses the @Transactional proxy, so the batch gets its transaction here
+            BatchResult result = transactionTemplate.execute(status -> migrateBatch(codec.getEncoding(), cursor, batchSize));
+            if (result.scanned() == 0) {
+                finished = true;
+                log.info("Recipe content migration to {} complete", codec.getEncoding());
+                return;
+            }
+            cursor = result.lastId();
+            log.debug("Recipe content migration rewrote {} of {} rows up to id {}", result.rewritten(), result.scanned(), cursor);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Transactional
+    public BatchResult migrateBatch(ContentEncoding target, long afterId, int limit) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, ingredients, instructions FROM recipes WHERE id > ? ORDER BY id LIMIT ?", afterId, limit);
+
+        long lastId = afterId;
+        List<Object[]> updates = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            long id = ((Number) row.get("id")).longValue();
+            lastId = id;
+            String ingredients = (String) row.get("ingredients");
+            String instructions = (String) row.get("instructions");
+            try {
+                if (isEncodedAs(ingredients, target) && isEncodedAs(instructions, target)) {
+                    continue;
+                }
+                updates.add(new Object[]{
+                        ingredients == null ? null : codec.writeIngredients(codec.readIngredients(ingredients), target),
+                        instructions == null ? null : codec.writeInstructions(codec.readInstructions(instructions), target),
+                        id,
+                        ingredients,
+                        instructions
+                });
+            } catch (IOException e) {
+                log.warn("Skipping recipe {} during content migration: {}", id, e.getMessage());
+            }
+        }
+
+        int rewritten = 0;
+        if (!updates.isEmpty()) {
+            // Compare-and-set: a row saved since it was read no longer matches and is left alone;
+            // the save already wrote it in the configured encoding
+            int[] counts = jdbcTemplate.batchUpdate("UPDATE recipes SET ingredients = ?, instructions = ? WHERE id = ? " +
+                    "AND ingredients IS NOT DISTINCT FROM ? AND instructions IS NOT DISTINCT FROM ?", updates);
+            for (int count : counts) {
+                if (count > 0) {
+                    rewritten++;
+                }
+            }
+            if (rewritten < updates.size()) {
+                log.debug("Recipe content migration skipped {} rows changed since they were read", updates.size() - rewritten);
+            }
+        }
+        return new BatchResult(lastId, rows.size(), rewritten);
+    }
+
+    // Rows that reference a shared blob are judged by the blob's content; rewriting them
+    // stores a new blob in the target format and leaves the old one to the sweep
+    private boolean isEncodedAs(String column, ContentEncoding target) throws IOException {
+        return column == null || codec.encodingOf(column) == target;
+    }
+}
@@ -0,0 +1,169 @@
+package com.recipehub.backendrecipehub.service;
+
+import com.recipehub.backendrecipehub.dto.RecipeForkCountDTO;
+import com.recipehub.backendrecipehub.dto.RecipeResponseDTO;
+import com.recipehub.backendrecipehub.exception.RecipeNotFoundException;
+import com.recipehub.backendrecipehub.exception.ValidationException;
+import com.recipehub.backendrecipehub.mapper.RecipeMapper;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fork tree queries backed by the materialized lineage path on each recipe
+ * (see {@link Recipe#getLineagePath()}). Descendants are a prefix scan, counts are
+ * one aggregate over that scan, and the ancestor chain is read straight from the
+ * recipe's own path, so none of them walk originalRecipe one lazy load at a time.
+ */
+@Service
+public class RecipeLineageService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeLineageService.class);
+
+    static final String ROOT_PATH = "/";
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final RecipeRepository recipeRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public RecipeLineageService(RecipeRepository recipeRepository, JdbcTemplate jdbcTemplate) {
+        this.recipeRepository = recipeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Lineage path for a new fork of {@code parent}. A fork chain too deep for the column is
+     * refused with a ValidationException rather than failing the insert.
+     */
+    public static String childPath(Recipe parent) {
+        String path = childPath(parent.getLineagePath(), parent.getId());
+        if (path.length() > Recipe.LINEAGE_PATH_LENGTH) {
+            throw new ValidationException("Recipe " + parent.getId() + " is forked too many levels deep to fork again");
+        }
+        return path;
+    }
+
+    static String childPath(String parentPath, Long parentId) {
+        return (parentPath == null ? ROOT_PATH : parentPath) + parentId + "/";
+    }
+
+    static List<Long> ancestorIds(String lineagePath) {
+        List<Long> ids = new ArrayList<>();
+        if (lineagePath == null) {
+            return ids;
+        }
+        for (String part : lineagePath.split("/")) {
+            if (!part.isEmpty()) {
+                ids.add(Long.parseLong(part));
+            }
+        }
+        return ids;
+    }
+
+    // Paths only ever hold digits and '/', so the prefix needs no LIKE escaping
+    private static String descendantPattern(Recipe recipe) {
+        return childPath(recipe) + "%";
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecipeResponseDTO> getForks(Long recipeId, boolean directOnly) {
+        Recipe recipe = requirePublicRecipe(recipeId);
+        List<Recipe> forks = directOnly
+                ? recipeRepository.findPublicDirectForks(recipeId)
+                : recipeRepository.findPublicDescendants(descendantPattern(recipe));
+        return forks.stream()
+                .map(RecipeMapper::toSummaryDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public RecipeForkCountDTO getForkCount(Long recipeId) {
+        Recipe recipe = requirePublicRecipe(recipeId);
+        Object[] counts = recipeRepository.countPublicForks(recipeId, descendantPattern(recipe)).get(0);
+        return new RecipeForkCountDTO(recipeId, ((Number) counts[1]).longValue(), ((Number) counts[0]).longValue());
+    }
+
+    /**
+     * Public ancestors of a recipe, root first. Deleted or private ancestors are left out
+     * of the chain, so the first element is the root only when the root is still visible.
+     */
+    @Transactional(readOnly = true)
+    public List<RecipeResponseDTO> getAncestors(Long recipeId) {
+        Recipe recipe = requirePublicRecipe(recipeId);
+        List<Long> ids = ancestorIds(recipe.getLineagePath());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> depth = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            depth.put(ids.get(i), i);
+        }
+        return recipeRepository.findPublicByIdIn(ids).stream()
+                .sorted(Comparator.comparing((Recipe r) -> depth.get(r.getId())))
+                .map(RecipeMapper::toSummaryDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fills in lineage paths for rows written before the column existed. Forks always have a
+     * larger id than the recipe they were forked from, so walking rows in id order sees every
+     * parent before its children. Soft-deleted rows are included so their subtrees stay intact.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public int backfillLineagePaths() {
+        Map<Long, String> paths = new HashMap<>();
+        Function<Long, String> pathOf = id -> paths.computeIfAbsent(id, missing -> jdbcTemplate.query(
+                "SELECT lineage_path FROM recipes WHERE id = ?",
+                rs -> rs.next() ? rs.getString(1) : null, missing));
+
+        int updated = 0;
+        long afterId = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, original_recipe_id FROM recipes WHERE lineage_path IS NULL AND id > ? ORDER BY id LIMIT ?",
+                    afterId, BACKFILL_BATCH_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Object[]> updates = new ArrayList<>();
+            for (Map<String, Object> row : rows) {
+                long id = ((Number) row.get("id")).longValue();
+                Number parentId = (Number) row.get("original_recipe_id");
+                String path = parentId == null
+                        ? ROOT_PATH
+                        : childPath(pathOf.apply(parentId.longValue()), parentId.longValue());
+                paths.put(id, path);
+                updates.add(new Object[]{path, id});
+                afterId = id;
+            }
+            jdbcTemplate.batchUpdate("UPDATE recipes SET lineage_path = ? WHERE id = ?", updates);
+            updated += updates.size();
+        }
+        if (updated > 0) {
+            log.info("Backfilled lineage paths for {} recipes", updated);
+        }
+        return updated;
+    }
+
+    private Recipe requirePublicRecipe(Long recipeId) {
+        return recipeRepository.findByIdAndIsPublicTrue(recipeId)
+                .orElseThrow(() -> new RecipeNotFoundException(recipeId));
+    }
+}
@@ -1,32 +1,65 @@
 package com.recipehub.backendrecipehub.service;
 
+import com.recipehub.backendrecipehub.converter.JsonCodecs;
 import com.recipehub.backendrecipehub.dto.IngredientDTO;
 import com.recipehub.backendrecipehub.dto.RecipeRequestDTO;
 import com.recipehub.backendrecipehub.dto.RecipeResponseDTO;
+import com.recipehub.backendrecipehub.dto.RecipeMatchDTO;
+import com.recipehub.backendrecipehub.dto.RecipeSearchCriteria;
+import com.recipehub.backendrecipehub.dto.RecipeSearchResponse;
+import com.recipehub.backendrecipehub.dto.RecommendationDTO;
+import com.recipehub.backendrecipehub.dto.SimilarRecipeDTO;
+import com.recipehub.backendrecipehub.dto.SuggestionDTO;
+import com.recipehub.backendrecipehub.dto.TrendingRecipeDTO;
+import com.recipehub.backendrecipehub.event.RecipeChangedEvent;
+import com.recipehub.backendrecipehub.event.RecipeChangedEvent.ChangeType;
+import com.recipehub.backendrecipehub.index.PantryIndex;
+import com.recipehub.backendrecipehub.index.RecommendationIndex;
+import com.recipehub.backendrecipehub.index.SimilarityIndex;
+import com.recipehub.backendrecipehub.index.SuggestIndex;
+import com.recipehub.backendrecipehub.index.TrendingIndex;
 import com.recipehub.backendrecipehub.exception.RecipeNotFoundException;
+import com.recipehub.backendrecipehub.exception.UserNotFoundException;
 import com.recipehub.backendrecipehub.exception.ValidationException;
 import com.recipehub.backendrecipehub.mapper.RecipeMapper;
 import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.RecipeContent;
 import com.recipehub.backendrecipehub.model.Tag;
 import com.recipehub.backendrecipehub.model.User;
 import com.recipehub.backendrecipehub.repository.RecipeBookRepository;
 import com.recipehub.backendrecipehub.repository.RecipeRepository;
 import com.recipehub.backendrecipehub.repository.TagRepository;
 import com.recipehub.backendrecipehub.repository.UserRepository;
+import com.recipehub.backendrecipehub.specification.RecipeSearchPlanner;
 import com.recipehub.backendrecipehub.specification.RecipeSpecification;
 import com.recipehub.backendrecipehub.service.S3Service;
 import com.recipehub.backendrecipehub.service.TagService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 import com.recipehub.backendrecipehub.dto.AuthorSearchResponse;
@@ -37,26 +70,69 @@ import com.recipehub.backendrecipehub.model.RecipeBook;
 @Service
 public class RecipeService {
 
+    private static final Logger log = LoggerFactory.getLogger(RecipeService.class);
+    private static final int MAX_SUGGESTIONS = SuggestIndex.MAX_SUGGESTIONS;
+    private static final int STALE_INDEX_RETRIES = 3;
+
     private final RecipeRepository recipeRepository;
     private final UserRepository userRepository;
     private final TagRepository tagRepository;
     private final RecipeBookRepository recipeBookRepository;
     private final S3Service s3Service;
     private final TagService tagService;
+    private final IngredientCatalogService ingredientCatalogService;
+    private final PantryIndex pantryIndex;
+    private final TrendingIndex trendingIndex;
+    private final SuggestIndex suggestIndex;
+    private final RecommendationIndex recommendationIndex;
+    private final SimilarityIndex similarityIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate authorProfileTransaction;
+    private final Executor queryFanOutExecutor;
+    private final RecipeSearchPlanner searchPlanner;
+    private final long authorSearchTimeoutMs;
 
     @Autowired
     public RecipeService(RecipeRepository recipeRepository, UserRepository userRepository, 
-                       TagRepository tagRepository, RecipeBookRepository recipeBookRepository, S3Service s3Service, TagService tagService) {
+                       TagRepository tagRepository, RecipeBookRepository recipeBookRepository, S3Service s3Service, TagService tagService,
+                       IngredientCatalogService ingredientCatalogService, PantryIndex pantryIndex, TrendingIndex trendingIndex,
+                       SuggestIndex suggestIndex, RecommendationIndex recommendationIndex, SimilarityIndex similarityIndex,
+                       ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                       @Qualifier("queryFanOutExecutor") Executor queryFanOutExecutor, RecipeSearchPlanner searchPlanner,
+                       @Value("${recipehub.author-search.timeout-ms:2000}") long authorSearchTimeoutMs) {
         this.recipeRepository = recipeRepository;
         this.userRepository = userRepository;
         this.tagRepository = tagRepository;
         this.recipeBookRepository = recipeBookRepository;
         this.s3Service = s3Service;
         this.tagService = tagService;
+        this.ingredientCatalogService = ingredientCatalogService;
+        this.pantryIndex = pantryIndex;
+        this.trendingIndex = trendingIndex;
+        this.suggestIndex = suggestIndex;
+        this.recommendationIndex = recommendationIndex;
+        this.similarityIndex = similarityIndex;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Abandoning a part at the deadline does not stop its query, so each part's transaction
+        // carries a timeout (whole seconds, rounded up) that is applied to every statement it runs
+        // and cancels it in the database, returning the connection to the pool.
+        this.authorProfileTransaction = new TransactionTemplate(transactionManager);
+        this.authorProfileTransaction.setReadOnly(true);
+        this.authorProfileTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(authorSearchTimeoutMs + 999)));
+        this.queryFanOutExecutor = queryFanOutExecutor;
+        this.searchPlanner = searchPlanner;
+        this.authorSearchTimeoutMs = authorSearchTimeoutMs;
     }
 
+    @Transactional
     public RecipeResponseDTO createRecipe(RecipeRequestDTO dto, User user, Recipe originalRecipe) {
         Recipe entity = RecipeMapper.toEntity(dto, user, originalRecipe);
+        if (originalRecipe != null) {
+            entity.setLineagePath(RecipeLineageService.childPath(originalRecipe));
+        }
         // Set initial updatedAt timestamp
         entity.setUpdatedAt(LocalDateTime.now());
         
@@ -65,8 +141,13 @@ public class RecipeService {
             List<Tag> tags = tagService.resolveTagsByName(dto.getTagNames());
             entity.setTags(tags);
         }
+        ingredientCatalogService.syncCatalog(entity);
         
         Recipe savedRecipe = recipeRepository.save(entity);
+        if (originalRecipe != null) {
+            recipeRepository.incrementForkCount(originalRecipe.getId());
+        }
+        eventPublisher.publishEvent(new RecipeChangedEvent(savedRecipe, ChangeType.CREATED));
         return RecipeMapper.toDTO(savedRecipe);
     }
 
@@ -84,6 +165,10 @@ public class RecipeService {
         }
 
         Recipe recipe = RecipeMapper.toEntity(requestDTO, author, originalRecipe);
+        // Created from an original, so a fork of it: same lineage and fork count as forkRecipe
+        if (originalRecipe != null) {
+            recipe.setLineagePath(RecipeLineageService.childPath(originalRecipe));
+        }
         recipe.setCreatedAt(LocalDateTime.now());
         recipe.setUpdatedAt(LocalDateTime.now());
 
@@ -92,24 +177,30 @@ public class RecipeService {
             List<Tag> tags = tagService.resolveTagsByName(requestDTO.getTagNames());
             recipe.setTags(tags);
         }
+        ingredientCatalogService.syncCatalog(recipe);
 
         Recipe savedRecipe = recipeRepository.save(recipe);
+        if (originalRecipe != null) {
+            recipeRepository.incrementForkCount(originalRecipe.getId());
+        }
+        eventPublisher.publishEvent(new RecipeChangedEvent(savedRecipe, ChangeType.CREATED));
         return RecipeMapper.toDTO(savedRecipe);
     }
 
     @Transactional(readOnly = true)
     public List<RecipeResponseDTO> getAllRecipes() {
-        List<Recipe> recipes = recipeRepository.findAll();
-        return recipes.stream()
-                .map(RecipeMapper::toDTO)
-                .collect(Collectors.toList());
+        return toDTOs(recipeRepository.findAll());
     }
 
     @Transactional(readOnly = true)
     public List<RecipeResponseDTO> getAllPublicRecipes() {
-        List<Recipe> recipes = recipeRepository.findByIsPublicTrue();
-        return recipes.stream()
-                .map(RecipeMapper::toDTO)
+        return toDTOs(recipeRepository.findByIsPublicTrue());
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecipeResponseDTO> getAllPublicRecipeSummaries() {
+        return recipeRepository.findByIsPublicTrue().stream()
+                .map(RecipeMapper::toSummaryDTO)
                 .collect(Collectors.toList());
     }
 
@@ -120,6 +211,7 @@ public class RecipeService {
                 .map(RecipeMapper::toDTO);
     }
 
+    @Transactional
     public RecipeResponseDTO updateRecipe(Long id, RecipeRequestDTO dto) {
         Recipe recipe = recipeRepository.findById(id)
                 .orElseThrow(() -> new RecipeNotFoundException(id));
@@ -130,6 +222,9 @@ public class RecipeService {
         // }
         
         RecipeMapper.updateEntity(dto, recipe);
+        if (dto.getIngredients() != null) {
+            ingredientCatalogService.syncCatalog(recipe);
+        }
         
         // Update tags if provided
         if (dto.getTagNames() != null) {
@@ -141,6 +236,7 @@ public class RecipeService {
         recipe.setUpdatedAt(LocalDateTime.now());
         
         Recipe savedRecipe = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(savedRecipe, ChangeType.UPDATED));
         return RecipeMapper.toDTO(savedRecipe);
     }
 
@@ -157,6 +253,9 @@ public class RecipeService {
         // Update basic fields using the mapper (only non-null fields)
         RecipeMapper.updateEntity(requestDTO, existingRecipe);
         existingRecipe.setUpdatedAt(LocalDateTime.now());
+        if (requestDTO.getIngredients() != null) {
+            ingredientCatalogService.syncCatalog(existingRecipe);
+        }
 
         // Handle tags with granular control
         if (requestDTO.getTagNames() != null) {
@@ -190,6 +289,7 @@ public class RecipeService {
         }
 
         Recipe updatedRecipe = recipeRepository.save(existingRecipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(updatedRecipe, ChangeType.UPDATED));
         return RecipeMapper.toDTO(updatedRecipe);
     }
 
@@ -198,10 +298,12 @@ public class RecipeService {
         Recipe recipe = recipeRepository.findById(id)
                 .orElseThrow(() -> new RecipeNotFoundException(id));
         
+        int likeDelta = likeCount - recipe.getLikeCount();
         recipe.setLikeCount(likeCount);
         recipe.setUpdatedAt(LocalDateTime.now());
         
         Recipe updatedRecipe = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(updatedRecipe, ChangeType.LIKED, likeDelta));
         return RecipeMapper.toDTO(updatedRecipe);
     }
 
@@ -228,6 +330,7 @@ public class RecipeService {
         forkedRecipe.setLikeCount(0);
         forkedRecipe.setAuthor(author);
         forkedRecipe.setOriginalRecipe(originalRecipe);
+        forkedRecipe.setLineagePath(RecipeLineageService.childPath(originalRecipe));
         forkedRecipe.setCreatedAt(LocalDateTime.now());
         forkedRecipe.setUpdatedAt(LocalDateTime.now());
 
@@ -249,142 +352,202 @@ public class RecipeService {
 
         // Always assign a fresh list
         forkedRecipe.setTags(new ArrayList<>(tagsToAssign));
+        ingredientCatalogService.syncCatalog(forkedRecipe);
 
         // === THEN save the recipe ===
         Recipe savedForkedRecipe = recipeRepository.save(forkedRecipe);
+        // Atomic in SQL so concurrent forks of a popular recipe don't lose increments
+        recipeRepository.incrementForkCount(originalId);
+        eventPublisher.publishEvent(new RecipeChangedEvent(savedForkedRecipe, ChangeType.FORKED));
         return RecipeMapper.toDTO(savedForkedRecipe);
     }
     
     @Transactional(readOnly = true)
     public List<RecipeResponseDTO> getRecipesByUserId(Long userId) {
-        List<Recipe> recipes = recipeRepository.findByAuthorId(userId);
-        return recipes.stream()
-                .map(RecipeMapper::toDTO)
+        return toDTOs(recipeRepository.findByAuthorId(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecipeResponseDTO> getRecipeSummariesByUserId(Long userId) {
+        return recipeRepository.findByAuthorId(userId).stream()
+                .map(RecipeMapper::toSummaryDTO)
                 .collect(Collectors.toList());
     }
     
 
     @Transactional(readOnly = true)
     public List<RecipeResponseDTO> searchByTitle(String title) {
-        List<Recipe> recipes = recipeRepository.findByTitleContainingIgnoreCase(title);
-        return recipes.stream()
-                .map(RecipeMapper::toDTO)
-                .collect(Collectors.toList());
+        return toDTOs(recipeRepository.findByTitleLike(RecipeSpecification.containsPattern(title)));
     }
 
-    // Enhanced search method with multiple criteria using JPA Specifications
-    @Transactional(readOnly = true)
-    public Object searchRecipes(
-            String title, List<String> tags, String author, Long authorId,
-            Boolean cooked, Boolean favourite, String difficulty, String cuisine,
-            String mealType, String dietary, String cookingMethod, String occasion,
-            String season, String health, String ingredient, String specialFeature) {
-        
-        // Check if only author-related parameters are provided
-        boolean hasOnlyAuthorParams = (authorId != null || (author != null && !author.trim().isEmpty())) &&
-                title == null && (tags == null || tags.isEmpty()) && cooked == null && favourite == null &&
-                difficulty == null && cuisine == null && mealType == null && dietary == null &&
-                cookingMethod == null && occasion == null && season == null && health == null &&
-                ingredient == null && specialFeature == null;
-        
+    // Enhanced search method with multiple criteria using JPA Specifications.
+    // Not @Transactional: the author branch fans out into its own read-only transactions.
+    public Object searchRecipes(RecipeSearchCriteria criteria) {
         // If only author parameters are provided, return both recipes and recipe books
-        if (hasOnlyAuthorParams) {
-            if (authorId != null) {
-                return searchByAuthorId(authorId);
-            } else if (author != null && !author.trim().isEmpty()) {
-                return searchByAuthorName(author);
+        if (criteria.isAuthorOnly()) {
+            if (criteria.getAuthorId() != null) {
+                return searchByAuthorId(criteria.getAuthorId());
             }
+            return searchByAuthorName(criteria.getAuthor());
         }
-        
-        // If other parameters are provided, only search recipes and apply all filters
-        // Build specification (public recipes only)
-        Specification<Recipe> spec = RecipeSpecification.isPublic(true);
-        
-        if (title != null && !title.trim().isEmpty()) {
-            spec = spec.and(RecipeSpecification.hasTitle(title));
-        }
-        
-        if (cooked != null) {
-            spec = spec.and(RecipeSpecification.isCooked(cooked));
-        }
-        
-        if (favourite != null) {
-            spec = spec.and(RecipeSpecification.isFavourite(favourite));
-        }
-        
-        if (author != null && !author.trim().isEmpty()) {
-            spec = spec.and(RecipeSpecification.hasAuthor(author));
-        }
-        
-        if (authorId != null) {
-            spec = spec.and(RecipeSpecification.hasAuthorId(authorId));
-        }
-        
-        if (tags != null && !tags.isEmpty()) {
-            spec = spec.and(RecipeSpecification.hasAnyTag(tags));
-        }
-        
-        if (cuisine != null && !cuisine.trim().isEmpty()) {
-            spec = spec.and(RecipeSpecification.hasCuisine(cuisine));
-        }
-        
-        if (difficulty != null && !difficulty.trim().isEmpty()) {
-            spec = spec.and(RecipeSpecification.hasDifficulty(difficulty));
-        }
-        
-        if (mealType != null && !mealType.trim().isEmpty()) {
-            spec = spec.and(RecipeSpecification.hasMealType(mealType));
-        }
-        
-        if (dietary != null && !dietary.trim().isEmpty()) {
-            spec = spec.and(RecipeSpecification.hasDietary(dietary));
-        }
-        
-        if (cookingMethod != null && !cookingMethod.trim().isEmpty()) {
-            spec = spec.and(RecipeSpecification.hasCookingMethod(cookingMethod));
+
+        // Otherwise only search public recipes, applying all filters
+        return readOnlyTransaction.execute(status -> searchPlanner.plan(criteria)
+                .map(spec -> toDTOs(recipeRepository.findAll(spec)))
+                .orElseGet(List::of));
+    }
+
+    // Filtered search plus per-tag recipe counts over the same results, so the UI can render
+    // its facet list without a search per facet value. Author filters are applied as filters here.
+    public RecipeSearchResponse searchRecipesWithFacets(RecipeSearchCriteria criteria) {
+        return readOnlyTransaction.execute(status -> searchPlanner.plan(criteria)
+                .map(spec -> new RecipeSearchResponse(
+                        toDTOs(recipeRepository.findAll(spec)),
+                        recipeRepository.countTagsMatching(spec)))
+                .orElseGet(() -> new RecipeSearchResponse(List.of(), List.of())));
+    }
+
+    // "What can I cook with these ingredients": public recipes needing nothing outside the given set
+    @Transactional(readOnly = true)
+    public List<RecipeResponseDTO> findCookableRecipes(List<String> ingredientNames) {
+        var normalized = IngredientCatalogService.normalizeAll(ingredientNames);
+        if (normalized.isEmpty()) {
+            return List.of();
         }
-        
-        if (occasion != null && !occasion.trim().isEmpty()) {
-            spec = spec.and(RecipeSpecification.hasOccasion(occasion));
+        return toDTOs(recipeRepository.findPublicCookableWith(normalized));
+    }
+
+    // Search-as-you-type over titles, tags and ingredients; served from SuggestIndex without a query
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ValidationException("limit must be between 1 and " + MAX_SUGGESTIONS);
         }
-        
-        if (season != null && !season.trim().isEmpty()) {
-            spec = spec.and(RecipeSpecification.hasSeason(season));
+        return suggestIndex.suggest(prefix, limit).stream()
+                .map(s -> new SuggestionDTO(s.text(), s.kind().name().toLowerCase(), s.recipeCount(), s.edits() > 0))
+                .toList();
+    }
+
+    // Served from the last ranking TrendingIndex computed; no query on the request path
+    public List<TrendingRecipeDTO> getTrendingRecipes(String window, int limit) {
+        TrendingIndex.Window trendingWindow;
+        try {
+            trendingWindow = TrendingIndex.Window.valueOf(window.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("window must be one of: day, week");
         }
-        
-        if (health != null && !health.trim().isEmpty()) {
-            spec = spec.and(RecipeSpecification.hasHealth(health));
+        return trendingIndex.top(trendingWindow, requireRankedLimit(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecipeResponseDTO> getMostForkedRecipes(int limit) {
+        return recipeRepository.findMostForkedPublic(PageRequest.of(0, requireRankedLimit(limit))).stream()
+                .map(RecipeMapper::toSummaryDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Scored from RecommendationIndex; only the top rows are read back, in one query
+    @Transactional(readOnly = true)
+    public List<RecommendationDTO> getRecommendations(Long userId, int limit) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        List<RecommendationIndex.Recommendation> recommendations =
+                recommendationIndex.recommend(userId, requireRankedLimit(limit));
+        if (recommendations.isEmpty()) {
+            return List.of();
+        }
+
+        // Re-read so recipes made private or deleted since they were indexed drop out
+        Map<Long, Recipe> recipesById = recipeRepository.findPublicByIdIn(
+                        recommendations.stream().map(RecommendationIndex.Recommendation::recipeId).toList()).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+        List<RecommendationDTO> results = new ArrayList<>();
+        for (RecommendationIndex.Recommendation recommendation : recommendations) {
+            Recipe recipe = recipesById.get(recommendation.recipeId());
+            if (recipe != null) {
+                results.add(new RecommendationDTO(RecipeMapper.toSummaryDTO(recipe), recommendation.score()));
+            }
         }
-        
-        if (ingredient != null && !ingredient.trim().isEmpty()) {
-            spec = spec.and(RecipeSpecification.hasIngredient(ingredient));
+        return results;
+    }
+
+    // Candidates come from SimilarityIndex's LSH buckets; only the top rows are read back
+    @Transactional(readOnly = true)
+    public List<SimilarRecipeDTO> getSimilarRecipes(Long recipeId, int limit) {
+        recipeRepository.findByIdAndIsPublicTrue(recipeId)
+                .orElseThrow(() -> new RecipeNotFoundException(recipeId));
+        int rankedLimit = requireRankedLimit(limit);
+
+        // Rows removed without an event (bulk deletes) are dropped from the index as they are
+        // found and the lookup repeated, so they do not eat into the limit
+        List<SimilarRecipeDTO> results = new ArrayList<>();
+        for (int attempt = 0; attempt < STALE_INDEX_RETRIES; attempt++) {
+            List<SimilarityIndex.Similar> similar = similarityIndex.similar(recipeId, rankedLimit);
+            if (similar.isEmpty()) {
+                break;
+            }
+            Map<Long, Recipe> recipesById = recipeRepository.findPublicByIdIn(
+                            similar.stream().map(SimilarityIndex.Similar::recipeId).toList()).stream()
+                    .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+            results.clear();
+            boolean stale = false;
+            for (SimilarityIndex.Similar match : similar) {
+                Recipe recipe = recipesById.get(match.recipeId());
+                if (recipe == null) {
+                    similarityIndex.remove(match.recipeId());
+                    stale = true;
+                } else {
+                    results.add(new SimilarRecipeDTO(RecipeMapper.toSummaryDTO(recipe), match.similarity()));
+                }
+            }
+            if (!stale) {
+                break;
+            }
         }
-        
-        if (specialFeature != null && !specialFeature.trim().isEmpty()) {
-            spec = spec.and(RecipeSpecification.hasSpecialFeature(specialFeature));
+        return results;
+    }
+
+    private static int requireRankedLimit(int limit) {
+        if (limit < 1 || limit > TrendingIndex.MAX_RANKED) {
+            throw new ValidationException("limit must be between 1 and " + TrendingIndex.MAX_RANKED);
         }
-        
-        // Execute query
-        List<Recipe> recipes = recipeRepository.findAll(spec);
-        return recipes.stream()
-                .map(RecipeMapper::toDTO)
-                .collect(Collectors.toList());
+        return limit;
+    }
+
+    // Pantry matching: rank public recipes by the fraction of their ingredients the user has on hand
+    @Transactional(readOnly = true)
+    public List<RecipeMatchDTO> matchRecipes(List<String> ingredientNames, int limit, double minCoverage) {
+        List<PantryIndex.Match> matches = pantryIndex.match(ingredientNames, requireRankedLimit(limit), minCoverage);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        // The index only proposes candidates; the rows are re-read so stale entries drop out
+        Map<Long, Recipe> recipesById = recipeRepository.findAllById(
+                        matches.stream().map(PantryIndex.Match::recipeId).toList()).stream()
+                .filter(Recipe::isPublic)
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+        Map<Long, RecipeContent> content = recipeRepository.findUnloadedContent(recipesById.values());
+
+        List<RecipeMatchDTO> results = new ArrayList<>();
+        for (PantryIndex.Match match : matches) {
+            Recipe recipe = recipesById.get(match.recipeId());
+            if (recipe == null) {
+                continue;
+            }
+            RecipeMatchDTO dto = new RecipeMatchDTO();
+            dto.setRecipe(RecipeMapper.toDTO(recipe, content.get(recipe.getId())));
+            dto.setCoverage(match.coverage());
+            dto.setMatchedIngredients(match.matched());
+            dto.setTotalIngredients(match.total());
+            dto.setMissingIngredients(match.missingIngredients());
+            results.add(dto);
+        }
+        return results;
     }
 
     public AuthorSearchResponse searchByAuthorId(Long authorId) {
-        // Get public recipes by author ID
-        List<Recipe> recipes = recipeRepository.findByAuthorIdAndIsPublicTrue(authorId);
-        List<RecipeResponseDTO> recipeDTOs = recipes.stream()
-                .map(RecipeMapper::toDTO)
-                .collect(Collectors.toList());
-        
-        // Get public recipe books by author ID
-        List<RecipeBook> recipeBooks = recipeBookRepository.findByUserIdAndIsPublicTrue(authorId);
-        List<RecipeBookDTO> recipeBookDTOs = recipeBooks.stream()
-                .map(RecipeBookMapper::toDTO)
-                .collect(Collectors.toList());
-        
-        return new AuthorSearchResponse(authorId, recipeDTOs, recipeBookDTOs);
+        return loadAuthorProfile(authorId);
     }
 
     public AuthorSearchResponse searchByAuthorName(String authorUsername) {
@@ -393,39 +556,74 @@ public class RecipeService {
         if (userOpt.isEmpty()) {
             return new AuthorSearchResponse(null, List.of(), List.of());
         }
-        
-        User user = userOpt.get();
-        Long authorId = user.getId();
-        
-        // Get public recipes by author ID
-        List<Recipe> recipes = recipeRepository.findByAuthorIdAndIsPublicTrue(authorId);
-        List<RecipeResponseDTO> recipeDTOs = recipes.stream()
-                .map(RecipeMapper::toDTO)
-                .collect(Collectors.toList());
-        
-        // Get public recipe books by author ID
-        List<RecipeBook> recipeBooks = recipeBookRepository.findByUserIdAndIsPublicTrue(authorId);
-        List<RecipeBookDTO> recipeBookDTOs = recipeBooks.stream()
-                .map(RecipeBookMapper::toDTO)
-                .collect(Collectors.toList());
-        
-        return new AuthorSearchResponse(authorId, recipeDTOs, recipeBookDTOs);
+        return loadAuthorProfile(userOpt.get().getId());
     }
 
-    public List<RecipeResponseDTO> getUserCookedRecipes(Long userId) {
-        List<Recipe> recipes = recipeRepository.findByAuthorIdAndCookedTrue(userId);
-        return recipes.stream()
-                .map(RecipeMapper::toDTO)
-                .collect(Collectors.toList());
+    // Public recipes and public recipe books are independent queries, so they run concurrently,
+    // each in its own read-only transaction. A part that fails or misses the deadline comes back
+    // empty and the response is flagged partial instead of failing the whole profile page.
+    private AuthorSearchResponse loadAuthorProfile(Long authorId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Worker threads could not see this transaction's uncommitted writes, so stay on it
+            return new AuthorSearchResponse(authorId, loadPublicRecipes(authorId), loadPublicRecipeBooks(authorId));
+        }
+
+        CompletableFuture<List<RecipeResponseDTO>> recipes = supplyReadOnly(() -> loadPublicRecipes(authorId));
+        CompletableFuture<List<RecipeBookDTO>> recipeBooks = supplyReadOnly(() -> loadPublicRecipeBooks(authorId));
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(authorSearchTimeoutMs);
+        List<RecipeResponseDTO> recipeDTOs = await(recipes, deadline, "recipes", authorId);
+        List<RecipeBookDTO> recipeBookDTOs = await(recipeBooks, deadline, "recipe books", authorId);
+
+        AuthorSearchResponse response = new AuthorSearchResponse(
+                authorId,
+                recipeDTOs != null ? recipeDTOs : List.of(),
+                recipeBookDTOs != null ? recipeBookDTOs : List.of());
+        response.setPartial(recipeDTOs == null || recipeBookDTOs == null);
+        return response;
     }
 
-    public List<RecipeResponseDTO> getUserFavouriteRecipes(Long userId) {
-        List<Recipe> recipes = recipeRepository.findByAuthorIdAndFavouriteTrue(userId);
+    private List<RecipeResponseDTO> loadPublicRecipes(Long authorId) {
+        return toDTOs(recipeRepository.findByAuthorIdAndIsPublicTrue(authorId));
+    }
+
+    // Full DTOs for a list, with the content of all its recipes read together rather than one
+    // lazy content load per row
+    private List<RecipeResponseDTO> toDTOs(List<Recipe> recipes) {
+        Map<Long, RecipeContent> content = recipeRepository.findUnloadedContent(recipes);
         return recipes.stream()
-                .map(RecipeMapper::toDTO)
+                .map(recipe -> RecipeMapper.toDTO(recipe, content.get(recipe.getId())))
                 .collect(Collectors.toList());
     }
 
+    private List<RecipeBookDTO> loadPublicRecipeBooks(Long authorId) {
+        List<RecipeBook> recipeBooks = recipeBookRepository.findByUserIdAndIsPublicTrue(authorId);
+        return RecipeBookMapper.toDTOList(recipeBooks, recipeBookRepository.findRecipeIdsByBookIds(
+                recipeBooks.stream().map(RecipeBook::getId).collect(Collectors.toList())));
+    }
+
+    private <T> CompletableFuture<T> supplyReadOnly(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> authorProfileTransaction.execute(status -> query.get()), queryFanOutExecutor);
+    }
+
+    // Returns null when the part failed or timed out
+    private <T> T await(CompletableFuture<T> future, long deadlineNanos, String part, Long authorId) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Keeps a part still queued from starting; one already running is stopped by its
+            // transaction timeout, as cancelling a CompletableFuture does not interrupt it
+            future.cancel(false);
+            log.warn("Author {} {} query timed out after {} ms", authorId, part, authorSearchTimeoutMs);
+        } catch (ExecutionException e) {
+            log.warn("Author {} {} query failed", authorId, part, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
     // Image handling methods
     public RecipeResponseDTO createRecipeFromRequest(
             MultipartFile file,
@@ -439,26 +637,15 @@ public class RecipeService {
             Boolean favourite,
             String tagNamesJson
     ) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-
-        List<IngredientDTO> ingredientList = mapper.readValue(
-                ingredientsJson,
-                mapper.getTypeFactory().constructCollectionType(List.class, IngredientDTO.class)
-        );
+        List<IngredientDTO> ingredientList = JsonCodecs.INGREDIENT_DTO_LIST_READER.readValue(ingredientsJson);
 
-        List<String> instructionList = mapper.readValue(
-                instructionsJson,
-                mapper.getTypeFactory().constructCollectionType(List.class, String.class)
-        );
+        List<String> instructionList = JsonCodecs.STRING_LIST_READER.readValue(instructionsJson);
 
         // Parse tagNames if provided
         List<String> tagNames = null;
         if (tagNamesJson != null && !tagNamesJson.trim().isEmpty()) {
             try {
-                tagNames = mapper.readValue(
-                        tagNamesJson,
-                        mapper.getTypeFactory().constructCollectionType(List.class, String.class)
-                );
+                tagNames = JsonCodecs.STRING_LIST_READER.readValue(tagNamesJson);
             } catch (Exception e) {
                 // If parsing fails, ignore tagNames
                 tagNames = null;
@@ -597,6 +784,7 @@ public class RecipeService {
     public void deleteRecipe(Long recipeId) {
         Recipe r = recipeRepository.findById(recipeId).orElseThrow(() -> new RecipeNotFoundException(recipeId));
         recipeRepository.delete(r); // triggers @SQLDelete on Recipe only
+        eventPublisher.publishEvent(new RecipeChangedEvent(r, ChangeType.DELETED));
     // Recipebook entries remain; queries will hide deleted recipe rows.
 }
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.recipehub.backendrecipehub.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hard-deletes recipes and users that were soft-deleted longer ago than the retention window,
+ * so they stop taking up room in the hot tables and their indexes. Rows go in small keyset
+ * batches, each in its own short transaction, with a pause between batches to leave room for
+ * regular traffic. Join rows (tags, catalog ingredients, book entries, activity buckets,
+ * cooked/favourite interactions) are removed with their recipe; forks of a purged recipe keep
+ * their lineage path but lose the originalRecipe link. A user is only purged once no recipe or
+ * recipe book refers to them; their own interactions go with them.
+ * Content blobs released by a purge are collected by ContentBlobSweepService.
+ */
+@Service
+public class SoftDeletePurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(SoftDeletePurgeService.class);
+
+    private static final List<String> RECIPE_CHILD_DELETES = List.of(
+            "DELETE FROM recipe_tag WHERE recipe_id = ?",
+            "DELETE FROM recipe_ingredient WHERE recipe_id = ?",
+            "DELETE FROM recipe_book_recipes WHERE recipe_id = ?",
+            "DELETE FROM recipe_activity_buckets WHERE recipe_id = ?",
+            "DELETE FROM user_recipe_interactions WHERE recipe_id = ?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMs;
+
+    private final Counter purgedRecipes;
+    private final Counter purgedUsers;
+    private final Timer batchTimer;
+    private final AtomicLong pendingRecipes = new AtomicLong();
+    private final AtomicLong pendingUsers = new AtomicLong();
+
+    // Not synchronized: a run blocks on JDBC and sleeps between batches
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public record PurgeResult(int recipes, int users) {}
+
+    @Autowired
+    public SoftDeletePurgeService(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${recipehub.purge.enabled:false}") boolean enabled,
+                                  @Value("${recipehub.purge.retention-days:30}") int retentionDays,
+                                  @Value("${recipehub.purge.batch-size:100}") int batchSize,
+                                  @Value("${recipehub.purge.max-batches-per-run:50}") int maxBatchesPerRun,
+                                  @Value("${recipehub.purge.pause-ms:200}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMs = pauseMs;
+
+        this.purgedRecipes = Counter.builder("recipehub.purge.rows")
+                .tag("table", "recipes").description("Soft-deleted rows hard-deleted by the purge job")
+                .register(meterRegistry);
+        this.purgedUsers = Counter.builder("recipehub.purge.rows")
+                .tag("table", "users").description("Soft-deleted rows hard-deleted by the purge job")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("recipehub.purge.batch").register(meterRegistry);
+        Gauge.builder("recipehub.purge.pending", pendingRecipes, AtomicLong::get)
+                .tag("table", "recipes").description("Rows past retention at the start of the last run")
+                .register(meterRegistry);
+        Gauge.builder("recipehub.purge.pending", pendingUsers, AtomicLong::get)
+                .tag("table", "users").description("Rows past retention at the start of the last run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${recipehub.purge.interval-ms:3600000}",
+            initialDelayString = "${recipehub.purge.interval-ms:3600000}")
+    public void purgeExpired() {
+        if (!enabled || !lock.tryLock()) {
+            return;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            updatePending(cutoff);
+            int recipes = 0;
+            int users = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                PurgeResult result = purgeBatch(cutoff, batchSize);
+                recipes += result.recipes();
+                users += result.users();
+                if (result.recipes() < batchSize && result.users() < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMs);
+            }
+            if (recipes > 0 || users > 0) {
+                log.info("Purged {} recipes and {} users deleted before {}", recipes, users, cutoff);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Purges up to {@code limit} recipes and then up to {@code limit} users, in one transaction. */
+    public PurgeResult purgeBatch(LocalDateTime deletedBefore, int limit) {
+        return batchTimer.record(() -> batchTransaction.execute(status -> {
+            Timestamp cutoff = Timestamp.valueOf(deletedBefore);
+            List<Long> recipeIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM recipes WHERE deleted = true AND deleted_at < ? ORDER BY id LIMIT ?",
+                    Long.class, cutoff, limit);
+            if (!recipeIds.isEmpty()) {
+                List<Object[]> args = recipeIds.stream().map(id -> new Object[]{id}).toList();
+                for (String sql : RECIPE_CHILD_DELETES) {
+                    jdbcTemplate.batchUpdate(sql, args);
+                }
+                jdbcTemplate.batchUpdate("UPDATE recipes SET original_recipe_id = NULL WHERE original_recipe_id = ?", args);
+                jdbcTemplate.batchUpdate("DELETE FROM recipes WHERE id = ?", args);
+                purgedRecipes.increment(recipeIds.size());
+            }
+
+            List<Long> userIds = jdbcTemplate.queryForList(
+                    "SELECT u.id FROM users u WHERE u.deleted = true AND u.deleted_at < ? " +
+                            "AND NOT EXISTS (SELECT 1 FROM recipes r WHERE r.author_id = u.id) " +
+                            "AND NOT EXISTS (SELECT 1 FROM recipe_books b WHERE b.user_id = u.id) " +
+                            "ORDER BY u.id LIMIT ?",
+                    Long.class, cutoff, limit);
+            if (!userIds.isEmpty()) {
+                List<Object[]> args = userIds.stream().map(id -> new Object[]{id}).toList();
+                jdbcTemplate.batchUpdate("DELETE FROM user_recipe_interactions WHERE user_id = ?", args);
+                jdbcTemplate.batchUpdate("DELETE FROM users WHERE id = ?", args);
+                purgedUsers.increment(userIds.size());
+            }
+            return new PurgeResult(recipeIds.size(), userIds.size());
+        }));
+    }
+
+    private void updatePending(LocalDateTime cutoff) {
+        Timestamp timestamp = Timestamp.valueOf(cutoff);
+        pendingRecipes.set(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM recipes WHERE deleted = true AND deleted_at < ?", Long.class, timestamp));
+        pendingUsers.set(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE deleted = true AND deleted_at < ?", Long.class, timestamp));
+    }
+}
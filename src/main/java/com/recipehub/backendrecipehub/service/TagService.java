@@ -2,28 +2,61 @@ package com.recipehub.backendrecipehub.service;
 
 import com.recipehub.backendrecipehub.dto.TagDTO;
 import com.recipehub.backendrecipehub.exception.ValidationException;
+import com.recipehub.backendrecipehub.model.Recipe;
 import com.recipehub.backendrecipehub.model.Tag;
+import com.recipehub.backendrecipehub.model.TagCategory;
 import com.recipehub.backendrecipehub.repository.RecipeRepository;
 import com.recipehub.backendrecipehub.repository.TagRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.stream.Collectors;
 
 @Service
 public class TagService {
+    private static final Logger log = LoggerFactory.getLogger(TagService.class);
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    // The browsing tags that used to be hard-coded here, with the category each belongs to
+    private static final Map<String, TagCategory> PREDEFINED_CATEGORIES = new LinkedHashMap<>();
+
+    static {
+        for (String name : List.of("Italian", "Mexican", "Asian", "French", "Indian", "Mediterranean", "American")) {
+            PREDEFINED_CATEGORIES.put(name, TagCategory.CUISINE);
+        }
+        for (String name : List.of("Breakfast", "Lunch", "Dinner", "Dessert")) {
+            PREDEFINED_CATEGORIES.put(name, TagCategory.MEAL_TYPE);
+        }
+        for (String name : List.of("Vegetarian", "Vegan", "Gluten-Free")) {
+            PREDEFINED_CATEGORIES.put(name, TagCategory.DIETARY);
+        }
+        PREDEFINED_CATEGORIES.put("Easy", TagCategory.DIFFICULTY);
+        PREDEFINED_CATEGORIES.put("Quick", TagCategory.SPECIAL_FEATURE);
+        PREDEFINED_CATEGORIES.put("Healthy", TagCategory.HEALTH);
+    }
+
     private final TagRepository tagRepository;
     private final RecipeRepository recipeRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
-    public TagService(TagRepository tagRepository, RecipeRepository recipeRepository) {
+    public TagService(TagRepository tagRepository, RecipeRepository recipeRepository, JdbcTemplate jdbcTemplate) {
         this.tagRepository = tagRepository;
         this.recipeRepository = recipeRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     public List<Tag> findAllTags() {
@@ -74,24 +107,75 @@ public class TagService {
                 .collect(Collectors.toList());
     }
 
+    // Every tag that belongs to a category, grouped by category; membership is the tags.category column.
+    // Until some tag has a category, the predefined browsing tags are listed as before.
     public List<TagDTO> getCategoryTags() {
-        // Return main category tags for browsing
-        List<String> categoryTags = Arrays.asList(
-            "Italian", "Mexican", "Asian", "French", "Indian", "Mediterranean", "American",
-            "Breakfast", "Lunch", "Dinner", "Dessert",
-            "Vegetarian", "Vegan", "Gluten-Free",
-            "Easy", "Quick", "Healthy"
-        );
-        
-        return categoryTags.stream()
-                .map(tagName -> {
-                    try {
-                        Tag tag = getTagByName(tagName);
-                        return new TagDTO(tag.getId(), tag.getName(), tag.getRecipes().size());
-                    } catch (RuntimeException e) {
-                        return new TagDTO(null, tagName, 0);
-                    }
-                })
+        List<TagDTO> categorized = tagRepository.findCategorizedWithRecipeCount();
+        if (!categorized.isEmpty()) {
+            return categorized;
+        }
+        return PREDEFINED_CATEGORIES.entrySet().stream()
+                .map(entry -> tagRepository.findByNameIgnoreCase(entry.getKey())
+                        .map(tag -> new TagDTO(tag.getId(), tag.getName(), entry.getValue(), tag.getRecipes().size()))
+                        .orElseGet(() -> new TagDTO(null, entry.getKey(), entry.getValue(), 0)))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Gives the predefined browsing tags their category on databases created before tags.category
+     * existed. Only tags still without a category are touched, so a category set by hand is kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public int backfillTagCategories() {
+        List<Object[]> updates = PREDEFINED_CATEGORIES.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue().name(), entry.getKey().toLowerCase()})
+                .toList();
+        int updated = 0;
+        for (int count : jdbcTemplate.batchUpdate(
+                "UPDATE tags SET category = ? WHERE category IS NULL AND LOWER(name) = ?", updates)) {
+            updated += Math.max(count, 0);
+        }
+        if (updated > 0) {
+            log.info("Backfilled categories for {} tags", updated);
+        }
+        return updated;
+    }
+
+    /**
+     * Fills recipes.tag_summary for rows written before the column existed; Recipe.setTags keeps
+     * it current afterwards. Soft-deleted rows are included so a restore would not need a rerun.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public int backfillTagSummaries() {
+        int updated = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM recipes WHERE tag_summary IS NULL AND id > ? ORDER BY id LIMIT ?",
+                    Long.class, afterId, BACKFILL_BATCH_SIZE);
+            if (ids.isEmpty()) {
+                break;
+            }
+            Map<Long, List<Tag>> tagsByRecipe = new HashMap<>();
+            String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+            jdbcTemplate.query("SELECT recipe_id, tag_id FROM recipe_tag WHERE recipe_id IN (" + placeholders + ")",
+                    rs -> {
+                        Tag tag = new Tag();
+                        tag.setId(rs.getLong("tag_id"));
+                        tagsByRecipe.computeIfAbsent(rs.getLong("recipe_id"), id -> new ArrayList<>()).add(tag);
+                    }, ids.toArray());
+            List<Object[]> updates = ids.stream()
+                    .map(id -> new Object[]{Recipe.summarize(tagsByRecipe.get(id)), id})
+                    .toList();
+            jdbcTemplate.batchUpdate("UPDATE recipes SET tag_summary = ? WHERE id = ?", updates);
+            updated += updates.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+        if (updated > 0) {
+            log.info("Backfilled tag summaries for {} recipes", updated);
+        }
+        return updated;
+    }
 }
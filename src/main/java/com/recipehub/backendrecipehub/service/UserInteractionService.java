@@ -0,0 +1,298 @@
+package com.recipehub.backendrecipehub.service;
+
+import com.recipehub.backendrecipehub.dto.InteractionDTO;
+import com.recipehub.backendrecipehub.dto.InteractionUpdateRequest;
+import com.recipehub.backendrecipehub.dto.RecipeResponseDTO;
+import com.recipehub.backendrecipehub.event.RecipeChangedEvent;
+import com.recipehub.backendrecipehub.event.UserInteractionsChangedEvent;
+import com.recipehub.backendrecipehub.exception.RecipeNotFoundException;
+import com.recipehub.backendrecipehub.exception.UserNotFoundException;
+import com.recipehub.backendrecipehub.exception.ValidationException;
+import com.recipehub.backendrecipehub.mapper.RecipeMapper;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.RecipeContent;
+import com.recipehub.backendrecipehub.model.UserRecipeInteraction;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.repository.UserRecipeInteractionRepository;
+import com.recipehub.backendrecipehub.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user cooked and favourite state, kept in user_recipe_interactions so a user can mark any
+ * recipe they can see, not only their own. Lists are read by user id off the table's primary
+ * key, so they cost what the user has marked rather than a scan of recipes. The author's flags
+ * on the recipe row stay in step with the author's own interaction row, in both directions.
+ */
+@Service
+public class UserInteractionService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserInteractionService.class);
+
+    static final int MAX_BULK_RECIPES = 500;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final UserRecipeInteractionRepository interactionRepository;
+    private final RecipeRepository recipeRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean postgres;
+
+    @Autowired
+    public UserInteractionService(UserRecipeInteractionRepository interactionRepository,
+                                  RecipeRepository recipeRepository, UserRepository userRepository,
+                                  JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.interactionRepository = interactionRepository;
+        this.recipeRepository = recipeRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.postgres = isPostgres(jdbcTemplate);
+    }
+
+    /**
+     * Sets cooked and/or favourite on every listed recipe for the user with one batched upsert;
+     * rows left with neither flag are deleted. Listeners get the rows that changed once the
+     * transaction commits.
+     */
+    @Transactional
+    public List<InteractionDTO> updateInteractions(Long userId, InteractionUpdateRequest request) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        List<Long> recipeIds = request.getRecipeIds() == null ? List.of()
+                : request.getRecipeIds().stream().filter(Objects::nonNull).distinct().toList();
+        if (recipeIds.isEmpty() || recipeIds.size() > MAX_BULK_RECIPES) {
+            throw new ValidationException("recipeIds must list between 1 and " + MAX_BULK_RECIPES + " recipes");
+        }
+        if (request.getCooked() == null && request.getFavourite() == null) {
+            throw new ValidationException("At least one of cooked or favourite must be set");
+        }
+
+        Map<Long, Long> authorByRecipe = new HashMap<>();
+        for (Object[] row : recipeRepository.findVisibleAuthorIds(recipeIds, userId)) {
+            authorByRecipe.put((Long) row[0], (Long) row[1]);
+        }
+        List<Long> missing = recipeIds.stream().filter(id -> !authorByRecipe.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new RecipeNotFoundException("Recipes not found: " + missing);
+        }
+
+        // Rows written through JPA earlier in this transaction must reach the table before the upsert
+        interactionRepository.flush();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> upserts = recipeIds.stream()
+                .map(recipeId -> new Object[]{userId, recipeId, Boolean.TRUE.equals(request.getCooked()),
+                        Boolean.TRUE.equals(request.getFavourite()), now})
+                .toList();
+        int[] counts = jdbcTemplate.batchUpdate(upsertSql(request.getCooked() != null, request.getFavourite() != null), upserts);
+        String placeholders = String.join(",", Collections.nCopies(recipeIds.size(), "?"));
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        args.addAll(recipeIds);
+        if (Boolean.FALSE.equals(request.getCooked()) || Boolean.FALSE.equals(request.getFavourite())) {
+            jdbcTemplate.update("DELETE FROM user_recipe_interactions WHERE user_id = ? AND recipe_id IN (" + placeholders + ") " +
+                    "AND cooked = false AND favourite = false", args.toArray());
+        }
+        Map<Long, InteractionDTO> state = new HashMap<>();
+        jdbcTemplate.query("SELECT recipe_id, cooked, favourite FROM user_recipe_interactions " +
+                        "WHERE user_id = ? AND recipe_id IN (" + placeholders + ")",
+                rs -> {
+                    long recipeId = rs.getLong("recipe_id");
+                    state.put(recipeId, new InteractionDTO(recipeId, rs.getBoolean("cooked"), rs.getBoolean("favourite")));
+                }, args.toArray());
+
+        List<InteractionDTO> results = new ArrayList<>();
+        List<UserInteractionsChangedEvent.Interaction> changed = new ArrayList<>();
+        List<Long> ownChanged = new ArrayList<>();
+        for (int i = 0; i < recipeIds.size(); i++) {
+            Long recipeId = recipeIds.get(i);
+            InteractionDTO result = state.getOrDefault(recipeId, new InteractionDTO(recipeId, false, false));
+            results.add(result);
+            // 0 when the row already had the requested flags; drivers may report an unknown count instead
+            if (counts[i] == 0) {
+                continue;
+            }
+            changed.add(new UserInteractionsChangedEvent.Interaction(recipeId, result.isCooked(), result.isFavourite()));
+            if (userId.equals(authorByRecipe.get(recipeId))) {
+                ownChanged.add(recipeId);
+            }
+        }
+
+        if (!ownChanged.isEmpty()) {
+            if (request.getCooked() != null) {
+                recipeRepository.updateCooked(ownChanged, request.getCooked());
+            }
+            if (request.getFavourite() != null) {
+                recipeRepository.updateFavourite(ownChanged, request.getFavourite());
+            }
+        }
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new UserInteractionsChangedEvent(userId, changed));
+        }
+        return results;
+    }
+
+    /**
+     * Inserts the row, or sets only the requested flags on an existing one. Concurrent first
+     * marks of the same recipe then meet in the database instead of one failing on the primary
+     * key. A row that already has the flags is left alone, so its updated_at, and with it its
+     * place in the user's lists, is kept; the statement then reports 0 rows.
+     */
+    private String upsertSql(boolean cooked, boolean favourite) {
+        // The proposed row is EXCLUDED in PostgreSQL and the USING source in MERGE
+        String source = postgres ? "EXCLUDED" : "s";
+        List<String> set = new ArrayList<>();
+        List<String> differs = new ArrayList<>();
+        for (String column : cooked && favourite ? List.of("cooked", "favourite")
+                : List.of(cooked ? "cooked" : "favourite")) {
+            set.add(column + " = " + source + "." + column);
+            differs.add("t." + column + " <> " + source + "." + column);
+        }
+        set.add("updated_at = " + source + ".updated_at");
+        if (postgres) {
+            return "INSERT INTO user_recipe_interactions AS t (user_id, recipe_id, cooked, favourite, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?) ON CONFLICT (user_id, recipe_id) DO UPDATE SET " + String.join(", ", set) +
+                    " WHERE " + String.join(" OR ", differs);
+        }
+        return "MERGE INTO user_recipe_interactions t USING (SELECT CAST(? AS BIGINT) AS user_id, " +
+                "CAST(? AS BIGINT) AS recipe_id, CAST(? AS BOOLEAN) AS cooked, CAST(? AS BOOLEAN) AS favourite, " +
+                "CAST(? AS TIMESTAMP) AS updated_at) s ON t.user_id = s.user_id AND t.recipe_id = s.recipe_id " +
+                "WHEN MATCHED AND (" + String.join(" OR ", differs) + ") THEN UPDATE SET " + String.join(", ", set) +
+                " WHEN NOT MATCHED THEN INSERT (user_id, recipe_id, cooked, favourite, updated_at) " +
+                "VALUES (s.user_id, s.recipe_id, s.cooked, s.favourite, s.updated_at)";
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecipeResponseDTO> getCookedRecipes(Long userId) {
+        return toRecipes(userId, interactionRepository.findByUserIdAndCookedTrueOrderByUpdatedAtDesc(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecipeResponseDTO> getFavouriteRecipes(Long userId) {
+        return toRecipes(userId, interactionRepository.findByUserIdAndFavouriteTrueOrderByUpdatedAtDesc(userId));
+    }
+
+    // Recipes deleted or made private since they were marked are left out; flags are the user's own
+    private List<RecipeResponseDTO> toRecipes(Long userId, List<UserRecipeInteraction> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Recipe> recipesById = recipeRepository.findVisibleByIdIn(
+                        rows.stream().map(UserRecipeInteraction::getRecipeId).toList(), userId).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+        Map<Long, RecipeContent> content = recipeRepository.findUnloadedContent(recipesById.values());
+        List<RecipeResponseDTO> results = new ArrayList<>();
+        for (UserRecipeInteraction row : rows) {
+            Recipe recipe = recipesById.get(row.getRecipeId());
+            if (recipe == null) {
+                continue;
+            }
+            RecipeResponseDTO dto = RecipeMapper.toDTO(recipe, content.get(recipe.getId()));
+            dto.setCooked(row.isCooked());
+            dto.setFavourite(row.isFavourite());
+            results.add(dto);
+        }
+        return results;
+    }
+
+    // Cooked/favourite set on a recipe through create or update are the author's own marks
+    @EventListener
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        RecipeChangedEvent.ChangeType type = event.type();
+        if ((type != RecipeChangedEvent.ChangeType.CREATED && type != RecipeChangedEvent.ChangeType.UPDATED)
+                || event.isRemoval() || event.recipe().authorId() == null) {
+            return;
+        }
+        RecipeChangedEvent.RecipeState recipe = event.recipe();
+        Long authorId = recipe.authorId();
+        UserRecipeInteraction row = interactionRepository
+                .findById(new UserRecipeInteraction.Key(authorId, recipe.id()))
+                .orElse(null);
+        if (row == null) {
+            if (!recipe.cooked() && !recipe.favourite()) {
+                return;
+            }
+            row = new UserRecipeInteraction(authorId, recipe.id());
+        } else if (row.isCooked() == recipe.cooked() && row.isFavourite() == recipe.favourite()) {
+            return;
+        }
+        row.setCooked(recipe.cooked());
+        row.setFavourite(recipe.favourite());
+        row.setUpdatedAt(LocalDateTime.now());
+        if (row.isEmpty()) {
+            interactionRepository.delete(row);
+        } else {
+            interactionRepository.save(row);
+        }
+        eventPublisher.publishEvent(new UserInteractionsChangedEvent(authorId,
+                List.of(new UserInteractionsChangedEvent.Interaction(recipe.id(), row.isCooked(), row.isFavourite()))));
+    }
+
+    /**
+     * Gives every author an interaction row for the recipes they had flagged cooked or favourite
+     * before the table existed. Rows already present are left alone, so reruns are cheap.
+     * Ordered ahead of the other startup listeners so RecommendationIndex.rebuild sees the rows.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public int backfillFromRecipeFlags() {
+        int inserted = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM recipes WHERE (cooked = true OR favourite = true) AND deleted = false " +
+                            "AND author_id IS NOT NULL AND id > ? ORDER BY id LIMIT ?",
+                    Long.class, afterId, BACKFILL_BATCH_SIZE);
+            if (ids.isEmpty()) {
+                break;
+            }
+            String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+            inserted += jdbcTemplate.update(
+                    "INSERT INTO user_recipe_interactions (user_id, recipe_id, cooked, favourite, updated_at) " +
+                            "SELECT r.author_id, r.id, r.cooked, r.favourite, CURRENT_TIMESTAMP FROM recipes r " +
+                            "WHERE r.id IN (" + placeholders + ") AND NOT EXISTS (SELECT 1 FROM user_recipe_interactions i " +
+                            "WHERE i.user_id = r.author_id AND i.recipe_id = r.id)",
+                    ids.toArray());
+            afterId = ids.get(ids.size() - 1);
+        }
+        if (inserted > 0) {
+            log.info("Backfilled {} cooked/favourite interactions from recipe flags", inserted);
+        }
+        return inserted;
+    }
+
+    private static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (RuntimeException e) {
+            log.warn("Could not detect database product, using MERGE for interactions: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -11,7 +11,6 @@ import com.recipehub.backendrecipehub.exception.InvalidCredentialsException;
 import com.recipehub.backendrecipehub.model.User;
 import com.recipehub.backendrecipehub.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,12 +23,12 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordHashingService passwordHashingService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
     }
 
     public UserResponseDTO registerUser(UserRequestDTO userRequestDTO) {
@@ -45,7 +44,7 @@ public class UserService {
         
         // Convert DTO to User entity
         User user = UserMapper.toEntity(userRequestDTO);
-        user.setPassword(passwordEncoder.encode(userRequestDTO.getPassword()));
+        user.setPassword(passwordHashingService.encode(userRequestDTO.getPassword()));
         
         User savedUser = userRepository.save(user);
         return UserMapper.toResponseDTO(savedUser);
@@ -55,7 +54,13 @@ public class UserService {
         Optional<User> userOpt = findUserByUsernameOrEmail(usernameOrEmail);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            if (passwordEncoder.matches(password, user.getPassword())) {
+            if (passwordHashingService.matches(password, user.getPassword())) {
+                // The BCrypt cost was raised since this hash was made; the plain password is only
+                // available now, so upgrade it while we have it
+                if (passwordHashingService.needsRehash(user.getPassword())) {
+                    user.setPassword(passwordHashingService.encode(password));
+                    user = userRepository.save(user);
+                }
                 return Optional.of(UserMapper.toResponseDTO(user));
             }
         }
@@ -63,15 +68,15 @@ public class UserService {
     }
 
     private Optional<User> findUserByUsernameOrEmail(String usernameOrEmail) {
-        // Try to find user by username first
-        Optional<User> userOpt = userRepository.findByUsernameAndDeletedFalse(usernameOrEmail);
-        
-        // If not found by username, try by email
-        if (userOpt.isEmpty()) {
-            userOpt = userRepository.findByEmailAndDeletedFalse(usernameOrEmail);
+        if (usernameOrEmail == null) {
+            return Optional.empty();
         }
-        
-        return userOpt;
+        // One query for both; a username match wins over another user's email
+        List<User> matches = userRepository.findActiveByUsernameOrEmail(usernameOrEmail);
+        return matches.stream()
+                .filter(user -> usernameOrEmail.equals(user.getUsername()))
+                .findFirst()
+                .or(() -> matches.stream().findFirst());
     }
 
 
@@ -101,7 +106,7 @@ public class UserService {
         u.setUsername("user_" + markerBase);
         u.setEmail(markerBase + "@example.invalid");
         // scramble password so login is impossible
-        u.setPassword(passwordEncoder.encode("ANON-" + UUID.randomUUID()));
+        u.setPassword(passwordHashingService.encode("ANON-" + UUID.randomUUID()));
         userRepository.save(u);
 
         // Soft delete via @SQLDelete (updates deleted=true, deleted_at=now())
@@ -122,7 +127,7 @@ public class UserService {
             }
             
             // Verify current password
-            if (!passwordEncoder.matches(updateDTO.getCurrentPassword(), user.getPassword())) {
+            if (!passwordHashingService.matches(updateDTO.getCurrentPassword(), user.getPassword())) {
                 throw new InvalidCredentialsException("Current password is incorrect");
             }
         }
@@ -153,7 +158,7 @@ public class UserService {
         
         // Update password if provided
         if (updateDTO.getNewPassword() != null && !updateDTO.getNewPassword().trim().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(updateDTO.getNewPassword()));
+            user.setPassword(passwordHashingService.encode(updateDTO.getNewPassword()));
             hasChanges = true;
         }
         
@@ -0,0 +1,121 @@
+package com.recipehub.backendrecipehub.specification;
+
+import com.recipehub.backendrecipehub.dto.RecipeSearchCriteria;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.TagCategory;
+import com.recipehub.backendrecipehub.repository.TagRepository;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Turns {@link RecipeSearchCriteria} into a single {@link Specification}.
+ * <p>
+ * Tag names are resolved to ids up front in one query, which also returns each tag's category
+ * and how many recipes carry it: a category filter naming a tag that is unknown, unused or in
+ * another category means the search cannot match anything, and the query is skipped. The tag
+ * filters then become LIKE predicates on the recipe's own tag_summary column, so no join on
+ * recipe_tag is needed. Predicates are always emitted in the same order, most selective first,
+ * so criteria with the same set of filters produce the same query shape and share one entry
+ * in Hibernate's criteria plan cache.
+ */
+@Component
+public class RecipeSearchPlanner {
+
+    private final TagRepository tagRepository;
+
+    public RecipeSearchPlanner(TagRepository tagRepository) {
+        this.tagRepository = tagRepository;
+    }
+
+    /** Returns empty when the criteria can be shown to match no recipe without running the search. */
+    public Optional<Specification<Recipe>> plan(RecipeSearchCriteria criteria) {
+        List<Specification<Recipe>> predicates = new ArrayList<>();
+
+        // A single author's recipes are the narrowest set and are served by idx_recipes_author
+        if (criteria.getAuthorId() != null) {
+            predicates.add(RecipeSpecification.hasAuthorId(criteria.getAuthorId()));
+        }
+
+        Map<TagCategory, String> categoryFilters = criteria.categoryFilters();
+        Set<String> anyNames = criteria.anyTagNames();
+        if (!categoryFilters.isEmpty() || !anyNames.isEmpty()) {
+            Map<String, ResolvedTag> usedTags = resolveUsedTags(categoryFilters.values(), anyNames);
+            Set<Long> requiredIds = new LinkedHashSet<>();
+            for (Map.Entry<TagCategory, String> filter : categoryFilters.entrySet()) {
+                ResolvedTag tag = usedTags.get(filter.getValue());
+                if (tag == null || !tag.isIn(filter.getKey())) {
+                    return Optional.empty();
+                }
+                requiredIds.add(tag.id());
+            }
+            Set<Long> anyIds = new LinkedHashSet<>();
+            for (String name : anyNames) {
+                ResolvedTag tag = usedTags.get(name);
+                if (tag != null) {
+                    anyIds.add(tag.id());
+                }
+            }
+            if (!anyNames.isEmpty() && anyIds.isEmpty()) {
+                return Optional.empty();
+            }
+            predicates.add(RecipeSpecification.hasTagIds(requiredIds, anyIds));
+        }
+
+        if (criteria.getIngredients() != null && !criteria.getIngredients().isEmpty()) {
+            predicates.add(RecipeSpecification.hasAllIngredients(criteria.getIngredients()));
+        }
+        if (isSet(criteria.getAuthor())) {
+            predicates.add(RecipeSpecification.hasAuthor(criteria.getAuthor()));
+        }
+        // Title substrings can use the pg_trgm index on PostgreSQL; ingredient substrings scan the
+        // catalog names, so they only filter rows the predicates above let through
+        if (isSet(criteria.getTitle())) {
+            predicates.add(RecipeSpecification.hasTitle(criteria.getTitle()));
+        }
+        if (isSet(criteria.getIngredient())) {
+            predicates.add(RecipeSpecification.hasIngredient(criteria.getIngredient()));
+        }
+        if (criteria.getCooked() != null) {
+            predicates.add(RecipeSpecification.isCooked(criteria.getCooked()));
+        }
+        if (criteria.getFavourite() != null) {
+            predicates.add(RecipeSpecification.isFavourite(criteria.getFavourite()));
+        }
+        predicates.add(RecipeSpecification.isPublic(true));
+
+        return Optional.of(Specification.allOf(predicates));
+    }
+
+    // Tags without a category yet still satisfy any category filter, as before categories existed
+    private record ResolvedTag(Long id, TagCategory category) {
+        boolean isIn(TagCategory filterCategory) {
+            return category == null || category == filterCategory;
+        }
+    }
+
+    // Lower-cased name -> tag, for tags that exist and are attached to at least one recipe
+    private Map<String, ResolvedTag> resolveUsedTags(Collection<String> categoryNames, Set<String> anyNames) {
+        Set<String> names = new LinkedHashSet<>(categoryNames);
+        names.addAll(anyNames);
+        Map<String, ResolvedTag> tags = new HashMap<>();
+        for (Object[] row : tagRepository.findUsageByLowerNameIn(names)) {
+            if (((Number) row[3]).intValue() > 0) {
+                tags.put((String) row[1], new ResolvedTag((Long) row[0], (TagCategory) row[2]));
+            }
+        }
+        return tags;
+    }
+
+    private static boolean isSet(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
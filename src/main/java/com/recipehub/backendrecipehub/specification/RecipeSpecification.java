@@ -1,16 +1,35 @@
 package com.recipehub.backendrecipehub.specification;
 
 import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.service.IngredientCatalogService;
 import jakarta.persistence.criteria.*;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class RecipeSpecification {
 
+    // Escape character for LIKE patterns built by containsPattern
+    public static final char LIKE_ESCAPE = '!';
+
+    // lower(title) LIKE '%...%' is the expression the PostgreSQL trigram index covers
     public static Specification<Recipe> hasTitle(String title) {
         return (root, query, cb) ->
-                cb.like(cb.lower(root.get("title")), "%" + title.toLowerCase() + "%");
+                cb.like(cb.lower(root.get("title")), containsPattern(title), LIKE_ESCAPE);
+    }
+
+    /**
+     * Case-insensitive substring pattern for {@code LIKE ... ESCAPE '!'}: the text is lower-cased
+     * and its own % and _ are escaped, so they match literally instead of acting as wildcards.
+     */
+    public static String containsPattern(String text) {
+        String escaped = text.trim().toLowerCase()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + escaped + "%";
     }
 
     public static Specification<Recipe> isPublic(Boolean isPublic) {
@@ -36,35 +55,29 @@ public class RecipeSpecification {
     }
 
     public static Specification<Recipe> hasAuthorId(Long authorId) {
-        return (root, query, cb) -> {
-            Join<Recipe, Object> authorJoin = root.join("author", JoinType.INNER);
-            return cb.equal(authorJoin.get("id"), authorId);
-        };
-    }
-
-    public static Specification<Recipe> hasTag(String tagName) {
-        return (root, query, cb) -> {
-            Join<Object, Object> tags = root.join("tags", JoinType.INNER);
-            return cb.equal(cb.lower(tags.get("name")), tagName.toLowerCase());
-        };
+        // Compares the author_id foreign key directly; no join on users
+        return (root, query, cb) ->
+                cb.equal(root.get("author").get("id"), authorId);
     }
 
-    public static Specification<Recipe> hasAnyTag(List<String> tagNames) {
+    /**
+     * All tag filters against the recipe's denormalized tag_summary: the recipe must carry every
+     * id in {@code requiredTagIds} and, when {@code anyTagIds} is not empty, at least one of those.
+     * Only the recipes row is read, so adding filters adds no joins and no duplicate rows.
+     */
+    public static Specification<Recipe> hasTagIds(Collection<Long> requiredTagIds, Collection<Long> anyTagIds) {
         return (root, query, cb) -> {
-            if (tagNames == null || tagNames.isEmpty()) {
-                return cb.conjunction();
+            Path<String> summary = root.get("tagSummary");
+            List<Predicate> predicates = new ArrayList<>();
+            for (Long tagId : requiredTagIds) {
+                predicates.add(cb.like(summary, Recipe.tagSummaryPattern(tagId)));
             }
-            Join<Object, Object> tags = root.join("tags", JoinType.INNER);
-            // Case-insensitive IN: lower(tag.name) IN lower(tagNames)
-            var lowered = tagNames.stream()
-                    .filter(n -> n != null)
-                    .map(String::toLowerCase)
-                    .toList();
-            CriteriaBuilder.In<String> inClause = cb.in(cb.lower(tags.get("name")));
-            for (String n : lowered) {
-                inClause.value(n);
+            if (!anyTagIds.isEmpty()) {
+                predicates.add(cb.or(anyTagIds.stream()
+                        .map(tagId -> cb.like(summary, Recipe.tagSummaryPattern(tagId)))
+                        .toArray(Predicate[]::new)));
             }
-            return inClause;
+            return cb.and(predicates.toArray(Predicate[]::new));
         };
     }
 
@@ -92,51 +105,45 @@ public class RecipeSpecification {
         };
     }
 
-    // Specific tag category filters
-    public static Specification<Recipe> hasCuisine(String cuisine) {
-        return hasTag(cuisine);
-    }
-
-    public static Specification<Recipe> hasDifficulty(String difficulty) {
-        return hasTag(difficulty);
-    }
-
-    public static Specification<Recipe> hasMealType(String mealType) {
-        return hasTag(mealType);
-    }
-
-    public static Specification<Recipe> hasDietary(String dietary) {
-        return hasTag(dietary);
-    }
-
-    public static Specification<Recipe> hasCookingMethod(String cookingMethod) {
-        return hasTag(cookingMethod);
-    }
-
-    public static Specification<Recipe> hasOccasion(String occasion) {
-        return hasTag(occasion);
-    }
-
-    public static Specification<Recipe> hasSeason(String season) {
-        return hasTag(season);
-    }
-
-    public static Specification<Recipe> hasHealth(String health) {
-        return hasTag(health);
-    }
-
+    /**
+     * Case-insensitive substring match on the recipe's catalog ingredient names. The ingredients
+     * column itself may hold Smile or a content-blob reference rather than JSON, so it is not
+     * searched; the catalog names are already trimmed and lower-cased.
+     */
     public static Specification<Recipe> hasIngredient(String ingredient) {
         return (root, query, cb) -> {
             if (ingredient == null || ingredient.isBlank()) return cb.conjunction();
-            // ingredients is stored as TEXT via converter; compare as lower(text)
-            return cb.like(
-                cb.lower(root.get("ingredients").as(String.class)),
-                "%" + ingredient.toLowerCase() + "%"
-            );
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Recipe> subRoot = subquery.from(Recipe.class);
+            Join<Object, Object> ingredientJoin = subRoot.join("catalogIngredients");
+            subquery.select(subRoot.get("id"))
+                    .where(cb.like(ingredientJoin.get("name"), containsPattern(ingredient), LIKE_ESCAPE));
+            return cb.in(root.get("id")).value(subquery);
         };
     }
 
-    public static Specification<Recipe> hasSpecialFeature(String specialFeature) {
-        return hasTag(specialFeature);
+    // Exact (normalized) match on the ingredient catalog; every name must be present on the recipe
+    public static Specification<Recipe> hasAllIngredients(List<String> ingredientNames) {
+        return (root, query, cb) -> {
+            if (ingredientNames == null || ingredientNames.isEmpty()) {
+                return cb.conjunction();
+            }
+            // Same normalization as the catalog names were stored with
+            var normalized = IngredientCatalogService.normalizeAll(ingredientNames);
+            if (normalized.isEmpty()) {
+                return cb.conjunction();
+            }
+
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Recipe> subRoot = subquery.from(Recipe.class);
+            Join<Object, Object> ingredientJoin = subRoot.join("catalogIngredients");
+
+            subquery.select(subRoot.get("id"))
+                    .where(ingredientJoin.get("name").in(normalized))
+                    .groupBy(subRoot.get("id"))
+                    .having(cb.equal(cb.countDistinct(ingredientJoin.get("id")), normalized.size()));
+
+            return cb.in(root.get("id")).value(subquery);
+        };
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+-- Partial indexes for PostgreSQL, applied after Hibernate has created or updated the schema
+-- (see PartialIndexInitializer). Each index only covers the rows its queries can return:
+-- @SQLRestriction adds deleted = false to every recipe query, and the public finders add
+-- is_public = true. Statements must stay idempotent, as they run on every startup.
+-- Built CONCURRENTLY so adding them to a live table does not block writes. The plain foreign key
+-- indexes on Recipe (idx_recipes_author, idx_recipes_original_recipe) serve everything else.
+
+-- RecipeRepository.findByAuthorIdAndIsPublicTrue, RecipeSpecification.hasAuthorId with isPublic
+CREATE INDEX CONCURRENTLY IF NOT EXISTS pidx_recipes_author_public
+    ON recipes (author_id, created_at DESC) WHERE deleted = false AND is_public = true;
+
+-- RecipeRepository.findByIsPublicTrue and the public listing, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS pidx_recipes_public_created
+    ON recipes (created_at DESC) WHERE deleted = false AND is_public = true;
+
+-- RecipeRepository.findPublicDirectForks
+CREATE INDEX CONCURRENTLY IF NOT EXISTS pidx_recipes_original_public
+    ON recipes (original_recipe_id) WHERE deleted = false AND is_public = true;
+
+-- RecipeRepository.findPublicDescendants / countPublicForks: prefix LIKE needs pattern ops
+-- unless the database collation is C
+CREATE INDEX CONCURRENTLY IF NOT EXISTS pidx_recipes_lineage_public
+    ON recipes (lineage_path text_pattern_ops) WHERE deleted = false AND is_public = true;
+
+-- RecipeRepository.findMostForkedPublic
+CREATE INDEX CONCURRENTLY IF NOT EXISTS pidx_recipes_most_forked
+    ON recipes (fork_count DESC, id) WHERE deleted = false AND is_public = true AND fork_count > 0;
+
+-- ContentBlobStore.sweepUnreferenced: only content moved out to a blob holds a short reference;
+-- inline content can exceed the btree row size, so it is left out
+CREATE INDEX CONCURRENTLY IF NOT EXISTS pidx_recipes_ingredients_blob
+    ON recipes (ingredients) WHERE ingredients LIKE 'sha256:%';
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS pidx_recipes_instructions_blob
+    ON recipes (instructions) WHERE instructions LIKE 'sha256:%';
+
+-- SoftDeletePurgeService: the purge candidates are the only rows with deleted = true
+CREATE INDEX CONCURRENTLY IF NOT EXISTS pidx_recipes_purge
+    ON recipes (deleted_at) WHERE deleted = true;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS pidx_users_purge
+    ON users (deleted_at) WHERE deleted = true;
+
+-- Superseded: the composite indexes Hibernate created before these partial ones covered the same
+-- queries, and the live-author index is served by idx_recipes_author. Dropped so writes stop
+-- maintaining them.
+DROP INDEX CONCURRENTLY IF EXISTS idx_recipes_author_visible;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_recipes_public_created;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_recipes_original_visible;
+
+DROP INDEX CONCURRENTLY IF EXISTS pidx_recipes_author_live;
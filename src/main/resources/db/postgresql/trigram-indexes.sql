@@ -0,0 +1,16 @@
+-- Trigram indexes for PostgreSQL, applied after partial-indexes.sql (see PartialIndexInitializer).
+-- They serve the unanchored LIKE '%...%' predicates that a B-tree cannot. pg_trgm ships with
+-- PostgreSQL and is a trusted extension, so the database owner can create it; if that is not
+-- allowed the initializer logs a warning and these queries fall back to sequential scans.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- RecipeSpecification.hasTagIds: tag and category filters match recipes.tag_summary with LIKE '%|id|%'
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tidx_recipes_tag_summary_public
+    ON recipes USING gin (tag_summary gin_trgm_ops) WHERE deleted = false AND is_public = true;
+
+-- RecipeSpecification.hasTitle and RecipeRepository.findByTitleLike: lower(title) LIKE '%...%'.
+-- Covers private rows too, for findByTitleLike; the search adds is_public = true as a filter.
+-- Patterns shorter than 3 characters have no trigrams and still scan.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tidx_recipes_title_live
+    ON recipes USING gin (lower(title) gin_trgm_ops) WHERE deleted = false;
@@ -0,0 +1,111 @@
+package com.recipehub.backendrecipehub.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipehub.backendrecipehub.converter.ContentEncoding;
+import com.recipehub.backendrecipehub.converter.IngredientListConverter;
+import com.recipehub.backendrecipehub.converter.InstructionListConverter;
+import com.recipehub.backendrecipehub.converter.JsonCodecs;
+import com.recipehub.backendrecipehub.converter.RecipeContentCodec;
+import com.recipehub.backendrecipehub.dto.IngredientDTO;
+import com.recipehub.backendrecipehub.model.Ingredient;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the entity hydration path before and after sharing Jackson readers/writers.
+ * "legacy" mirrors the old converters (own ObjectMapper, new TypeReference per call) and
+ * the old per-request ObjectMapper in RecipeService.createRecipeFromRequest.
+ * The smile variants read the same content from the Smile column encoding.
+ *
+ * Run with allocation profiling (JMH forks need the classpath on the command line):
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *       com.recipehub.backendrecipehub.benchmark.RecipeContentConverterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeContentConverterBenchmark {
+
+    private final ObjectMapper legacyConverterMapper = new ObjectMapper();
+    private final RecipeContentCodec jsonCodec = new RecipeContentCodec(ContentEncoding.JSON);
+    private final IngredientListConverter ingredientConverter = new IngredientListConverter(jsonCodec);
+    private final InstructionListConverter instructionConverter = new InstructionListConverter(jsonCodec);
+
+    private String ingredientsJson;
+    private String instructionsJson;
+    private String ingredientsSmile;
+    private String instructionsSmile;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<Ingredient> ingredients = new ArrayList<>();
+        List<String> instructions = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ingredients.add(Ingredient.builder().name("Ingredient " + i).unit(i % 2 == 0 ? "cup" : "tbsp").quantity(i + 0.5).build());
+            instructions.add("Step " + i + ": stir the mixture gently and let it rest for a few minutes");
+        }
+        ingredientsJson = legacyConverterMapper.writeValueAsString(ingredients);
+        instructionsJson = legacyConverterMapper.writeValueAsString(instructions);
+        ingredientsSmile = jsonCodec.writeIngredients(ingredients, ContentEncoding.SMILE);
+        instructionsSmile = jsonCodec.writeInstructions(instructions, ContentEncoding.SMILE);
+        System.out.printf("column size json=%d smile=%d chars%n",
+                ingredientsJson.length() + instructionsJson.length(),
+                ingredientsSmile.length() + instructionsSmile.length());
+    }
+
+    @Benchmark
+    public Object hydrateLegacy() throws Exception {
+        List<Ingredient> ingredients = legacyConverterMapper.readValue(ingredientsJson, new TypeReference<>() {});
+        List<String> instructions = legacyConverterMapper.readValue(instructionsJson, new TypeReference<List<String>>() {});
+        return ingredients.size() + instructions.size();
+    }
+
+    @Benchmark
+    public Object hydrateShared() {
+        List<Ingredient> ingredients = ingredientConverter.convertToEntityAttribute(ingredientsJson);
+        List<String> instructions = instructionConverter.convertToEntityAttribute(instructionsJson);
+        return ingredients.size() + instructions.size();
+    }
+
+    @Benchmark
+    public Object hydrateSmile() {
+        List<Ingredient> ingredients = ingredientConverter.convertToEntityAttribute(ingredientsSmile);
+        List<String> instructions = instructionConverter.convertToEntityAttribute(instructionsSmile);
+        return ingredients.size() + instructions.size();
+    }
+
+    @Benchmark
+    public Object parseRequestPerRequestMapper() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<IngredientDTO> ingredients = mapper.readValue(ingredientsJson,
+                mapper.getTypeFactory().constructCollectionType(List.class, IngredientDTO.class));
+        List<String> instructions = mapper.readValue(instructionsJson,
+                mapper.getTypeFactory().constructCollectionType(List.class, String.class));
+        return ingredients.size() + instructions.size();
+    }
+
+    @Benchmark
+    public Object parseRequestShared() throws Exception {
+        List<IngredientDTO> ingredients = JsonCodecs.INGREDIENT_DTO_LIST_READER.readValue(ingredientsJson);
+        List<String> instructions = JsonCodecs.STRING_LIST_READER.readValue(instructionsJson);
+        return ingredients.size() + instructions.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecipeContentConverterBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,110 @@
+package com.recipehub.backendrecipehub.benchmark;
+
+import com.recipehub.backendrecipehub.specification.RecipeSpecification;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Substring title search on PostgreSQL with and without the pg_trgm index from
+ * db/postgresql/trigram-indexes.sql, at 10k, 100k and 1M recipes. The query has the shape
+ * RecipeSpecification.hasTitle produces for a public search, run against a scratch copy of the
+ * relevant recipes columns so the data set can be sized freely. Titles combine words from fixed
+ * lists, so "chicken" matches 1 in 20 rows at every size and "saffron" none.
+ *
+ * Needs a PostgreSQL database the benchmark may create a table and the pg_trgm extension in:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+ *   java -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/recipehub_bench \
+ *       -Dbenchmark.jdbc.user=postgres -Dbenchmark.jdbc.password=postgres \
+ *       -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *       com.recipehub.backendrecipehub.benchmark.TitleSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TitleSearchBenchmark {
+
+    private static final String FIRST_WORDS = "ARRAY['Chicken','Beef','Pork','Lamb','Tofu','Salmon','Shrimp','Turkey','Duck','Tuna',"
+            + "'Mushroom','Lentil','Chickpea','Spinach','Potato','Tomato','Pumpkin','Egg','Cod','Bean']";
+    private static final String SECOND_WORDS = "ARRAY['Spicy','Creamy','Smoky','Crispy','Garlic','Lemon','Honey','Ginger','Herb','Pepper',"
+            + "'Sweet','Sour','Roasted','Grilled','Baked','Fried','Braised','Steamed','Glazed','Tangy']";
+    private static final String DISHES = "ARRAY['Curry','Stew','Soup','Salad','Pie','Tacos','Burger','Pasta','Risotto','Bowl',"
+            + "'Wrap','Skewers','Casserole','Bake','Sandwich','Noodles','Fritters','Tart','Chowder','Hash',"
+            + "'Masala','Paella','Gratin','Kebab','Lasagne']";
+
+    @Param({"10000", "100000", "1000000"})
+    public int recipes;
+
+    @Param({"false", "true"})
+    public boolean trigramIndex;
+
+    @Param({"chicken", "saffron"})
+    public String term;
+
+    private Connection connection;
+    private PreparedStatement search;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/recipehub_bench"),
+                System.getProperty("benchmark.jdbc.user", "postgres"),
+                System.getProperty("benchmark.jdbc.password", "postgres"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            statement.execute("DROP TABLE IF EXISTS bench_recipes");
+            statement.execute("CREATE TABLE bench_recipes (id bigint PRIMARY KEY, title varchar(255), "
+                    + "is_public boolean NOT NULL, deleted boolean NOT NULL)");
+            statement.execute("INSERT INTO bench_recipes "
+                    + "SELECT g, (" + FIRST_WORDS + ")[1 + g % 20] || ' ' || (" + SECOND_WORDS + ")[1 + (g / 20) % 20] "
+                    + "|| ' ' || (" + DISHES + ")[1 + (g / 400) % 25], g % 10 <> 0, g % 50 = 0 "
+                    + "FROM generate_series(1, " + recipes + ") g");
+            if (trigramIndex) {
+                // Same definition as tidx_recipes_title_live
+                statement.execute("CREATE INDEX ON bench_recipes USING gin (lower(title) gin_trgm_ops) WHERE deleted = false");
+            }
+            statement.execute("ANALYZE bench_recipes");
+        }
+        search = connection.prepareStatement("SELECT id, title FROM bench_recipes "
+                + "WHERE lower(title) LIKE ? ESCAPE '" + RecipeSpecification.LIKE_ESCAPE + "' "
+                + "AND is_public = true AND deleted = false");
+        search.setString(1, RecipeSpecification.containsPattern(term));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_recipes");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int searchTitle() throws SQLException {
+        int rows = 0;
+        try (ResultSet resultSet = search.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TitleSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -7,6 +7,7 @@ import com.recipehub.backendrecipehub.dto.UserResponseDTO;
 import com.recipehub.backendrecipehub.model.User;
 import com.recipehub.backendrecipehub.repository.UserRepository;
 import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.repository.RecipeBookEntryRepository;
 import com.recipehub.backendrecipehub.repository.RecipeBookRepository;
 import com.recipehub.backendrecipehub.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,6 +41,9 @@ class AuthControllerIntegrationTest {
     @Autowired
     private RecipeBookRepository recipeBookRepository;
 
+    @Autowired
+    private RecipeBookEntryRepository recipeBookEntryRepository;
+
     @Autowired
     private UserService userService;
 
@@ -54,6 +58,7 @@ class AuthControllerIntegrationTest {
         objectMapper = new ObjectMapper();
         
         // Clean up in correct order to avoid foreign key constraints
+        recipeBookEntryRepository.deleteAllInBatch();
         recipeRepository.deleteAllInBatch();
         recipeBookRepository.deleteAllInBatch();
         userRepository.deleteAllInBatch();
@@ -3,7 +3,9 @@ package com.recipehub.backendrecipehub.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.recipehub.backendrecipehub.dto.RecipeBookDTO;
 import com.recipehub.backendrecipehub.dto.UserRequestDTO;
+import com.recipehub.backendrecipehub.model.Recipe;
 import com.recipehub.backendrecipehub.model.User;
+import com.recipehub.backendrecipehub.repository.RecipeBookEntryRepository;
 import com.recipehub.backendrecipehub.repository.RecipeBookRepository;
 import com.recipehub.backendrecipehub.repository.RecipeRepository;
 import com.recipehub.backendrecipehub.repository.UserRepository;
@@ -22,6 +24,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +40,9 @@ class RecipeBookControllerIntegrationTest {
     @Autowired
     private RecipeBookRepository recipeBookRepository;
 
+    @Autowired
+    private RecipeBookEntryRepository recipeBookEntryRepository;
+
     @Autowired
     private RecipeRepository recipeRepository;
 
@@ -59,6 +65,7 @@ class RecipeBookControllerIntegrationTest {
         objectMapper = new ObjectMapper();
         
         // Clean up (hard delete to avoid soft-delete uniqueness conflicts)
+        recipeBookEntryRepository.deleteAllInBatch();
         recipeBookRepository.deleteAllInBatch();
         recipeRepository.deleteAllInBatch();
         userRepository.deleteAllInBatch();
@@ -150,4 +157,99 @@ class RecipeBookControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].name").value("Test Recipe Book"))
                 .andExpect(jsonPath("$[0].userId").value(testUser.getId()));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testAddRemoveAndReorderRecipes() throws Exception {
+        Long first = createRecipe("First").getId();
+        Long second = createRecipe("Second").getId();
+        Long third = createRecipe("Third").getId();
+        Long fourth = createRecipe("Fourth").getId();
+
+        RecipeBookCreateRequest recipeBookRequest = new RecipeBookCreateRequest();
+        recipeBookRequest.setName("Ordered Book");
+        recipeBookRequest.setIsPublic(true);
+        recipeBookRequest.setUserId(testUser.getId());
+        recipeBookRequest.setRecipeIds(List.of(first, second, third));
+        Long bookId = recipeBookService.createRecipeBook(recipeBookRequest).getId();
+
+        mockMvc.perform(post("/api/recipebooks/" + bookId + "/recipes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"recipeIds\":[" + fourth + "," + first + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipeIds.length()").value(4))
+                .andExpect(jsonPath("$.recipeIds[3]").value(fourth));
+
+        mockMvc.perform(delete("/api/recipebooks/" + bookId + "/recipes/" + third))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipeIds.length()").value(3));
+
+        // Move first after second, then fourth to the front
+        mockMvc.perform(put("/api/recipebooks/" + bookId + "/recipes/" + first + "/position")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"afterRecipeId\":" + second + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipeIds[0]").value(second))
+                .andExpect(jsonPath("$.recipeIds[1]").value(first));
+
+        mockMvc.perform(put("/api/recipebooks/" + bookId + "/recipes/" + fourth + "/position")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipeIds[0]").value(fourth))
+                .andExpect(jsonPath("$.recipeIds[1]").value(second))
+                .andExpect(jsonPath("$.recipeIds[2]").value(first));
+
+        mockMvc.perform(delete("/api/recipebooks/" + bookId + "/recipes")
+                .param("recipeIds", second.toString(), first.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipeIds.length()").value(1));
+    }
+
+    @Test
+    void testGetRecipeBookRecipes_PagesWithCursor() throws Exception {
+        Long first = createRecipe("First").getId();
+        Long hidden = createRecipe("Private", false).getId();
+        Long second = createRecipe("Second").getId();
+        Long third = createRecipe("Third").getId();
+
+        RecipeBookCreateRequest recipeBookRequest = new RecipeBookCreateRequest();
+        recipeBookRequest.setName("Paged Book");
+        recipeBookRequest.setIsPublic(true);
+        recipeBookRequest.setUserId(testUser.getId());
+        recipeBookRequest.setRecipeIds(List.of(first, hidden, second, third));
+        Long bookId = recipeBookService.createRecipeBook(recipeBookRequest).getId();
+
+        String body = mockMvc.perform(get("/api/recipebooks/" + bookId + "/recipes").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipes.length()").value(2))
+                .andExpect(jsonPath("$.recipes[0].id").value(first))
+                .andExpect(jsonPath("$.recipes[1].id").value(second))
+                .andExpect(jsonPath("$.recipes[0].ingredients").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/recipebooks/" + bookId + "/recipes").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipes.length()").value(1))
+                .andExpect(jsonPath("$.recipes[0].id").value(third))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/recipebooks/" + bookId + "/recipes").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Recipe createRecipe(String title) {
+        return createRecipe(title, true);
+    }
+
+    private Recipe createRecipe(String title, boolean isPublic) {
+        Recipe recipe = new Recipe();
+        recipe.setTitle(title);
+        recipe.setAuthor(testUser);
+        recipe.setPublic(isPublic);
+        recipe.setIngredients(List.of());
+        recipe.setInstructions(List.of());
+        return recipeRepository.save(recipe);
+    }
+}
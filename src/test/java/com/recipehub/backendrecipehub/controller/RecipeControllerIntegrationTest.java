@@ -199,6 +199,7 @@ class RecipeControllerIntegrationTest {
                 .andExpect(jsonPath("$.recipeBooks").isArray())
                 .andExpect(jsonPath("$.totalRecipes").value(1))
                 .andExpect(jsonPath("$.totalRecipeBooks").value(1))
+                .andExpect(jsonPath("$.partial").value(false))
                 .andExpect(jsonPath("$.recipes[0].title").value("Test Recipe for Author Search"))
                 .andExpect(jsonPath("$.recipeBooks[0].name").value("Test Recipe Book"));
     }
@@ -755,4 +756,110 @@ class RecipeControllerIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Unknown tag: InvalidTag"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testSearchWithFacets_CountsTagsWithinResults() throws Exception {
+        createTaggedRecipe("Margherita", "[\"Italian\",\"Easy\",\"Quick\"]");
+        createTaggedRecipe("Carbonara", "[\"Italian\",\"Quick\"]");
+        createTaggedRecipe("Burrito", "[\"Mexican\",\"Easy\"]");
+
+        mockMvc.perform(get("/api/recipes/search")
+                .param("cuisine", "Italian")
+                .param("facets", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipes.length()").value(2))
+                .andExpect(jsonPath("$.facets.length()").value(3))
+                .andExpect(jsonPath("$.facets[0].name").value("Italian"))
+                .andExpect(jsonPath("$.facets[0].recipeCount").value(2))
+                .andExpect(jsonPath("$.facets[1].name").value("Quick"))
+                .andExpect(jsonPath("$.facets[1].recipeCount").value(2))
+                .andExpect(jsonPath("$.facets[2].name").value("Easy"))
+                .andExpect(jsonPath("$.facets[2].recipeCount").value(1));
+
+        // Without the flag the response stays a plain array
+        mockMvc.perform(get("/api/recipes/search")
+                .param("cuisine", "Italian"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void testSuggest_CompletesTitlesAndToleratesTypos() throws Exception {
+        createTaggedRecipe("Zucchini Fritters", "[\"Italian\"]");
+
+        mockMvc.perform(get("/api/search/suggest")
+                .param("prefix", "zucch"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].text").value("Zucchini Fritters"))
+                .andExpect(jsonPath("$[0].type").value("title"))
+                .andExpect(jsonPath("$[0].corrected").value(false));
+
+        mockMvc.perform(get("/api/search/suggest")
+                .param("prefix", "zuchini"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].text").value("Zucchini Fritters"))
+                .andExpect(jsonPath("$[0].corrected").value(true));
+
+        mockMvc.perform(get("/api/search/suggest")
+                .param("prefix", "zucch")
+                .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSimilarRecipes_RanksByIngredientAndTagOverlap() throws Exception {
+        Long margherita = createTaggedRecipe("Margherita", "[\"Italian\",\"Easy\",\"Quick\"]");
+        Long carbonara = createTaggedRecipe("Carbonara", "[\"Italian\",\"Quick\"]");
+        createTaggedRecipe("Burrito", "[\"Mexican\",\"Easy\"]");
+
+        mockMvc.perform(get("/api/recipes/" + margherita + "/similar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recipe.id").value(carbonara))
+                .andExpect(jsonPath("$[0].similarity").value(0.75));
+
+        // Forks are indexed as they are created and match their original exactly
+        RecipeRequestDTO forkRequest = new RecipeRequestDTO();
+        forkRequest.setAuthorId(testUser.getId());
+        MvcResult fork = mockMvc.perform(post("/api/recipes/" + margherita + "/fork")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(forkRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        long forkId = objectMapper.readTree(fork.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(get("/api/recipes/" + margherita + "/similar")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].recipe.id").value(forkId))
+                .andExpect(jsonPath("$[0].similarity").value(1.0));
+
+        mockMvc.perform(get("/api/recipes/999999/similar"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/recipes/" + margherita + "/similar")
+                .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long createTaggedRecipe(String title, String tagNamesJson) throws Exception {
+        IngredientDTO ingredient = new IngredientDTO();
+        ingredient.setName("Test Ingredient");
+        ingredient.setUnit("cup");
+        ingredient.setQuantity(1.0);
+
+        MvcResult result = mockMvc.perform(post("/api/recipes")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .param("title", title)
+                .param("description", "Test Description")
+                .param("ingredients", objectMapper.writeValueAsString(List.of(ingredient)))
+                .param("instructions", objectMapper.writeValueAsString(List.of("Cook")))
+                .param("authorId", testUser.getId().toString())
+                .param("isPublic", "true")
+                .param("cooked", "false")
+                .param("favourite", "false")
+                .param("tagNames", tagNamesJson))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+}
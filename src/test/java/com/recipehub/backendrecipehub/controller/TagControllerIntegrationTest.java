@@ -7,6 +7,7 @@ import com.recipehub.backendrecipehub.dto.UserRequestDTO;
 import com.recipehub.backendrecipehub.model.Recipe;
 import com.recipehub.backendrecipehub.model.Tag;
 import com.recipehub.backendrecipehub.model.User;
+import com.recipehub.backendrecipehub.repository.RecipeBookEntryRepository;
 import com.recipehub.backendrecipehub.repository.RecipeBookRepository;
 import com.recipehub.backendrecipehub.repository.RecipeRepository;
 import com.recipehub.backendrecipehub.repository.TagRepository;
@@ -47,6 +48,9 @@ class TagControllerIntegrationTest {
     @Autowired
     private RecipeBookRepository recipeBookRepository;
 
+    @Autowired
+    private RecipeBookEntryRepository recipeBookEntryRepository;
+
     @Autowired
     private RecipeRepository recipeRepository;
 
@@ -73,6 +77,7 @@ class TagControllerIntegrationTest {
         objectMapper = new ObjectMapper();
         
         // Clean up in correct order to avoid foreign key constraint violations
+        recipeBookEntryRepository.deleteAllInBatch();
         recipeRepository.deleteAllInBatch();
         recipeBookRepository.deleteAllInBatch();
         // Do NOT delete predefined tags seeded by data.sql
@@ -1,14 +1,21 @@
 package com.recipehub.backendrecipehub.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipehub.backendrecipehub.dto.InteractionUpdateRequest;
 import com.recipehub.backendrecipehub.dto.UserRequestDTO;
 import com.recipehub.backendrecipehub.dto.UserUpdateDTO;
 import com.recipehub.backendrecipehub.model.User;
 import com.recipehub.backendrecipehub.repository.UserRepository;
 import com.recipehub.backendrecipehub.repository.RecipeRepository;
 import com.recipehub.backendrecipehub.repository.RecipeBookRepository;
+import com.recipehub.backendrecipehub.repository.RecipeBookEntryRepository;
 import com.recipehub.backendrecipehub.model.Recipe;
 import com.recipehub.backendrecipehub.model.RecipeBook;
+import com.recipehub.backendrecipehub.model.RecipeBookEntry;
+import com.recipehub.backendrecipehub.model.Tag;
+import com.recipehub.backendrecipehub.index.RecommendationIndex;
+import com.recipehub.backendrecipehub.repository.TagRepository;
+import com.recipehub.backendrecipehub.repository.UserRecipeInteractionRepository;
 import com.recipehub.backendrecipehub.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +29,8 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 
+import java.util.List;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -42,9 +51,21 @@ class UserControllerIntegrationTest {
     @Autowired
     private RecipeBookRepository recipeBookRepository;
 
+    @Autowired
+    private RecipeBookEntryRepository recipeBookEntryRepository;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private RecommendationIndex recommendationIndex;
+
+    @Autowired
+    private UserRecipeInteractionRepository interactionRepository;
+
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
     private User testUser;
@@ -57,7 +78,9 @@ class UserControllerIntegrationTest {
         objectMapper = new ObjectMapper();
         
         // Clean up and create test user (hard delete to avoid soft-delete constraints)
+        recipeBookEntryRepository.deleteAllInBatch();
         recipeBookRepository.deleteAllInBatch();
+        interactionRepository.deleteAllInBatch();
         recipeRepository.deleteAllInBatch();
         userRepository.deleteAllInBatch();
         
@@ -111,6 +134,101 @@ class UserControllerIntegrationTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
 
+    private User saveOtherUser(long suffix) {
+        User other = new User();
+        other.setUsername("other_" + suffix);
+        other.setEmail("other_" + suffix + "@example.com");
+        other.setPassword("encodedpassword");
+        return userRepository.save(other);
+    }
+
+    private Recipe saveRecipe(String title, User author, boolean isPublic, Tag tag) {
+        Recipe recipe = new Recipe();
+        recipe.setTitle(title);
+        recipe.setDescription("Test description");
+        recipe.setAuthor(author);
+        recipe.setPublic(isPublic);
+        recipe.setIngredients(List.of());
+        recipe.setInstructions(List.of());
+        recipe.setTags(List.of(tag));
+        return recipeRepository.save(recipe);
+    }
+
+    @Test
+    void testGetRecommendations() throws Exception {
+        long suffix = System.nanoTime();
+        Tag thai = new Tag();
+        thai.setName("Thai_" + suffix);
+        thai = tagRepository.save(thai);
+        Tag baking = new Tag();
+        baking.setName("Baking_" + suffix);
+        baking = tagRepository.save(baking);
+        User other = saveOtherUser(suffix);
+        Recipe greenCurry = saveRecipe("My Green Curry", testUser, false, thai);
+        Recipe padThai = saveRecipe("Pad Thai", other, true, thai);
+        saveRecipe("Sourdough", other, true, baking);
+        recommendationIndex.rebuild();
+        mockMvc.perform(put("/api/users/" + testUser.getId() + "/interactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new InteractionUpdateRequest(List.of(greenCurry.getId()), null, true))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/" + testUser.getId() + "/recommendations").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].recipe.id").value(padThai.getId()))
+                .andExpect(jsonPath("$[0].score").isNumber());
+
+        mockMvc.perform(get("/api/users/" + other.getId() + "/recommendations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/users/999999/recommendations"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/users/" + testUser.getId() + "/recommendations").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testUpdateInteractions_MarksOtherUsersRecipes() throws Exception {
+        long suffix = System.nanoTime();
+        Tag tag = new Tag();
+        tag.setName("Weeknight_" + suffix);
+        tag = tagRepository.save(tag);
+        User other = saveOtherUser(suffix);
+        Recipe stew = saveRecipe("Stew", other, true, tag);
+        Recipe soup = saveRecipe("Soup", other, true, tag);
+        Recipe secret = saveRecipe("Secret Sauce", other, false, tag);
+
+        mockMvc.perform(put("/api/users/" + testUser.getId() + "/interactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new InteractionUpdateRequest(List.of(stew.getId(), soup.getId()), true, null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].recipeId").value(stew.getId()))
+                .andExpect(jsonPath("$[0].cooked").value(true))
+                .andExpect(jsonPath("$[0].favourite").value(false));
+
+        mockMvc.perform(get("/api/users/" + testUser.getId() + "/recipes/cooked"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(get("/api/users/" + other.getId() + "/recipes/cooked"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(put("/api/users/" + testUser.getId() + "/interactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new InteractionUpdateRequest(List.of(secret.getId()), null, true))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put("/api/users/" + testUser.getId() + "/interactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new InteractionUpdateRequest(List.of(stew.getId()), null, null))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testDeleteUserIsSoft_andKeepsRecipesAndBooks() throws Exception {
         // Create a recipe owned by user
@@ -131,8 +249,8 @@ class UserControllerIntegrationTest {
                 .isPublic(true)
                 .user(testUser)
                 .build();
-        book.getRecipes().add(recipe);
         book = recipeBookRepository.save(book);
+        recipeBookEntryRepository.save(new RecipeBookEntry(book.getId(), recipe.getId(), null));
 
         Long uid = testUser.getId();
         Long rid = recipe.getId();
@@ -39,6 +39,18 @@ class GlobalExceptionHandlerTest {
         assertEquals(404, body.get("status"));
     }
 
+    @Test
+    void handleServiceBusyException() {
+        ServiceBusyException ex = new ServiceBusyException("Too many logins in progress");
+        ResponseEntity<Map<String, Object>> response = handler.handleServiceBusyException(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        Map<String, Object> body = response.getBody();
+        assertNotNull(body);
+        assertEquals("Service busy", body.get("error"));
+        assertEquals(503, body.get("status"));
+    }
+
     @Test
     void handleUnauthorizedException() {
         UnauthorizedException ex = new UnauthorizedException("Access denied");
@@ -0,0 +1,83 @@
+package com.recipehub.backendrecipehub.index;
+
+import com.recipehub.backendrecipehub.event.RecipeChangedEvent;
+import com.recipehub.backendrecipehub.model.Ingredient;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PantryIndexTest {
+
+    private PantryIndex pantryIndex;
+
+    @BeforeEach
+    void setUp() {
+        pantryIndex = new PantryIndex(Mockito.mock(RecipeRepository.class));
+    }
+
+    private Recipe recipe(long id, boolean isPublic, String... ingredientNames) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setPublic(isPublic);
+        recipe.setIngredients(Arrays.stream(ingredientNames)
+                .map(name -> Ingredient.builder().name(name).unit("piece").quantity(1).build())
+                .toList());
+        return recipe;
+    }
+
+    @Test
+    void testMatch_RanksByCoverageAndListsMissing() {
+        pantryIndex.index(recipe(1, true, "Egg", "Butter"));
+        pantryIndex.index(recipe(2, true, "Egg", "Flour", "Milk", "Sugar"));
+        pantryIndex.index(recipe(3, true, "Rice", "Beans"));
+
+        List<PantryIndex.Match> matches = pantryIndex.match(List.of("egg", " BUTTER ", "milk"), 10, 0.0);
+
+        assertEquals(2, matches.size());
+        assertEquals(1L, matches.get(0).recipeId());
+        assertEquals(1.0, matches.get(0).coverage());
+        assertTrue(matches.get(0).missingIngredients().isEmpty());
+        assertEquals(2L, matches.get(1).recipeId());
+        assertEquals(0.5, matches.get(1).coverage());
+        assertEquals(List.of("Flour", "Sugar"), matches.get(1).missingIngredients());
+    }
+
+    @Test
+    void testMatch_AppliesLimitAndMinCoverage() {
+        pantryIndex.index(recipe(1, true, "Egg", "Butter"));
+        pantryIndex.index(recipe(2, true, "Egg", "Flour", "Milk", "Sugar"));
+
+        assertEquals(1, pantryIndex.match(List.of("egg"), 1, 0.0).size());
+        assertEquals(List.of(1L), pantryIndex.match(List.of("egg"), 10, 0.5).stream()
+                .map(PantryIndex.Match::recipeId).toList());
+        assertTrue(pantryIndex.match(List.of("caviar"), 10, 0.0).isEmpty());
+        assertEquals(2, pantryIndex.match(List.of("egg"), Integer.MAX_VALUE, 0.0).size());
+    }
+
+    @Test
+    void testRecipeChanges_ReindexAndRemove() {
+        Recipe recipe = recipe(1, true, "Egg", "Butter");
+        pantryIndex.onRecipeChanged(new RecipeChangedEvent(recipe, RecipeChangedEvent.ChangeType.CREATED));
+        assertEquals(1, pantryIndex.match(List.of("butter"), 10, 0.0).size());
+
+        recipe.setIngredients(List.of(Ingredient.builder().name("Egg").build()));
+        pantryIndex.onRecipeChanged(new RecipeChangedEvent(recipe, RecipeChangedEvent.ChangeType.UPDATED));
+        assertTrue(pantryIndex.match(List.of("butter"), 10, 0.0).isEmpty());
+
+        recipe.setPublic(false);
+        pantryIndex.onRecipeChanged(new RecipeChangedEvent(recipe, RecipeChangedEvent.ChangeType.UPDATED));
+        assertEquals(0, pantryIndex.size());
+
+        recipe.setPublic(true);
+        pantryIndex.onRecipeChanged(new RecipeChangedEvent(recipe, RecipeChangedEvent.ChangeType.UPDATED));
+        pantryIndex.onRecipeChanged(new RecipeChangedEvent(recipe, RecipeChangedEvent.ChangeType.DELETED));
+        assertEquals(0, pantryIndex.size());
+    }
+}
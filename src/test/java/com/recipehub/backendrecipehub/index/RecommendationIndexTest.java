@@ -0,0 +1,158 @@
+package com.recipehub.backendrecipehub.index;
+
+import com.recipehub.backendrecipehub.event.RecipeChangedEvent;
+import com.recipehub.backendrecipehub.event.UserInteractionsChangedEvent;
+import com.recipehub.backendrecipehub.model.CatalogIngredient;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.Tag;
+import com.recipehub.backendrecipehub.model.User;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.repository.UserRecipeInteractionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecommendationIndexTest {
+
+    private static final long INDIAN = 10, SPICY = 11, VEGAN = 12, ITALIAN = 13, MEXICAN = 14, EASY = 15;
+    private static final long CHICKEN = 100;
+
+    private RecipeRepository recipeRepository;
+    private RecommendationIndex recommendationIndex;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository = Mockito.mock(RecipeRepository.class);
+        recommendationIndex = new RecommendationIndex(recipeRepository, Mockito.mock(UserRecipeInteractionRepository.class));
+    }
+
+    private Recipe recipe(long id, long authorId, boolean isPublic, Long... tagIds) {
+        User author = new User();
+        author.setId(authorId);
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setAuthor(author);
+        recipe.setPublic(isPublic);
+        recipe.setTags(Arrays.stream(tagIds).map(tagId -> {
+            Tag tag = new Tag();
+            tag.setId(tagId);
+            return tag;
+        }).toList());
+        return recipe;
+    }
+
+    private void mark(long userId, long recipeId, boolean cooked, boolean favourite) {
+        recommendationIndex.onInteractionsChanged(new UserInteractionsChangedEvent(userId,
+                List.of(new UserInteractionsChangedEvent.Interaction(recipeId, cooked, favourite))));
+    }
+
+    private List<Long> recommendedIds(long userId) {
+        return recommendationIndex.recommend(userId, 10).stream()
+                .map(RecommendationIndex.Recommendation::recipeId)
+                .toList();
+    }
+
+    private void indexCatalog() {
+        Recipe privateFavourite = recipe(1, 1, false, INDIAN, SPICY);
+        CatalogIngredient chicken = new CatalogIngredient("chicken");
+        chicken.setId(CHICKEN);
+        privateFavourite.setCatalogIngredients(new HashSet<>(List.of(chicken)));
+        Mockito.when(recipeRepository.findAllById(List.of(1L))).thenReturn(List.of(privateFavourite));
+        recommendationIndex.index(privateFavourite);
+        recommendationIndex.index(recipe(2, 1, true, INDIAN, VEGAN, EASY));
+        recommendationIndex.index(recipe(3, 2, true, INDIAN, SPICY, EASY));
+        recommendationIndex.index(recipe(4, 2, true, ITALIAN, EASY));
+        recommendationIndex.index(recipe(5, 3, true, VEGAN, EASY));
+        recommendationIndex.index(recipe(6, 3, true, MEXICAN, EASY));
+        recommendationIndex.index(recipe(7, 3, true, ITALIAN, EASY));
+        recommendationIndex.index(recipe(8, 3, true, ITALIAN));
+        mark(1, 1, false, true);
+        mark(1, 2, true, false);
+    }
+
+    @Test
+    void testRecommend_RanksOtherAuthorsRecipesByAffinity() {
+        indexCatalog();
+
+        List<RecommendationIndex.Recommendation> recommendations = recommendationIndex.recommend(1L, 10);
+
+        // Own recipes are left out; "Easy" is on most of the catalog, so it finds no candidates
+        assertEquals(List.of(3L, 5L), recommendations.stream().map(RecommendationIndex.Recommendation::recipeId).toList());
+        assertTrue(recommendations.get(0).score() > recommendations.get(1).score());
+        assertTrue(recommendations.get(0).score() <= 1.0);
+        assertEquals(1, recommendationIndex.recommend(1L, 1).size());
+    }
+
+    @Test
+    void testRecommend_EmptyWithoutHistory() {
+        indexCatalog();
+
+        assertTrue(recommendedIds(3L).isEmpty());
+        assertTrue(recommendedIds(99L).isEmpty());
+    }
+
+    @Test
+    void testOnInteractionsChanged_UpdatesHistoryAndCandidates() {
+        indexCatalog();
+
+        mark(3, 6, true, false);
+        assertTrue(recommendedIds(3L).isEmpty());
+        // History is per user, so another author's recipe counts too and is then not recommended back
+        mark(3, 8, false, true);
+        mark(3, 7, true, false);
+        assertEquals(List.of(4L), recommendedIds(3L));
+
+        mark(3, 7, false, false);
+        mark(3, 8, false, false);
+        mark(3, 6, false, false);
+        assertTrue(recommendedIds(3L).isEmpty());
+        // A private recipe is only kept while it is in someone's history
+        mark(1, 1, false, false);
+        assertEquals(7, recommendationIndex.size());
+    }
+
+    @Test
+    void testOnRecipeChanged_UpdatesCandidates() {
+        indexCatalog();
+
+        recommendationIndex.onRecipeChanged(new RecipeChangedEvent(
+                recipe(3, 2, false, INDIAN, SPICY, EASY), RecipeChangedEvent.ChangeType.UPDATED));
+        assertEquals(List.of(5L), recommendedIds(1L));
+
+        recommendationIndex.onRecipeChanged(new RecipeChangedEvent(
+                recipe(5, 3, true, VEGAN, EASY), RecipeChangedEvent.ChangeType.DELETED));
+        assertTrue(recommendedIds(1L).isEmpty());
+        assertEquals(6, recommendationIndex.size());
+    }
+
+    @Test
+    void testRecommend_ScoresAtMostMaxCandidatesRecipes() {
+        int spicyOnly = RecommendationIndex.MAX_CANDIDATES + 500;
+        recommendationIndex.index(recipe(1, 2, true, INDIAN, SPICY));
+        // Oldest, so it is only reached through INDIAN before the SPICY posting fills the candidates
+        recommendationIndex.index(recipe(2, 2, true, INDIAN, SPICY));
+        for (long id = 10; id < 10 + spicyOnly; id++) {
+            recommendationIndex.index(recipe(id, 2, true, SPICY));
+        }
+        // Enough unrelated recipes that SPICY stays on fewer than half of them
+        for (long id = 100_000; id < 100_000 + spicyOnly + 2; id++) {
+            recommendationIndex.index(recipe(id, 2, true, MEXICAN));
+        }
+
+        mark(3, 1, false, true);
+
+        assertEquals(RecommendationIndex.MAX_CANDIDATES, recommendationIndex.candidateCount(3L));
+        List<RecommendationIndex.Recommendation> recommendations = recommendationIndex.recommend(3L, 10);
+        assertEquals(10, recommendations.size());
+        // Its SPICY weight is still added although that part of the posting was not walked
+        assertEquals(2L, recommendations.get(0).recipeId());
+        assertEquals(1.0, recommendations.get(0).score(), 1e-9);
+        assertTrue(recommendations.get(1).score() < 1.0);
+    }
+}
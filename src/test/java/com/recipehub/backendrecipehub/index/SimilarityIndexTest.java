@@ -0,0 +1,94 @@
+package com.recipehub.backendrecipehub.index;
+
+import com.recipehub.backendrecipehub.event.RecipeChangedEvent;
+import com.recipehub.backendrecipehub.model.Ingredient;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.Tag;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimilarityIndexTest {
+
+    private SimilarityIndex similarityIndex;
+
+    @BeforeEach
+    void setUp() {
+        similarityIndex = new SimilarityIndex(Mockito.mock(RecipeRepository.class));
+    }
+
+    private Recipe recipe(long id, boolean isPublic, List<String> tagNames, String... ingredientNames) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setPublic(isPublic);
+        recipe.setTags(tagNames.stream().map(name -> {
+            Tag tag = new Tag();
+            tag.setId((long) name.hashCode());
+            tag.setName(name);
+            return tag;
+        }).toList());
+        recipe.setIngredients(Arrays.stream(ingredientNames)
+                .map(name -> Ingredient.builder().name(name).unit("piece").quantity(1).build())
+                .toList());
+        return recipe;
+    }
+
+    private List<Long> similarIds(long recipeId) {
+        return similarityIndex.similar(recipeId, 10).stream().map(SimilarityIndex.Similar::recipeId).toList();
+    }
+
+    @Test
+    void testSimilar_RanksCandidatesByJaccard() {
+        similarityIndex.index(recipe(1, true, List.of("Italian"), "Tomato", "Basil", "Mozzarella", "Flour"));
+        similarityIndex.index(recipe(2, true, List.of("Italian"), "tomato ", "Basil", "Mozzarella", "Flour", "Olive Oil"));
+        similarityIndex.index(recipe(3, true, List.of("Italian"), "Tomato", "Basil", "Garlic", "Pasta"));
+        similarityIndex.index(recipe(4, true, List.of("Japanese"), "Rice", "Nori", "Salmon"));
+
+        List<SimilarityIndex.Similar> similar = similarityIndex.similar(1L, 10);
+
+        assertEquals(2L, similar.get(0).recipeId());
+        assertEquals(5.0 / 6, similar.get(0).similarity(), 1e-9);
+        assertFalse(similarIds(1L).contains(1L));
+        assertFalse(similarIds(1L).contains(4L));
+        assertEquals(1, similarityIndex.similar(1L, 1).size());
+        assertTrue(similarIds(99L).isEmpty());
+    }
+
+    @Test
+    void testSimilar_FindsNearDuplicatesAmongManyRecipes() {
+        // Unrelated recipes must not crowd out, or be mistaken for, a near duplicate
+        LongStream.rangeClosed(10, 500).forEach(id ->
+                similarityIndex.index(recipe(id, true, List.of("Tag" + id), "a" + id, "b" + id, "c" + id)));
+        similarityIndex.index(recipe(1, true, List.of("Dessert"), "Flour", "Sugar", "Butter", "Egg", "Vanilla"));
+        similarityIndex.index(recipe(2, true, List.of("Dessert"), "Flour", "Sugar", "Butter", "Egg", "Milk"));
+
+        assertEquals(List.of(2L), similarIds(1L));
+    }
+
+    @Test
+    void testOnRecipeChanged_UpdatesAndRemovesSignatures() {
+        similarityIndex.index(recipe(1, true, List.of("Soup"), "Leek", "Potato", "Stock"));
+        similarityIndex.index(recipe(2, true, List.of("Soup"), "Leek", "Potato", "Stock", "Cream"));
+
+        similarityIndex.onRecipeChanged(new RecipeChangedEvent(
+                recipe(3, true, List.of("Soup"), "Leek", "Potato", "Stock"), RecipeChangedEvent.ChangeType.FORKED));
+        assertEquals(List.of(3L, 2L), similarIds(1L));
+
+        similarityIndex.onRecipeChanged(new RecipeChangedEvent(
+                recipe(3, false, List.of("Soup"), "Leek", "Potato", "Stock"), RecipeChangedEvent.ChangeType.UPDATED));
+        similarityIndex.onRecipeChanged(new RecipeChangedEvent(
+                recipe(2, true, List.of("Salad"), "Lettuce", "Cucumber"), RecipeChangedEvent.ChangeType.UPDATED));
+        assertTrue(similarIds(1L).isEmpty());
+
+        similarityIndex.onRecipeChanged(new RecipeChangedEvent(
+                recipe(1, true, List.of()), RecipeChangedEvent.ChangeType.DELETED));
+        assertEquals(1, similarityIndex.size());
+    }
+}
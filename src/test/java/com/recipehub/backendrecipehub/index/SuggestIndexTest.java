@@ -0,0 +1,151 @@
+package com.recipehub.backendrecipehub.index;
+
+import com.recipehub.backendrecipehub.event.RecipeChangedEvent;
+import com.recipehub.backendrecipehub.model.Ingredient;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.Tag;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestIndexTest {
+
+    private SuggestIndex suggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        suggestIndex = new SuggestIndex(Mockito.mock(RecipeRepository.class));
+    }
+
+    private Recipe recipe(long id, boolean isPublic, String title, List<String> tagNames, String... ingredientNames) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setPublic(isPublic);
+        recipe.setTitle(title);
+        recipe.setTags(tagNames.stream().map(name -> {
+            Tag tag = new Tag();
+            tag.setId((long) name.hashCode());
+            tag.setName(name);
+            return tag;
+        }).toList());
+        recipe.setIngredients(Arrays.stream(ingredientNames)
+                .map(name -> Ingredient.builder().name(name).unit("piece").quantity(1).build())
+                .toList());
+        return recipe;
+    }
+
+    private List<String> texts(String prefix) {
+        return suggestIndex.suggest(prefix, 10).stream().map(SuggestIndex.Suggestion::text).toList();
+    }
+
+    @Test
+    void testSuggest_MatchesPrefixesOfTitlesTagsAndIngredients() {
+        suggestIndex.index(recipe(1, true, "Chicken Tikka Masala", List.of("Indian"), "Chicken", "Yogurt"));
+        suggestIndex.index(recipe(2, true, "Chickpea Curry", List.of("Vegan"), "Chickpeas"));
+
+        List<SuggestIndex.Suggestion> suggestions = suggestIndex.suggest("chick", 10);
+
+        assertEquals(4, suggestions.size());
+        assertTrue(suggestions.stream().allMatch(s -> s.edits() == 0));
+        assertEquals(List.of("Chicken Tikka Masala"), texts("masala"));
+        assertEquals(SuggestIndex.Kind.TAG, suggestIndex.suggest("ind", 10).get(0).kind());
+        assertEquals(SuggestIndex.Kind.INGREDIENT, suggestIndex.suggest("yog", 10).get(0).kind());
+    }
+
+    @Test
+    void testSuggest_ToleratesTyposWithinEditBudget() {
+        suggestIndex.index(recipe(1, true, "Lasagne", List.of("Italian")));
+
+        // One edit for 3-5 characters, two beyond; exact prefixes of 1-2 characters only
+        assertEquals(List.of("Lasagne"), texts("lsag"));
+        assertEquals(List.of("Italian"), texts("itlaian"));
+        assertTrue(texts("xxsagnx").isEmpty());
+        assertTrue(texts("la").contains("Lasagne"));
+        assertTrue(texts("ls").isEmpty());
+
+        SuggestIndex.Suggestion corrected = suggestIndex.suggest("lsag", 10).get(0);
+        assertEquals(1, corrected.edits());
+    }
+
+    @Test
+    void testSuggest_RanksExactBeforeCorrectedThenByRecipeCount() {
+        suggestIndex.index(recipe(1, true, "Pasta Bake", List.of(), "Pasta"));
+        suggestIndex.index(recipe(2, true, "Pesto", List.of(), "Pasta"));
+        suggestIndex.index(recipe(3, true, "Pastry Cream", List.of()));
+
+        List<SuggestIndex.Suggestion> suggestions = suggestIndex.suggest("past", 10);
+
+        assertEquals("pasta", suggestions.get(0).text());
+        assertEquals(2, suggestions.get(0).recipeCount());
+        assertEquals(List.of("pasta", "Pasta Bake", "Pastry Cream", "Pesto"),
+                suggestions.stream().map(SuggestIndex.Suggestion::text).toList());
+        assertEquals(1, suggestions.get(3).edits());
+        assertEquals(2, suggestIndex.suggest("past", 2).size());
+    }
+
+    @Test
+    void testOnRecipeChanged_UpdatesAndRemovesTerms() {
+        suggestIndex.index(recipe(1, true, "Pancakes", List.of(), "Flour"));
+        suggestIndex.index(recipe(2, true, "Crepes", List.of(), "Flour"));
+
+        suggestIndex.onRecipeChanged(new RecipeChangedEvent(
+                recipe(1, true, "Waffles", List.of(), "Flour"), RecipeChangedEvent.ChangeType.UPDATED));
+        assertTrue(texts("panc").isEmpty());
+        assertEquals(List.of("Waffles"), texts("waff"));
+        assertEquals(2, suggestIndex.suggest("flour", 10).get(0).recipeCount());
+
+        suggestIndex.onRecipeChanged(new RecipeChangedEvent(
+                recipe(2, false, "Crepes", List.of(), "Flour"), RecipeChangedEvent.ChangeType.UPDATED));
+        assertTrue(texts("crep").isEmpty());
+        assertEquals(1, suggestIndex.suggest("flour", 10).get(0).recipeCount());
+
+        suggestIndex.onRecipeChanged(new RecipeChangedEvent(
+                recipe(1, true, "Waffles", List.of()), RecipeChangedEvent.ChangeType.DELETED));
+        assertTrue(texts("flour").isEmpty());
+        assertEquals(0, suggestIndex.size());
+    }
+
+    @Test
+    void testSuggest_ReturnsATitleReachedFromTwoWordsOnce() {
+        suggestIndex.index(recipe(1, true, "Chicken Chili", List.of()));
+
+        // "chi" is a prefix of both the title and its second word
+        assertEquals(List.of("Chicken Chili"), texts("chi"));
+        assertEquals(1, suggestIndex.suggest("chi", 10).get(0).recipeCount());
+    }
+
+    @Test
+    void testSuggest_KeepsTheMostUsedCompletionsPerPrefix() {
+        for (int i = 1; i <= SuggestIndex.MAX_SUGGESTIONS + 10; i++) {
+            suggestIndex.index(recipe(i, true, "Soup " + i, List.of()));
+        }
+        suggestIndex.index(recipe(100, true, "Bread", List.of(), "Soup Stock"));
+        suggestIndex.index(recipe(101, true, "Stew", List.of(), "Soup Stock"));
+
+        List<SuggestIndex.Suggestion> suggestions = suggestIndex.suggest("sou", 100);
+        assertEquals(SuggestIndex.MAX_SUGGESTIONS, suggestions.size());
+        assertEquals("soup stock", suggestions.get(0).text());
+        assertEquals(2, suggestions.get(0).recipeCount());
+
+        // Removing recipes refreshes the lists along their paths
+        suggestIndex.remove(100L);
+        suggestIndex.remove(101L);
+        assertFalse(texts("sou").contains("soup stock"));
+        assertEquals(SuggestIndex.MAX_SUGGESTIONS, suggestIndex.suggest("sou", 100).size());
+    }
+
+    @Test
+    void testSuggest_MatchesLongPrefixesOnTheirFirstCharacters() {
+        String title = "Slow Roasted Tomato And Garlic Soup With Basil";
+        suggestIndex.index(recipe(1, true, title, List.of()));
+
+        assertEquals(List.of(title), texts(title));
+        assertEquals(List.of(title), texts("slow roasted tomato and garlic soup with oregano"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.recipehub.backendrecipehub.index;
+
+import com.recipehub.backendrecipehub.dto.TrendingRecipeDTO;
+import com.recipehub.backendrecipehub.event.RecipeChangedEvent;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.User;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+class TrendingIndexTest {
+
+    private static final long NOW_HOUR = 500_000;
+
+    private RecipeRepository recipeRepository;
+    private TrendingIndex trendingIndex;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository = Mockito.mock(RecipeRepository.class);
+        trendingIndex = new TrendingIndex(recipeRepository, Mockito.mock(JdbcTemplate.class));
+        trendingIndex.setClock(Clock.fixed(Instant.ofEpochMilli(NOW_HOUR * 3_600_000L + 60_000), ZoneOffset.UTC));
+        when(recipeRepository.findPublicByIdIn(anyCollection()))
+                .thenReturn(List.of(recipe(1), recipe(2), recipe(3)));
+    }
+
+    private Recipe recipe(long id) {
+        User author = new User();
+        author.setId(10L);
+        author.setUsername("author");
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setTitle("Recipe " + id);
+        recipe.setPublic(true);
+        recipe.setAuthor(author);
+        return recipe;
+    }
+
+    private static List<Long> ids(List<TrendingRecipeDTO> trending) {
+        return trending.stream().map(t -> t.getRecipe().getId()).toList();
+    }
+
+    @Test
+    void testRankings_WeightForksAndRespectWindows() {
+        trendingIndex.record(1, 4, 0, NOW_HOUR);
+        trendingIndex.record(2, 0, 2, NOW_HOUR - 1);
+        trendingIndex.record(3, 50, 0, NOW_HOUR - 48);   // outside the day window
+        trendingIndex.record(4, 90, 0, NOW_HOUR);        // not public any more
+        trendingIndex.record(1, 5, 0, NOW_HOUR - 24 * 8); // outside both windows
+        trendingIndex.refreshRankings();
+
+        List<TrendingRecipeDTO> day = trendingIndex.top(TrendingIndex.Window.DAY, 10);
+        assertEquals(List.of(2L, 1L), ids(day));
+        assertEquals(6, day.get(0).getScore());
+        assertEquals(2, day.get(0).getRecentForks());
+
+        assertEquals(List.of(3L, 2L, 1L), ids(trendingIndex.top(TrendingIndex.Window.WEEK, 10)));
+        assertEquals(1, trendingIndex.top(TrendingIndex.Window.WEEK, 1).size());
+    }
+
+    @Test
+    void testOnRecipeChanged_CountsForksOfTheOriginalAndLikeDeltas() {
+        Recipe fork = recipe(9);
+        fork.setOriginalRecipe(recipe(1));
+        trendingIndex.onRecipeChanged(new RecipeChangedEvent(fork, RecipeChangedEvent.ChangeType.FORKED));
+        trendingIndex.onRecipeChanged(new RecipeChangedEvent(recipe(2), RecipeChangedEvent.ChangeType.LIKED, 2));
+        trendingIndex.onRecipeChanged(new RecipeChangedEvent(recipe(2), RecipeChangedEvent.ChangeType.LIKED, -1));
+        trendingIndex.refreshRankings();
+
+        List<TrendingRecipeDTO> day = trendingIndex.top(TrendingIndex.Window.DAY, 10);
+        assertEquals(List.of(1L, 2L), ids(day));
+        assertEquals(1, day.get(0).getRecentForks());
+        assertEquals(1, day.get(1).getRecentLikes());
+    }
+}
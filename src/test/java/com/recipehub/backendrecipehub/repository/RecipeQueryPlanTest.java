@@ -0,0 +1,93 @@
+package com.recipehub.backendrecipehub.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks the plans H2 picks for the SQL behind the main finders, including the
+// deleted = false that @SQLRestriction adds, so a dropped or reordered index shows up here.
+@SpringBootTest
+@ActiveProfiles("test")
+class RecipeQueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String plan(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toUpperCase();
+    }
+
+    @Test
+    void testAuthorFinders_UseAuthorIndex() {
+        // findByAuthorId, findByAuthorIdAndIsPublicTrue
+        assertTrue(plan("SELECT r.id FROM recipes r WHERE r.author_id = 1 AND r.deleted = false")
+                .contains("IDX_RECIPES_AUTHOR"));
+        assertTrue(plan("SELECT r.id FROM recipes r WHERE r.author_id = 1 AND r.is_public = true AND r.deleted = false")
+                .contains("IDX_RECIPES_AUTHOR"));
+    }
+
+    @Test
+    void testDirectForks_UseOriginalIndex() {
+        // findPublicDirectForks. The lineage prefix scan and the public listing are left to the
+        // PostgreSQL script's partial indexes
+        assertTrue(plan("SELECT r.id FROM recipes r WHERE r.original_recipe_id = 1 AND r.is_public = true AND r.deleted = false")
+                .contains("IDX_RECIPES_ORIGINAL_RECIPE"));
+    }
+
+    @Test
+    void testJoinTables_UseReverseIndexes() {
+        // Search facet counts, recipe books holding a recipe
+        assertTrue(plan("SELECT rt.recipe_id FROM recipe_tag rt WHERE rt.tag_id = 1001")
+                .contains("IDX_RECIPE_TAG_TAG"));
+        assertTrue(plan("SELECT e.recipe_book_id FROM recipe_book_recipes e WHERE e.recipe_id = 1")
+                .contains("IDX_RECIPE_BOOK_RECIPES_RECIPE"));
+        // findByUserIdAndIsPublicTrue
+        assertTrue(plan("SELECT b.id FROM recipe_books b WHERE b.user_id = 1 AND b.is_public = true")
+                .contains("IDX_RECIPE_BOOKS_USER_PUBLIC"));
+    }
+
+    @Test
+    void testPostgresPartialIndexScript_IsIdempotentAndPartial() throws Exception {
+        List<String> statements = statements("db/postgresql/partial-indexes.sql");
+
+        assertFalse(statements.isEmpty());
+        for (String statement : statements) {
+            if (statement.startsWith("DROP INDEX")) {
+                assertTrue(statement.startsWith("DROP INDEX CONCURRENTLY IF EXISTS"), statement);
+                continue;
+            }
+            assertTrue(statement.startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS"), statement);
+            assertTrue(statement.contains(" WHERE "), statement);
+        }
+    }
+
+    @Test
+    void testPostgresTrigramIndexScript_IsIdempotent() throws Exception {
+        List<String> statements = statements("db/postgresql/trigram-indexes.sql");
+
+        assertEquals("CREATE EXTENSION IF NOT EXISTS pg_trgm", statements.get(0));
+        for (String statement : statements.subList(1, statements.size())) {
+            assertTrue(statement.startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS"), statement);
+            assertTrue(statement.contains("gin_trgm_ops"), statement);
+        }
+    }
+
+    private static List<String> statements(String resource) throws Exception {
+        String script = StreamUtils.copyToString(
+                new ClassPathResource(resource).getInputStream(), StandardCharsets.UTF_8);
+        return Arrays.stream(script.replaceAll("(?m)^--.*$", "").split(";"))
+                .map(statement -> statement.trim().replaceAll("\\s+", " "))
+                .filter(statement -> !statement.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,59 @@
+package com.recipehub.backendrecipehub.service;
+
+import com.recipehub.backendrecipehub.dto.AuthorSearchResponse;
+import com.recipehub.backendrecipehub.repository.RecipeBookRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+// Not @Transactional: author search only fans out when the caller has no write transaction
+@SpringBootTest(properties = "recipehub.author-search.timeout-ms=1000")
+@ActiveProfiles("test")
+class AuthorSearchTimeoutTest {
+
+    // Runs for minutes unless the database cancels it
+    private static final String SLOW_QUERY =
+            "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 1000000) a, SYSTEM_RANGE(1, 1000000) b WHERE a.X + b.X > 0";
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @MockitoSpyBean
+    private RecipeBookRepository recipeBookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testSearchByAuthorId_SlowQueryIsCancelledAndFreesItsConnection() throws Exception {
+        doAnswer(invocation -> {
+            entityManager.createNativeQuery(SLOW_QUERY).getSingleResult();
+            return List.of();
+        }).when(recipeBookRepository).findByUserIdAndIsPublicTrue(anyLong());
+
+        AuthorSearchResponse response = recipeService.searchByAuthorId(999999L);
+
+        assertTrue(response.isPartial());
+        assertTrue(response.getRecipeBooks().isEmpty());
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        long giveUp = System.currentTimeMillis() + 10_000;
+        while (pool.getHikariPoolMXBean().getActiveConnections() > 0 && System.currentTimeMillis() < giveUp) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, pool.getHikariPoolMXBean().getActiveConnections());
+    }
+}
@@ -0,0 +1,92 @@
+package com.recipehub.backendrecipehub.service;
+
+import com.recipehub.backendrecipehub.converter.ContentBlobStore;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.User;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ContentBlobSweepServiceTest {
+
+    @Autowired
+    private ContentBlobSweepService sweepService;
+
+    @Autowired
+    private ContentBlobStore blobStore;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testSweep_KeepsBlobsReferencedBySoftDeletedRecipes() {
+        User user = new User();
+        user.setUsername("sweepuser");
+        user.setEmail("sweep@example.com");
+        user.setPassword("encodedpassword");
+        user = userRepository.save(user);
+
+        String orphan = blobStore.put("[\"orphaned instructions\"]");
+        String kept = blobStore.put("[\"instructions of a deleted recipe\"]");
+        String fresh = blobStore.put("[\"written by a transaction still in flight\"]");
+
+        Recipe recipe = new Recipe();
+        recipe.setTitle("Deleted");
+        recipe.setAuthor(user);
+        recipe = recipeRepository.saveAndFlush(recipe);
+        jdbcTemplate.update("UPDATE recipes SET instructions = ?, deleted = true WHERE id = ?", "sha256:" + kept, recipe.getId());
+        Timestamp old = Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+        jdbcTemplate.update("UPDATE recipe_content_blobs SET created_at = ? WHERE hash IN (?, ?)", old, orphan, kept);
+
+        assertEquals(1, sweepService.sweep());
+
+        assertNull(blobStore.get(orphan));
+        assertNotNull(blobStore.get(kept));
+        assertNotNull(blobStore.get(fresh));
+    }
+
+    @Test
+    void testSweep_KeepsOldBlobsThatWereStoredAgain() {
+        String reused = blobStore.put("[\"instructions written again by a new recipe\"]");
+        Timestamp old = Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+        jdbcTemplate.update("UPDATE recipe_content_blobs SET created_at = ? WHERE hash = ?", old, reused);
+
+        // Storing the same content again refreshes created_at, so a writer that is about to
+        // reference the blob is not racing the sweep's grace period
+        blobStore.put("[\"instructions written again by a new recipe\"]");
+
+        assertEquals(0, sweepService.sweep());
+        assertNotNull(blobStore.get(reused));
+    }
+
+    @Test
+    void testGetAll_ReturnsStoredContentsAndSkipsUnknownHashes() {
+        String first = blobStore.put("[\"first batch blob\"]");
+        String second = blobStore.put("[\"second batch blob\"]");
+
+        Map<String, String> found = blobStore.getAll(List.of(first, second, "0".repeat(64)));
+
+        assertEquals(Map.of(first, "[\"first batch blob\"]", second, "[\"second batch blob\"]"), found);
+    }
+}
@@ -0,0 +1,96 @@
+package com.recipehub.backendrecipehub.service;
+
+import com.recipehub.backendrecipehub.model.CatalogIngredient;
+import com.recipehub.backendrecipehub.model.Ingredient;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.User;
+import com.recipehub.backendrecipehub.repository.CatalogIngredientRepository;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class IngredientCatalogServiceTest {
+
+    @Autowired
+    private IngredientCatalogService catalogService;
+
+    @Autowired
+    private CatalogIngredientRepository catalogIngredientRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testResolve_InsertsMissingNamesOnceAndKeepsExistingRows() {
+        CatalogIngredient existing = catalogIngredientRepository.saveAndFlush(new CatalogIngredient("catalog milk"));
+
+        Set<CatalogIngredient> resolved = catalogService.resolve(List.of("Catalog Egg", " catalog egg ", "CATALOG MILK"));
+
+        Map<String, Long> ids = resolved.stream().collect(Collectors.toMap(CatalogIngredient::getName, CatalogIngredient::getId));
+        assertEquals(Set.of("catalog egg", "catalog milk"), ids.keySet());
+        assertEquals(existing.getId(), ids.get("catalog milk"));
+        assertEquals(ids, catalogService.resolve(List.of("catalog egg", "catalog milk")).stream()
+                .collect(Collectors.toMap(CatalogIngredient::getName, CatalogIngredient::getId)));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ingredients WHERE name = 'catalog egg'", Integer.class));
+    }
+
+    @Test
+    void testBackfillCatalog_LinksRecipesWithIngredientsAndSkipsEmptyOnes() {
+        User author = new User();
+        author.setUsername("backfilluser");
+        author.setEmail("backfill@example.com");
+        author.setPassword("encodedpassword");
+        author.setDeleted(false);
+        author = userRepository.save(author);
+        // Saved through the repository, so neither recipe gets catalog rows, as before the catalog existed
+        Recipe legacy = saveRecipe(author, List.of(new Ingredient("Backfill Flour", "g", 100.0)));
+        Recipe empty = saveRecipe(author, List.of());
+        recipeRepository.flush();
+
+        assertEquals(1, catalogService.backfillCatalog());
+
+        assertEquals(List.of("backfill flour"), jdbcTemplate.queryForList(
+                "SELECT i.name FROM recipe_ingredient ri JOIN ingredients i ON i.id = ri.ingredient_id WHERE ri.recipe_id = ?",
+                String.class, legacy.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM recipe_ingredient WHERE recipe_id = ?", Integer.class, empty.getId()));
+        // The empty recipe is not picked up again
+        assertEquals(0, catalogService.backfillCatalog());
+    }
+
+    private Recipe saveRecipe(User author, List<Ingredient> ingredients) {
+        Recipe recipe = new Recipe();
+        recipe.setTitle("Backfill Recipe");
+        recipe.setDescription("Test description");
+        recipe.setAuthor(author);
+        recipe.setPublic(true);
+        recipe.setCooked(false);
+        recipe.setFavourite(false);
+        recipe.setLikeCount(0);
+        recipe.setDeleted(false);
+        recipe.setIngredients(ingredients);
+        recipe.setInstructions(List.of("Mix"));
+        return recipeRepository.save(recipe);
+    }
+}
@@ -4,14 +4,18 @@ import com.recipehub.backendrecipehub.dto.RecipeBookDTO;
 import com.recipehub.backendrecipehub.dto.RecipeBookCreateRequest;
 import com.recipehub.backendrecipehub.dto.RecipeBookUpdateRequest;
 import com.recipehub.backendrecipehub.exception.RecipeBookNotFoundException;
+import com.recipehub.backendrecipehub.exception.RecipeNotFoundException;
 import com.recipehub.backendrecipehub.exception.UnauthorizedException;
 import com.recipehub.backendrecipehub.exception.UserNotFoundException;
 import com.recipehub.backendrecipehub.model.RecipeBook;
+import com.recipehub.backendrecipehub.model.RecipeBookEntry;
 import com.recipehub.backendrecipehub.model.User;
 import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.repository.RecipeBookEntryRepository;
 import com.recipehub.backendrecipehub.repository.RecipeBookRepository;
 import com.recipehub.backendrecipehub.repository.UserRepository;
 import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,12 +42,18 @@ class RecipeBookServiceTest {
     @Autowired
     private RecipeBookRepository recipeBookRepository;
 
+    @Autowired
+    private RecipeBookEntryRepository recipeBookEntryRepository;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private RecipeRepository recipeRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private User testUser;
     private User testUser2;
     private Recipe testRecipe;
@@ -52,6 +62,7 @@ class RecipeBookServiceTest {
     @BeforeEach
     void setUp() {
         // Clean up
+        recipeBookEntryRepository.deleteAllInBatch();
         recipeBookRepository.deleteAllInBatch();
         recipeRepository.deleteAllInBatch();
         userRepository.deleteAllInBatch();
@@ -97,7 +108,6 @@ class RecipeBookServiceTest {
         recipeBook.setDescription("Test description");
         recipeBook.setUser(user);
         recipeBook.setPublic(isPublic);
-        recipeBook.setRecipes(java.util.Set.of());
         return recipeBookRepository.save(recipeBook);
     }
 
@@ -330,4 +340,57 @@ class RecipeBookServiceTest {
         assertTrue(hasPublic);
         assertTrue(hasPrivate);
     }
+
+    @Test
+    void testGetUsersAllRecipeBook_RecipeIdsWithoutLoadingRecipes() {
+        Recipe second = createTestRecipe("Second Recipe", testUser, true);
+        Recipe deleted = createTestRecipe("Deleted Recipe", testUser, true);
+        RecipeBookCreateRequest request = new RecipeBookCreateRequest();
+        request.setName("Full Book");
+        request.setUserId(testUser.getId());
+        request.setIsPublic(true);
+        request.setRecipeIds(List.of(testRecipe.getId(), second.getId(), deleted.getId()));
+        Long bookId = recipeBookService.createRecipeBook(request).getId();
+        deleted.setDeleted(true); // soft-deleted row, still present in recipe_book_recipes
+        entityManager.flush();
+        entityManager.clear();
+
+        List<RecipeBookDTO> results = recipeBookService.getUsersAllRecipeBook(testUser.getId());
+
+        RecipeBookDTO full = results.stream().filter(b -> b.getId().equals(bookId)).findFirst().orElseThrow();
+        assertEquals(List.of(testRecipe.getId(), second.getId()), full.getRecipeIds());
+        assertTrue(results.stream().filter(b -> !b.getId().equals(bookId)).allMatch(b -> b.getRecipeIds().isEmpty()));
+    }
+
+    @Test
+    void testUpdateRecipeBook_AppliesRecipeIdDiff() {
+        Recipe second = createTestRecipe("Second Recipe", testUser, true);
+        Recipe third = createTestRecipe("Third Recipe", testUser, true);
+        RecipeBookCreateRequest create = new RecipeBookCreateRequest();
+        create.setName("Diff Book");
+        create.setUserId(testUser.getId());
+        create.setRecipeIds(List.of(testRecipe.getId(), second.getId()));
+        Long bookId = recipeBookService.createRecipeBook(create).getId();
+
+        RecipeBookUpdateRequest update = new RecipeBookUpdateRequest();
+        update.setRecipeIds(List.of(second.getId(), third.getId()));
+        RecipeBookDTO result = recipeBookService.updateRecipeBook(bookId, update);
+
+        assertEquals(List.of(second.getId(), third.getId()), result.getRecipeIds());
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(java.util.Set.of(second.getId(), third.getId()),
+                recipeBookEntryRepository.findOrdered(bookId).stream()
+                        .map(RecipeBookEntry::getRecipeId).collect(java.util.stream.Collectors.toSet()));
+    }
+
+    @Test
+    void testUpdateRecipeBook_UnknownRecipeIdRejected() {
+        RecipeBookUpdateRequest update = new RecipeBookUpdateRequest();
+        update.setRecipeIds(List.of(testRecipe.getId(), 999999L));
+
+        RecipeNotFoundException ex = assertThrows(RecipeNotFoundException.class,
+                () -> recipeBookService.updateRecipeBook(testRecipeBook.getId(), update));
+        assertTrue(ex.getMessage().contains("999999"));
+    }
 }
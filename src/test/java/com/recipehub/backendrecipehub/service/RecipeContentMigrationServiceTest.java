@@ -0,0 +1,79 @@
+package com.recipehub.backendrecipehub.service;
+
+import com.recipehub.backendrecipehub.converter.ContentEncoding;
+import com.recipehub.backendrecipehub.model.Ingredient;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.User;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RecipeContentMigrationServiceTest {
+
+    @Autowired
+    private RecipeContentMigrationService migrationService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testMigrateBatch_RoundTripsBetweenEncodings() {
+        User user = new User();
+        user.setUsername("migrationuser");
+        user.setEmail("migration@example.com");
+        user.setPassword("encodedpassword");
+        user = userRepository.save(user);
+
+        Recipe recipe = new Recipe();
+        recipe.setTitle("Pancakes");
+        recipe.setAuthor(user);
+        recipe.setPublic(true);
+        recipe.setIngredients(List.of(
+                Ingredient.builder().name("Flour").unit("cup").quantity(2).build(),
+                Ingredient.builder().name("Milk").unit("cup").quantity(1.5).build()));
+        recipe.setInstructions(List.of("Whisk", "Fry"));
+        Long id = recipeRepository.saveAndFlush(recipe).getId();
+
+        RecipeContentMigrationService.BatchResult toSmile = migrationService.migrateBatch(ContentEncoding.SMILE, id - 1, 10);
+        assertEquals(1, toSmile.rewritten());
+        assertTrue(rawIngredients(id).startsWith("smile:"));
+
+        // Converter detects the format per row, so the entity reads back unchanged
+        entityManager.clear();
+        Recipe reloaded = recipeRepository.findById(id).orElseThrow();
+        assertEquals(recipe.getIngredients(), reloaded.getIngredients());
+        assertEquals(List.of("Whisk", "Fry"), reloaded.getInstructions());
+
+        // Already migrated rows are skipped
+        assertEquals(0, migrationService.migrateBatch(ContentEncoding.SMILE, id - 1, 10).rewritten());
+
+        migrationService.migrateBatch(ContentEncoding.JSON, id - 1, 10);
+        assertTrue(rawIngredients(id).startsWith("["));
+    }
+
+    private String rawIngredients(Long id) {
+        return jdbcTemplate.queryForObject("SELECT ingredients FROM recipes WHERE id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,151 @@
+package com.recipehub.backendrecipehub.service;
+
+import com.recipehub.backendrecipehub.dto.RecipeForkCountDTO;
+import com.recipehub.backendrecipehub.dto.RecipeRequestDTO;
+import com.recipehub.backendrecipehub.dto.RecipeResponseDTO;
+import com.recipehub.backendrecipehub.exception.RecipeNotFoundException;
+import com.recipehub.backendrecipehub.exception.ValidationException;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.User;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RecipeLineageServiceTest {
+
+    @Autowired
+    private RecipeLineageService lineageService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Recipe root;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("lineageuser");
+        user.setEmail("lineage@example.com");
+        user.setPassword("encodedpassword");
+        user = userRepository.save(user);
+
+        root = new Recipe();
+        root.setTitle("Root");
+        root.setAuthor(user);
+        root.setPublic(true);
+        root = recipeRepository.save(root);
+    }
+
+    @Test
+    void testForkTree_ForksCountsAndAncestors() {
+        Long child = fork(root.getId(), true);
+        Long hiddenChild = fork(root.getId(), false);
+        Long grandchild = fork(child, true);
+        Long greatGrandchild = fork(grandchild, true);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(child), ids(lineageService.getForks(root.getId(), true)));
+        assertEquals(List.of(child, grandchild, greatGrandchild), ids(lineageService.getForks(root.getId(), false)));
+        assertFalse(ids(lineageService.getForks(root.getId(), false)).contains(hiddenChild));
+
+        RecipeForkCountDTO counts = lineageService.getForkCount(root.getId());
+        assertEquals(1, counts.getDirectForks());
+        assertEquals(3, counts.getTotalForks());
+        assertEquals(2, lineageService.getForkCount(child).getTotalForks());
+
+        assertEquals(List.of(root.getId(), child, grandchild), ids(lineageService.getAncestors(greatGrandchild)));
+        assertTrue(lineageService.getAncestors(root.getId()).isEmpty());
+    }
+
+    @Test
+    void testGetForks_PrivateRecipeNotFound() {
+        Long hidden = fork(root.getId(), false);
+        assertThrows(RecipeNotFoundException.class, () -> lineageService.getForks(hidden, false));
+    }
+
+    @Test
+    void testBackfillLineagePaths_RebuildsMissingPaths() {
+        Long child = fork(root.getId(), true);
+        Long grandchild = fork(child, true);
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE recipes SET lineage_path = NULL WHERE id IN (?, ?, ?)", root.getId(), child, grandchild);
+        entityManager.clear();
+
+        assertTrue(lineageService.backfillLineagePaths() >= 3);
+
+        assertEquals("/", lineagePath(root.getId()));
+        assertEquals("/" + root.getId() + "/", lineagePath(child));
+        assertEquals("/" + root.getId() + "/" + child + "/", lineagePath(grandchild));
+    }
+
+    @Test
+    void testCreateWithOriginal_RecordsTheForkLikeForkRecipe() {
+        RecipeRequestDTO request = new RecipeRequestDTO();
+        request.setTitle("Created Fork");
+        request.setAuthorId(user.getId());
+        request.setIsPublic(true);
+        request.setCooked(false);
+        request.setFavourite(false);
+        request.setOriginalRecipeId(root.getId());
+        Long created = recipeService.createRecipeWithValidation(request).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals("/" + root.getId() + "/", lineagePath(created));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT fork_count FROM recipes WHERE id = ?", Integer.class, root.getId()));
+        assertEquals(List.of(created), ids(lineageService.getForks(root.getId(), false)));
+    }
+
+    @Test
+    void testFork_RefusesChainsTooDeepForTheLineagePath() {
+        entityManager.flush();
+        // A path one step short of the column length
+        String deep = "/" + "9".repeat(Recipe.LINEAGE_PATH_LENGTH - 3) + "/";
+        jdbcTemplate.update("UPDATE recipes SET lineage_path = ? WHERE id = ?", deep, root.getId());
+        entityManager.clear();
+
+        assertThrows(ValidationException.class, () -> fork(root.getId(), true));
+    }
+
+    private Long fork(Long originalId, boolean isPublic) {
+        RecipeRequestDTO request = new RecipeRequestDTO();
+        request.setIsPublic(isPublic);
+        return recipeService.forkRecipe(originalId, request, user.getId()).getId();
+    }
+
+    private String lineagePath(Long id) {
+        return jdbcTemplate.queryForObject("SELECT lineage_path FROM recipes WHERE id = ?", String.class, id);
+    }
+
+    private static List<Long> ids(List<RecipeResponseDTO> recipes) {
+        return recipes.stream().map(RecipeResponseDTO::getId).toList();
+    }
+}
@@ -3,21 +3,33 @@ package com.recipehub.backendrecipehub.service;
 import com.recipehub.backendrecipehub.dto.RecipeRequestDTO;
 import com.recipehub.backendrecipehub.dto.RecipeResponseDTO;
 import com.recipehub.backendrecipehub.dto.AuthorSearchResponse;
+import com.recipehub.backendrecipehub.dto.RecipeSearchCriteria;
 import com.recipehub.backendrecipehub.dto.IngredientDTO;
 import com.recipehub.backendrecipehub.exception.RecipeNotFoundException;
+import com.recipehub.backendrecipehub.exception.ValidationException;
+import com.recipehub.backendrecipehub.index.PantryIndex;
+import com.recipehub.backendrecipehub.index.TrendingIndex;
+import com.recipehub.backendrecipehub.model.Ingredient;
 import com.recipehub.backendrecipehub.model.Recipe;
 import com.recipehub.backendrecipehub.model.User;
 import com.recipehub.backendrecipehub.model.Tag;
+import com.recipehub.backendrecipehub.model.TagCategory;
 import com.recipehub.backendrecipehub.repository.RecipeRepository;
 import com.recipehub.backendrecipehub.repository.UserRepository;
 import com.recipehub.backendrecipehub.repository.TagRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,6 +55,21 @@ class RecipeServiceTest {
     @Autowired
     private TagRepository tagRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TrendingIndex trendingIndex;
+
+    @Autowired
+    private PantryIndex pantryIndex;
+
+    @Autowired
+    private TagService tagService;
+
     private User testUser;
     private User testUser2;
     private Tag testTag;
@@ -171,16 +198,32 @@ class RecipeServiceTest {
     @Test
     void testSearchRecipes_ByTitle() {
         @SuppressWarnings("unchecked")
-        List<RecipeResponseDTO> results = (List<RecipeResponseDTO>) recipeService.searchRecipes("Test", null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+        List<RecipeResponseDTO> results = (List<RecipeResponseDTO>) recipeService.searchRecipes(RecipeSearchCriteria.builder().title("Test").build());
 
         assertNotNull(results);
         assertFalse(results.isEmpty());
         results.forEach(recipe -> assertTrue(recipe.getTitle().toLowerCase().contains("test")));
     }
 
+    @Test
+    void testSearchRecipes_ByTitleMatchesWildcardsLiterally() {
+        createTestRecipe("100% Rye Bread", testUser, true);
+        createTestRecipe("Rye_Crackers", testUser, true);
+
+        @SuppressWarnings("unchecked")
+        List<RecipeResponseDTO> percent = (List<RecipeResponseDTO>) recipeService.searchRecipes(RecipeSearchCriteria.builder().title("100%").build());
+        @SuppressWarnings("unchecked")
+        List<RecipeResponseDTO> underscore = (List<RecipeResponseDTO>) recipeService.searchRecipes(RecipeSearchCriteria.builder().title("rye_").build());
+
+        assertEquals(List.of("100% Rye Bread"), percent.stream().map(RecipeResponseDTO::getTitle).toList());
+        assertEquals(List.of("Rye_Crackers"), underscore.stream().map(RecipeResponseDTO::getTitle).toList());
+        assertEquals(List.of("100% Rye Bread"),
+                recipeService.searchByTitle("100%").stream().map(RecipeResponseDTO::getTitle).toList());
+    }
+
     @Test
     void testSearchRecipes_ByAuthorId() {
-        AuthorSearchResponse result = (AuthorSearchResponse) recipeService.searchRecipes(null, null, null, testUser.getId(), null, null, null, null, null, null, null, null, null, null, null, null);
+        AuthorSearchResponse result = (AuthorSearchResponse) recipeService.searchRecipes(RecipeSearchCriteria.builder().authorId(testUser.getId()).build());
 
         assertNotNull(result);
         assertEquals(testUser.getId(), result.getAuthorId());
@@ -190,7 +233,7 @@ class RecipeServiceTest {
 
     @Test
     void testSearchRecipes_ByAuthorName() {
-        AuthorSearchResponse result = (AuthorSearchResponse) recipeService.searchRecipes(null, null, testUser.getUsername(), null, null, null, null, null, null, null, null, null, null, null, null, null);
+        AuthorSearchResponse result = (AuthorSearchResponse) recipeService.searchRecipes(RecipeSearchCriteria.builder().author(testUser.getUsername()).build());
 
         assertNotNull(result);
         assertEquals(testUser.getId(), result.getAuthorId());
@@ -219,7 +262,7 @@ class RecipeServiceTest {
         recipeService.createRecipeWithValidation(request);
 
         @SuppressWarnings("unchecked")
-        List<RecipeResponseDTO> results = (List<RecipeResponseDTO>) recipeService.searchRecipes(null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+        List<RecipeResponseDTO> results = (List<RecipeResponseDTO>) recipeService.searchRecipes(new RecipeSearchCriteria());
 
         assertNotNull(results);
         assertFalse(results.isEmpty());
@@ -230,6 +273,29 @@ class RecipeServiceTest {
         assertTrue(foundFlourIngredient);
     }
 
+    @Test
+    void testSearchRecipes_ByIngredientMatchesLongIngredientLists() {
+        String[] names = new String[12];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "Ingredient number " + i;
+        }
+        names[7] = "Saffron threads";
+        Long id = createRecipeWithIngredients("Paella", names).getId();
+        entityManager.flush();
+        // Over dedup.min-bytes, so the column only holds a content-blob reference
+        assertTrue(rawColumn("ingredients", id).startsWith("sha256:"));
+
+        @SuppressWarnings("unchecked")
+        List<RecipeResponseDTO> results = (List<RecipeResponseDTO>) recipeService.searchRecipes(
+                RecipeSearchCriteria.builder().ingredient("SAFFRON").build());
+        @SuppressWarnings("unchecked")
+        List<RecipeResponseDTO> unitMatches = (List<RecipeResponseDTO>) recipeService.searchRecipes(
+                RecipeSearchCriteria.builder().ingredient("piece").build());
+
+        assertEquals(List.of(id), results.stream().map(RecipeResponseDTO::getId).toList());
+        assertTrue(unitMatches.isEmpty());
+    }
+
     @Test
     void testForkRecipe_Success() {
         RecipeRequestDTO forkRequest = new RecipeRequestDTO();
@@ -257,6 +323,71 @@ class RecipeServiceTest {
         assertEquals(testRecipe.getDescription(), result.getDescription());
     }
 
+    @Test
+    void testForkRecipe_SharesContentBlobWithOriginal() {
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ingredients.add(Ingredient.builder().name("Ingredient number " + i).unit("cup").quantity(i + 0.5).build());
+        }
+        testRecipe.setIngredients(ingredients);
+        testRecipe.setInstructions(List.of("Mix everything together"));
+        recipeRepository.saveAndFlush(testRecipe);
+
+        RecipeRequestDTO modifications = new RecipeRequestDTO();
+        modifications.setInstructions(List.of("Mix everything together slowly"));
+        Long forkId = recipeService.forkRecipe(testRecipe.getId(), modifications, testUser2.getId()).getId();
+        entityManager.flush();
+
+        // Unchanged ingredients point at one shared blob; short instructions stay inline
+        String originalColumn = rawColumn("ingredients", testRecipe.getId());
+        assertTrue(originalColumn.startsWith("sha256:"));
+        assertEquals(originalColumn, rawColumn("ingredients", forkId));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM recipe_content_blobs WHERE hash = ?",
+                Integer.class, originalColumn.substring("sha256:".length())));
+        assertTrue(rawColumn("instructions", forkId).startsWith("["));
+
+        entityManager.clear();
+        Recipe fork = recipeRepository.findById(forkId).orElseThrow();
+        assertEquals(ingredients, fork.getIngredients());
+        assertEquals(List.of("Mix everything together slowly"), fork.getInstructions());
+    }
+
+    private String rawColumn(String column, Long id) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM recipes WHERE id = ?", String.class, id);
+    }
+
+    @Test
+    void testForkRecipe_IncrementsForkCountAndRecordsActivityAfterCommit() {
+        recipeService.forkRecipe(testRecipe.getId(), new RecipeRequestDTO(), testUser2.getId());
+        recipeService.forkRecipe(testRecipe.getId(), new RecipeRequestDTO(), testUser2.getId());
+        entityManager.clear();
+
+        assertEquals(2, recipeRepository.findById(testRecipe.getId()).orElseThrow().getForkCount());
+        assertEquals(testRecipe.getId(), recipeService.getMostForkedRecipes(1).get(0).getId());
+
+        // This test's transaction never commits, so its forks are not counted as activity
+        trendingIndex.flush();
+        assertNull(jdbcTemplate.queryForObject(
+                "SELECT SUM(forks) FROM recipe_activity_buckets WHERE recipe_id = ?", Integer.class, testRecipe.getId()));
+        assertThrows(ValidationException.class, () -> recipeService.getTrendingRecipes("month", 10));
+    }
+
+    @Test
+    void testForkRecipe_ConcurrentLikeKeepsForkCount() {
+        // The like path loads the recipe, then a fork elsewhere commits its increment
+        Recipe loaded = recipeRepository.findById(testRecipe.getId()).orElseThrow();
+        assertEquals(0, loaded.getForkCount());
+        jdbcTemplate.update("UPDATE recipes SET fork_count = fork_count + 1 WHERE id = ?", testRecipe.getId());
+
+        recipeService.updateLikeCount(testRecipe.getId(), 5);
+        entityManager.flush();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT fork_count FROM recipes WHERE id = ?",
+                Integer.class, testRecipe.getId()));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT like_count FROM recipes WHERE id = ?",
+                Integer.class, testRecipe.getId()));
+    }
+
     @Test
     void testForkRecipe_OriginalNotFound() {
         assertThrows(RecipeNotFoundException.class, () -> {
@@ -373,31 +504,198 @@ class RecipeServiceTest {
         results.forEach(recipe -> assertEquals(testUser.getId(), recipe.getAuthorId()));
     }
 
+    private RecipeResponseDTO createRecipeWithIngredients(String title, String... ingredientNames) {
+        RecipeRequestDTO request = new RecipeRequestDTO();
+        request.setTitle(title);
+        request.setDescription("Test description");
+        request.setAuthorId(testUser.getId());
+        request.setIsPublic(true);
+        request.setCooked(false);
+        request.setFavourite(false);
+        List<IngredientDTO> ingredients = new java.util.ArrayList<>();
+        for (String name : ingredientNames) {
+            IngredientDTO ingredient = new IngredientDTO();
+            ingredient.setName(name);
+            ingredient.setUnit("piece");
+            ingredient.setQuantity(1.0);
+            ingredients.add(ingredient);
+        }
+        request.setIngredients(ingredients);
+        request.setInstructions(List.of("Cook"));
+        return recipeService.createRecipeWithValidation(request);
+    }
+
     @Test
-    void testGetUserCookedRecipes() {
-        // Create a cooked recipe
-        Recipe cookedRecipe = createTestRecipe("Cooked Recipe", testUser, true);
-        cookedRecipe.setCooked(true);
-        recipeRepository.save(cookedRecipe);
+    void testSearchRecipes_ByAllIngredients_ExactMatch() {
+        createRecipeWithIngredients("Omelette", "Egg", "Butter");
+        createRecipeWithIngredients("Eggplant Parmesan", "Eggplant", "Cheese");
 
-        List<RecipeResponseDTO> results = recipeService.getUserCookedRecipes(testUser.getId());
+        @SuppressWarnings("unchecked")
+        List<RecipeResponseDTO> results = (List<RecipeResponseDTO>) recipeService.searchRecipes(RecipeSearchCriteria.builder().ingredients(List.of(" egg ", "BUTTER")).build());
 
-        assertNotNull(results);
-        assertFalse(results.isEmpty());
-        results.forEach(recipe -> assertTrue(recipe.isCooked()));
+        assertEquals(1, results.size());
+        assertEquals("Omelette", results.get(0).getTitle());
     }
 
     @Test
-    void testGetUserFavouriteRecipes() {
-        // Create a favourite recipe
-        Recipe favouriteRecipe = createTestRecipe("Favourite Recipe", testUser, true);
-        favouriteRecipe.setFavourite(true);
-        recipeRepository.save(favouriteRecipe);
+    void testSearchRecipes_CombinesTagFiltersWithoutDuplicates() {
+        for (String name : List.of("Italian", "Mexican", "Dinner", "Baked", "Quick", "Vegan")) {
+            Tag tag = new Tag();
+            tag.setName(name);
+            tagRepository.save(tag);
+        }
+        createRecipeWithTags("Lasagne", "Italian", "Easy", "Dinner", "Baked");
+        createRecipeWithTags("Risotto", "Italian", "Dinner");
+        createRecipeWithTags("Tacos", "Mexican", "Easy", "Dinner");
+
+        RecipeSearchCriteria criteria = RecipeSearchCriteria.builder()
+                .cuisine("italian").difficulty("Easy").mealType("DINNER")
+                .tags(List.of("Baked", "Quick", "Dinner"))
+                .build();
+        @SuppressWarnings("unchecked")
+        List<RecipeResponseDTO> results = (List<RecipeResponseDTO>) recipeService.searchRecipes(criteria);
+        assertEquals(1, results.size());
+        assertEquals("Lasagne", results.get(0).getTitle());
 
-        List<RecipeResponseDTO> results = recipeService.getUserFavouriteRecipes(testUser.getId());
+        @SuppressWarnings("unchecked")
+        List<RecipeResponseDTO> anyOf = (List<RecipeResponseDTO>) recipeService.searchRecipes(
+                RecipeSearchCriteria.builder().tags(List.of("Italian", "Dinner", "Easy")).build());
+        assertEquals(3, anyOf.size());
+
+        // Vegan exists but no recipe carries it, so the planner answers these without running the search
+        assertTrue(((List<?>) recipeService.searchRecipes(
+                RecipeSearchCriteria.builder().cuisine("Italian").dietary("Vegan").build())).isEmpty());
+        assertTrue(((List<?>) recipeService.searchRecipes(
+                RecipeSearchCriteria.builder().tags(List.of("No Such Tag")).build())).isEmpty());
+    }
 
-        assertNotNull(results);
-        assertFalse(results.isEmpty());
-        results.forEach(recipe -> assertTrue(recipe.isFavourite()));
+    @Test
+    void testSearchRecipes_CategoryFiltersUseTagCategoryAndSummary() {
+        Tag italian = new Tag();
+        italian.setName("Italian");
+        italian.setCategory(TagCategory.CUISINE);
+        italian = tagRepository.save(italian);
+        RecipeResponseDTO lasagne = createRecipeWithTags("Lasagne", "Italian", "Easy");
+
+        Recipe saved = recipeRepository.findById(lasagne.getId()).orElseThrow();
+        assertEquals(Recipe.summarize(List.of(testTag, italian)), saved.getTagSummary());
+
+        @SuppressWarnings("unchecked")
+        List<RecipeResponseDTO> byCuisine = (List<RecipeResponseDTO>) recipeService.searchRecipes(
+                RecipeSearchCriteria.builder().cuisine("Italian").build());
+        assertEquals(List.of("Lasagne"), byCuisine.stream().map(RecipeResponseDTO::getTitle).toList());
+
+        // Italian is a cuisine, so it does not satisfy a season filter; Easy has no category yet
+        assertTrue(((List<?>) recipeService.searchRecipes(
+                RecipeSearchCriteria.builder().season("Italian").build())).isEmpty());
+        assertEquals(1, ((List<?>) recipeService.searchRecipes(
+                RecipeSearchCriteria.builder().season("Easy").build())).size());
+    }
+
+    @Test
+    void testBackfillTagSummaries_FillsRowsWrittenBeforeTheColumn() {
+        RecipeResponseDTO tagged = createRecipeWithTags("Tagged", "Easy");
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE recipes SET tag_summary = NULL");
+
+        assertTrue(tagService.backfillTagSummaries() >= 2);
+        assertEquals("|" + testTag.getId() + "|", jdbcTemplate.queryForObject(
+                "SELECT tag_summary FROM recipes WHERE id = ?", String.class, tagged.getId()));
+        assertEquals("|", jdbcTemplate.queryForObject(
+                "SELECT tag_summary FROM recipes WHERE id = ?", String.class, testRecipe.getId()));
+    }
+
+    private RecipeResponseDTO createRecipeWithTags(String title, String... tagNames) {
+        RecipeRequestDTO request = new RecipeRequestDTO();
+        request.setTitle(title);
+        request.setAuthorId(testUser.getId());
+        request.setIsPublic(true);
+        request.setCooked(false);
+        request.setFavourite(false);
+        IngredientDTO ingredient = new IngredientDTO();
+        ingredient.setName("Salt");
+        ingredient.setUnit("pinch");
+        ingredient.setQuantity(1.0);
+        request.setIngredients(List.of(ingredient));
+        request.setInstructions(List.of("Cook"));
+        request.setTagNames(List.of(tagNames));
+        return recipeService.createRecipeWithValidation(request);
+    }
+
+    @Test
+    void testFindCookableRecipes() {
+        createRecipeWithIngredients("Omelette", "Egg", "Butter");
+        createRecipeWithIngredients("Pancakes", "Egg", "Flour", "Milk");
+
+        List<RecipeResponseDTO> results = recipeService.findCookableRecipes(List.of("egg", "butter", "salt"));
+
+        assertEquals(1, results.size());
+        assertEquals("Omelette", results.get(0).getTitle());
+        assertTrue(recipeService.findCookableRecipes(List.of()).isEmpty());
+    }
+
+    @Test
+    void testMatchRecipes_RankedByCoverage() {
+        RecipeResponseDTO omelette = createRecipeWithIngredients("Omelette", "Egg", "Butter");
+        RecipeResponseDTO pancakes = createRecipeWithIngredients("Pancakes", "Egg", "Flour", "Milk", "Sugar");
+        // The index applies writes after commit, and this test's transaction never commits
+        assertTrue(recipeService.matchRecipes(List.of("egg"), 10, 0.0).isEmpty());
+        pantryIndex.rebuild();
+
+        List<com.recipehub.backendrecipehub.dto.RecipeMatchDTO> results = recipeService.matchRecipes(List.of("egg", "butter", "milk"), 10, 0.0);
+
+        assertEquals(2, results.size());
+        assertEquals(omelette.getId(), results.get(0).getRecipe().getId());
+        assertEquals(1.0, results.get(0).getCoverage());
+        assertEquals(pancakes.getId(), results.get(1).getRecipe().getId());
+        assertEquals(2, results.get(1).getMatchedIngredients());
+        assertEquals(List.of("Flour", "Sugar"), results.get(1).getMissingIngredients());
+        assertThrows(ValidationException.class, () -> recipeService.matchRecipes(List.of("egg"), 0, 0.0));
+        assertThrows(ValidationException.class, () -> recipeService.matchRecipes(List.of("egg"), Integer.MAX_VALUE, 0.0));
+    }
+
+    @Test
+    void testRecipeSummaries_DoNotLoadContent() {
+        createRecipeWithIngredients("Omelette", "Egg", "Butter");
+        entityManager.flush();
+        entityManager.clear();
+
+        List<RecipeResponseDTO> summaries = recipeService.getRecipeSummariesByUserId(testUser.getId());
+
+        assertEquals(2, summaries.size());
+        assertTrue(summaries.stream().allMatch(s -> s.getIngredients() == null && s.getInstructions() == null));
+        Recipe omelette = recipeRepository.findByAuthorId(testUser.getId()).stream()
+                .filter(r -> r.getTitle().equals("Omelette")).findFirst().orElseThrow();
+        assertFalse(Hibernate.isPropertyInitialized(omelette, "ingredients"));
+        assertEquals(2, omelette.getIngredients().size());
+        assertTrue(Hibernate.isPropertyInitialized(omelette, "instructions"));
+    }
+
+    @Test
+    void testRecipeLists_ReadContentWithoutOneQueryPerRecipe() {
+        createRecipeWithIngredients("Omelette", "Egg", "Butter");
+        long fewRecipes = countStatements(() -> assertEquals(2, recipeService.getRecipesByUserId(testUser.getId()).size()));
+
+        for (int i = 0; i < 8; i++) {
+            createRecipeWithIngredients("Bread " + i, "Flour", "Water", "Salt");
+        }
+        List<RecipeResponseDTO> recipes = new ArrayList<>();
+        long manyRecipes = countStatements(() -> recipes.addAll(recipeService.getRecipesByUserId(testUser.getId())));
+
+        assertEquals(10, recipes.size());
+        assertEquals(fewRecipes, manyRecipes);
+        RecipeResponseDTO bread = recipes.stream().filter(r -> r.getTitle().equals("Bread 3")).findFirst().orElseThrow();
+        assertEquals(List.of("Flour", "Water", "Salt"), bread.getIngredients().stream().map(IngredientDTO::getName).toList());
+        assertEquals(List.of("Cook"), bread.getInstructions());
+    }
+
+    // Statements Hibernate prepared while running the action against a cleared persistence context
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
     }
 }
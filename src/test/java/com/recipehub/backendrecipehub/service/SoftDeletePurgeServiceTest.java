@@ -0,0 +1,150 @@
+package com.recipehub.backendrecipehub.service;
+
+import com.recipehub.backendrecipehub.dto.RecipeRequestDTO;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.RecipeBook;
+import com.recipehub.backendrecipehub.model.RecipeBookEntry;
+import com.recipehub.backendrecipehub.model.Tag;
+import com.recipehub.backendrecipehub.model.User;
+import com.recipehub.backendrecipehub.repository.RecipeBookEntryRepository;
+import com.recipehub.backendrecipehub.repository.RecipeBookRepository;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.repository.TagRepository;
+import com.recipehub.backendrecipehub.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SoftDeletePurgeServiceTest {
+
+    @Autowired
+    private SoftDeletePurgeService purgeService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeBookRepository recipeBookRepository;
+
+    @Autowired
+    private RecipeBookEntryRepository recipeBookEntryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("encodedpassword");
+        return userRepository.save(user);
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+
+    @Test
+    void testPurgeBatch_RemovesExpiredRecipesWithJoinRows() {
+        User author = createUser("purgeauthor");
+        Tag tag = tagRepository.findById(1001L).orElseThrow();
+
+        Recipe expired = new Recipe();
+        expired.setTitle("Expired");
+        expired.setAuthor(author);
+        expired.setPublic(true);
+        expired.setTags(new ArrayList<>(List.of(tag)));
+        expired = recipeRepository.save(expired);
+
+        Recipe recent = new Recipe();
+        recent.setTitle("Recently deleted");
+        recent.setAuthor(author);
+        recent = recipeRepository.save(recent);
+
+        Long forkId = recipeService.forkRecipe(expired.getId(), new RecipeRequestDTO(), author.getId()).getId();
+
+        RecipeBook book = new RecipeBook();
+        book.setName("Book");
+        book.setUser(author);
+        book = recipeBookRepository.save(book);
+        recipeBookEntryRepository.save(new RecipeBookEntry(book.getId(), expired.getId(), null));
+        jdbcTemplate.update("INSERT INTO user_recipe_interactions (user_id, recipe_id, cooked, favourite, updated_at) " +
+                "VALUES (?, ?, true, false, CURRENT_TIMESTAMP)", author.getId(), expired.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        recipeService.deleteRecipe(expired.getId());
+        recipeService.deleteRecipe(recent.getId());
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE recipes SET deleted_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(60)), expired.getId());
+        entityManager.clear();
+
+        SoftDeletePurgeService.PurgeResult result = purgeService.purgeBatch(LocalDateTime.now().minusDays(30), 10);
+
+        assertEquals(1, result.recipes());
+        assertEquals(0, count("SELECT COUNT(*) FROM recipes WHERE id = ?", expired.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM recipe_tag WHERE recipe_id = ?", expired.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM recipe_book_recipes WHERE recipe_id = ?", expired.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM user_recipe_interactions WHERE recipe_id = ?", expired.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM recipes WHERE id = ?", recent.getId()));
+        // The fork survives without its original, but still records its ancestry
+        assertNull(jdbcTemplate.queryForObject("SELECT original_recipe_id FROM recipes WHERE id = ?", Long.class, forkId));
+        assertEquals("/" + expired.getId() + "/",
+                jdbcTemplate.queryForObject("SELECT lineage_path FROM recipes WHERE id = ?", String.class, forkId));
+    }
+
+    @Test
+    void testPurgeBatch_KeepsDeletedUsersThatStillOwnRecipes() {
+        User withRecipe = createUser("purgeowner");
+        User withoutRecipes = createUser("purgeloner");
+        Recipe recipe = new Recipe();
+        recipe.setTitle("Still public");
+        recipe.setAuthor(withRecipe);
+        recipe.setPublic(true);
+        recipeRepository.save(recipe);
+        entityManager.flush();
+        entityManager.clear();
+
+        userService.deleteUser(withRecipe.getId());
+        userService.deleteUser(withoutRecipes.getId());
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE users SET deleted_at = ? WHERE id IN (?, ?)",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(60)), withRecipe.getId(), withoutRecipes.getId());
+
+        SoftDeletePurgeService.PurgeResult result = purgeService.purgeBatch(LocalDateTime.now().minusDays(30), 10);
+
+        assertEquals(1, result.users());
+        assertEquals(1, count("SELECT COUNT(*) FROM users WHERE id = ?", withRecipe.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM users WHERE id = ?", withoutRecipes.getId()));
+    }
+}
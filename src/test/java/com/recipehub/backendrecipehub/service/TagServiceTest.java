@@ -5,6 +5,7 @@ import com.recipehub.backendrecipehub.exception.DuplicateResourceException;
 import com.recipehub.backendrecipehub.exception.UserNotFoundException;
 import com.recipehub.backendrecipehub.model.Recipe;
 import com.recipehub.backendrecipehub.model.Tag;
+import com.recipehub.backendrecipehub.model.TagCategory;
 import com.recipehub.backendrecipehub.model.User;
 import com.recipehub.backendrecipehub.repository.RecipeRepository;
 import com.recipehub.backendrecipehub.repository.TagRepository;
@@ -125,19 +126,44 @@ class TagServiceTest {
 
     @Test
     void testGetCategoryTags() {
+        Tag cuisine = new Tag();
+        cuisine.setName("Tuscan");
+        cuisine.setCategory(TagCategory.CUISINE);
+        tagRepository.save(cuisine);
+
         List<TagDTO> categoryTags = tagService.getCategoryTags();
         assertNotNull(categoryTags);
         assertFalse(categoryTags.isEmpty());
         
-        // Should contain main category tags
+        // Membership comes from the category column; uncategorized tags are left out
         List<String> tagNames = categoryTags.stream()
                 .map(TagDTO::getName)
                 .toList();
         
-        assertTrue(tagNames.contains("Italian") || 
-                  tagNames.contains("Breakfast") || 
-                  tagNames.contains("Vegetarian") ||
-                  tagNames.contains("Easy"));
+        assertEquals(List.of("Tuscan"), tagNames);
+        assertEquals(TagCategory.CUISINE, categoryTags.get(0).getCategory());
+    }
+
+    @Test
+    void testGetCategoryTags_FallsBackToPredefinedTagsUntilCategoriesAreSet() {
+        // Flush the seed-tag deletes from setUp before reusing a seed name
+        tagRepository.flush();
+        Tag italian = new Tag();
+        italian.setName("Italian");
+        tagRepository.saveAndFlush(italian);
+
+        // No tag has a category yet, as on a database created before the column existed
+        List<TagDTO> fallback = tagService.getCategoryTags();
+        assertEquals(17, fallback.size());
+        assertEquals(italian.getId(), fallback.get(0).getId());
+        assertEquals(TagCategory.CUISINE, fallback.get(0).getCategory());
+        assertNull(fallback.get(1).getId());
+
+        assertEquals(1, tagService.backfillTagCategories());
+        assertEquals(0, tagService.backfillTagCategories());
+        List<TagDTO> categoryTags = tagService.getCategoryTags();
+        assertEquals(List.of("Italian"), categoryTags.stream().map(TagDTO::getName).toList());
+        assertEquals(TagCategory.CUISINE, categoryTags.get(0).getCategory());
     }
 
     @Test
@@ -5,6 +5,7 @@ import com.recipehub.backendrecipehub.dto.UserRequestDTO;
 import com.recipehub.backendrecipehub.model.Recipe;
 import com.recipehub.backendrecipehub.model.RecipeBook;
 import com.recipehub.backendrecipehub.model.User;
+import com.recipehub.backendrecipehub.repository.RecipeBookEntryRepository;
 import com.recipehub.backendrecipehub.repository.RecipeBookRepository;
 import com.recipehub.backendrecipehub.repository.RecipeRepository;
 import com.recipehub.backendrecipehub.repository.UserRepository;
@@ -44,6 +45,9 @@ class UserDeletionTest {
     @Autowired
     private RecipeBookRepository recipeBookRepository;
 
+    @Autowired
+    private RecipeBookEntryRepository recipeBookEntryRepository;
+
     private User testUser;
     private Long recipeId;
     private Long recipeBookId;
@@ -51,6 +55,7 @@ class UserDeletionTest {
     @BeforeEach
     void setUp() {
         // Clean up
+        recipeBookEntryRepository.deleteAllInBatch();
         recipeRepository.deleteAll();
         recipeBookRepository.deleteAll();
         userRepository.deleteAll();
@@ -0,0 +1,192 @@
+package com.recipehub.backendrecipehub.service;
+
+import com.recipehub.backendrecipehub.dto.InteractionDTO;
+import com.recipehub.backendrecipehub.dto.InteractionUpdateRequest;
+import com.recipehub.backendrecipehub.dto.RecipeRequestDTO;
+import com.recipehub.backendrecipehub.dto.RecipeResponseDTO;
+import com.recipehub.backendrecipehub.exception.RecipeNotFoundException;
+import com.recipehub.backendrecipehub.exception.UserNotFoundException;
+import com.recipehub.backendrecipehub.exception.ValidationException;
+import com.recipehub.backendrecipehub.model.Recipe;
+import com.recipehub.backendrecipehub.model.User;
+import com.recipehub.backendrecipehub.model.UserRecipeInteraction;
+import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.repository.UserRecipeInteractionRepository;
+import com.recipehub.backendrecipehub.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class UserInteractionServiceTest {
+
+    @Autowired
+    private UserInteractionService interactionService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private UserRecipeInteractionRepository interactionRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User author;
+    private User reader;
+
+    @BeforeEach
+    void setUp() {
+        author = createUser("interactionauthor");
+        reader = createUser("interactionreader");
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("encodedpassword");
+        return userRepository.save(user);
+    }
+
+    private Recipe createRecipe(String title, User owner, boolean isPublic) {
+        Recipe recipe = new Recipe();
+        recipe.setTitle(title);
+        recipe.setAuthor(owner);
+        recipe.setPublic(isPublic);
+        recipe.setIngredients(List.of());
+        recipe.setInstructions(List.of());
+        return recipeRepository.save(recipe);
+    }
+
+    @Test
+    void testUpdateInteractions_BulkMarksOtherAuthorsRecipes() {
+        Recipe stew = createRecipe("Stew", author, true);
+        Recipe soup = createRecipe("Soup", author, true);
+
+        List<InteractionDTO> results = interactionService.updateInteractions(reader.getId(),
+                new InteractionUpdateRequest(List.of(stew.getId(), soup.getId(), stew.getId()), true, null));
+        interactionService.updateInteractions(reader.getId(),
+                new InteractionUpdateRequest(List.of(soup.getId()), null, true));
+
+        assertEquals(List.of(new InteractionDTO(stew.getId(), true, false), new InteractionDTO(soup.getId(), true, false)),
+                results);
+        assertEquals(2, interactionService.getCookedRecipes(reader.getId()).size());
+        List<RecipeResponseDTO> favourites = interactionService.getFavouriteRecipes(reader.getId());
+        assertEquals(1, favourites.size());
+        assertEquals(soup.getId(), favourites.get(0).getId());
+        assertTrue(favourites.get(0).isCooked());
+        // The author's own flags and lists are untouched by the reader's marks
+        assertTrue(interactionService.getCookedRecipes(author.getId()).isEmpty());
+        entityManager.flush();
+        entityManager.clear();
+        assertFalse(recipeRepository.findById(soup.getId()).orElseThrow().isFavourite());
+    }
+
+    @Test
+    void testUpdateInteractions_ClearingBothFlagsDeletesTheRow() {
+        Recipe stew = createRecipe("Stew", author, true);
+        interactionService.updateInteractions(reader.getId(),
+                new InteractionUpdateRequest(List.of(stew.getId()), true, true));
+
+        interactionService.updateInteractions(reader.getId(),
+                new InteractionUpdateRequest(List.of(stew.getId()), false, false));
+
+        assertTrue(interactionRepository.findById(new UserRecipeInteraction.Key(reader.getId(), stew.getId())).isEmpty());
+        assertTrue(interactionService.getCookedRecipes(reader.getId()).isEmpty());
+    }
+
+    @Test
+    void testUpdateInteractions_MirrorsAuthorFlagsBothWays() {
+        RecipeRequestDTO request = new RecipeRequestDTO();
+        request.setTitle("Own Curry");
+        request.setAuthorId(author.getId());
+        request.setIsPublic(false);
+        request.setCooked(true);
+        request.setFavourite(false);
+        Long recipeId = recipeService.createRecipeWithValidation(request).getId();
+
+        assertEquals(List.of(recipeId),
+                interactionService.getCookedRecipes(author.getId()).stream().map(RecipeResponseDTO::getId).toList());
+
+        interactionService.updateInteractions(author.getId(),
+                new InteractionUpdateRequest(List.of(recipeId), false, true));
+        entityManager.flush();
+        entityManager.clear();
+
+        Recipe recipe = recipeRepository.findById(recipeId).orElseThrow();
+        assertFalse(recipe.isCooked());
+        assertTrue(recipe.isFavourite());
+        assertTrue(interactionService.getCookedRecipes(author.getId()).isEmpty());
+    }
+
+    @Test
+    void testUpdateInteractions_UpsertKeepsUnchangedRowsInPlace() {
+        Recipe stew = createRecipe("Stew", author, true);
+        Recipe soup = createRecipe("Soup", author, true);
+        interactionService.updateInteractions(reader.getId(),
+                new InteractionUpdateRequest(List.of(stew.getId()), true, null));
+        // Marked later, so listed first
+        UserRecipeInteraction later = new UserRecipeInteraction(reader.getId(), soup.getId());
+        later.setCooked(true);
+        later.setUpdatedAt(java.time.LocalDateTime.now().plusMinutes(1));
+        interactionRepository.save(later);
+
+        // Written through JPA above and not yet flushed; the upsert must still see it
+        List<InteractionDTO> results = interactionService.updateInteractions(reader.getId(),
+                new InteractionUpdateRequest(List.of(stew.getId(), soup.getId()), true, null));
+
+        assertEquals(List.of(new InteractionDTO(stew.getId(), true, false), new InteractionDTO(soup.getId(), true, false)),
+                results);
+        entityManager.clear();
+        assertEquals(List.of(soup.getId(), stew.getId()),
+                interactionService.getCookedRecipes(reader.getId()).stream().map(RecipeResponseDTO::getId).toList());
+    }
+
+    @Test
+    void testUpdateInteractions_RejectsInvalidRequests() {
+        Recipe stew = createRecipe("Stew", author, true);
+        Recipe secret = createRecipe("Secret", author, false);
+
+        assertThrows(UserNotFoundException.class, () -> interactionService.updateInteractions(999999L,
+                new InteractionUpdateRequest(List.of(stew.getId()), true, null)));
+        assertThrows(ValidationException.class, () -> interactionService.updateInteractions(reader.getId(),
+                new InteractionUpdateRequest(List.of(), true, null)));
+        assertThrows(ValidationException.class, () -> interactionService.updateInteractions(reader.getId(),
+                new InteractionUpdateRequest(List.of(stew.getId()), null, null)));
+        // Another user's private recipe is reported as missing, and nothing is written
+        assertThrows(RecipeNotFoundException.class, () -> interactionService.updateInteractions(reader.getId(),
+                new InteractionUpdateRequest(List.of(stew.getId(), secret.getId()), true, null)));
+        assertTrue(interactionService.getCookedRecipes(reader.getId()).isEmpty());
+    }
+
+    @Test
+    void testBackfillFromRecipeFlags_CreatesMissingAuthorRows() {
+        Recipe flagged = createRecipe("Flagged", author, true);
+        flagged.setFavourite(true);
+        recipeRepository.saveAndFlush(flagged);
+        createRecipe("Unflagged", author, true);
+        interactionRepository.deleteAllInBatch();
+
+        assertEquals(1, interactionService.backfillFromRecipeFlags());
+        assertEquals(0, interactionService.backfillFromRecipeFlags());
+        assertEquals(List.of(flagged.getId()),
+                interactionService.getFavouriteRecipes(author.getId()).stream().map(RecipeResponseDTO::getId).toList());
+    }
+}
@@ -8,9 +8,11 @@ import com.recipehub.backendrecipehub.exception.UserNotFoundException;
 import com.recipehub.backendrecipehub.model.User;
 import com.recipehub.backendrecipehub.repository.UserRepository;
 import com.recipehub.backendrecipehub.repository.RecipeRepository;
+import com.recipehub.backendrecipehub.repository.RecipeBookEntryRepository;
 import com.recipehub.backendrecipehub.repository.RecipeBookRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
@@ -38,6 +40,9 @@ class UserServiceTest {
     @Autowired
     private RecipeBookRepository recipeBookRepository;
 
+    @Autowired
+    private RecipeBookEntryRepository recipeBookEntryRepository;
+
     private User testUser;
     private String testUsername;
     private String testEmail;
@@ -45,6 +50,7 @@ class UserServiceTest {
     @BeforeEach
     void setUp() {
         // Clean up in correct order to avoid foreign key constraints
+        recipeBookEntryRepository.deleteAllInBatch();
         recipeRepository.deleteAllInBatch();
         recipeBookRepository.deleteAllInBatch();
         userRepository.deleteAllInBatch();
@@ -294,4 +300,36 @@ class UserServiceTest {
             userService.updateUser(testUser.getId(), updateRequest);
         });
     }
+
+    @Test
+    void testAuthenticate_ByUsernameOrEmail() {
+        testUser.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        userRepository.save(testUser);
+        // Another user whose username is testUser's email; the username match wins
+        User other = createTestUser(testEmail, "other_" + testEmail);
+        other.setPassword(new BCryptPasswordEncoder(4).encode("otherpassword"));
+        userRepository.save(other);
+
+        assertEquals(testUsername, userService.authenticateUserAndGetUser(testUsername, "password123")
+                .orElseThrow().getUsername());
+        assertEquals(other.getId(), userService.authenticateUserAndGetUser(testEmail, "otherpassword")
+                .orElseThrow().getId());
+        assertTrue(userService.authenticateUserAndGetUser(testEmail, "password123").isEmpty());
+        assertTrue(userService.authenticateUserAndGetUser("nobody", "password123").isEmpty());
+    }
+
+    @Test
+    void testAuthenticate_RehashesPasswordBelowConfiguredCost() {
+        testUser.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        userRepository.save(testUser);
+
+        assertTrue(userService.authenticateUserAndGetUser(testUsername, "wrongpassword").isEmpty());
+        assertTrue(userRepository.findById(testUser.getId()).orElseThrow().getPassword().startsWith("$2a$04$"));
+
+        assertTrue(userService.authenticateUserAndGetUser(testEmail, "password123").isPresent());
+        String rehashed = userRepository.findById(testUser.getId()).orElseThrow().getPassword();
+        assertTrue(rehashed.startsWith("$2a$10$"));
+        assertTrue(userService.authenticateUserAndGetUser(testUsername, "password123").isPresent());
+        assertEquals(rehashed, userRepository.findById(testUser.getId()).orElseThrow().getPassword());
+    }
 }
@@ -1,22 +1,22 @@
 -- Seed predefined tags for tests (explicit IDs to satisfy NOT NULL ID)
-INSERT INTO tags (id, name) VALUES (1001, 'Italian');
-INSERT INTO tags (id, name) VALUES (1002, 'Quick');
-INSERT INTO tags (id, name) VALUES (1003, 'Easy');
-INSERT INTO tags (id, name) VALUES (1004, 'Healthy');
-INSERT INTO tags (id, name) VALUES (1005, 'Baked');
-INSERT INTO tags (id, name) VALUES (1006, 'Dessert');
-INSERT INTO tags (id, name) VALUES (1007, 'Mexican');
-INSERT INTO tags (id, name) VALUES (1008, 'Asian');
-INSERT INTO tags (id, name) VALUES (1009, 'French');
-INSERT INTO tags (id, name) VALUES (1010, 'Indian');
-INSERT INTO tags (id, name) VALUES (1011, 'Mediterranean');
-INSERT INTO tags (id, name) VALUES (1012, 'American');
-INSERT INTO tags (id, name) VALUES (1013, 'Breakfast');
-INSERT INTO tags (id, name) VALUES (1014, 'Lunch');
-INSERT INTO tags (id, name) VALUES (1015, 'Dinner');
-INSERT INTO tags (id, name) VALUES (1016, 'Vegetarian');
-INSERT INTO tags (id, name) VALUES (1017, 'Vegan');
-INSERT INTO tags (id, name) VALUES (1018, 'Gluten-Free');
+INSERT INTO tags (id, name, category) VALUES (1001, 'Italian', 'CUISINE');
+INSERT INTO tags (id, name, category) VALUES (1002, 'Quick', 'SPECIAL_FEATURE');
+INSERT INTO tags (id, name, category) VALUES (1003, 'Easy', 'DIFFICULTY');
+INSERT INTO tags (id, name, category) VALUES (1004, 'Healthy', 'HEALTH');
+INSERT INTO tags (id, name, category) VALUES (1005, 'Baked', 'COOKING_METHOD');
+INSERT INTO tags (id, name, category) VALUES (1006, 'Dessert', 'MEAL_TYPE');
+INSERT INTO tags (id, name, category) VALUES (1007, 'Mexican', 'CUISINE');
+INSERT INTO tags (id, name, category) VALUES (1008, 'Asian', 'CUISINE');
+INSERT INTO tags (id, name, category) VALUES (1009, 'French', 'CUISINE');
+INSERT INTO tags (id, name, category) VALUES (1010, 'Indian', 'CUISINE');
+INSERT INTO tags (id, name, category) VALUES (1011, 'Mediterranean', 'CUISINE');
+INSERT INTO tags (id, name, category) VALUES (1012, 'American', 'CUISINE');
+INSERT INTO tags (id, name, category) VALUES (1013, 'Breakfast', 'MEAL_TYPE');
+INSERT INTO tags (id, name, category) VALUES (1014, 'Lunch', 'MEAL_TYPE');
+INSERT INTO tags (id, name, category) VALUES (1015, 'Dinner', 'MEAL_TYPE');
+INSERT INTO tags (id, name, category) VALUES (1016, 'Vegetarian', 'DIETARY');
+INSERT INTO tags (id, name, category) VALUES (1017, 'Vegan', 'DIETARY');
+INSERT INTO tags (id, name, category) VALUES (1018, 'Gluten-Free', 'DIETARY');
 
 -- Ensure Hibernate sequence does not collide with our explicit IDs
 -- H2 may not have a default sequence; ignore if missing